@@ -0,0 +1,85 @@
+package org.prof.it.soft.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares the JSON results of a benchmark run with the results of a baseline run on the same machine,
+ * such as a run of the main branch.
+ * All benchmarks measure the average time, so a higher score is a regression.
+ * Exits with status 1 if a score is slower than the baseline by more than the threshold.
+ * <p>
+ * Usage: {@code BaselineComparison <baseline.json> <results.json> [threshold percent, 10 by default]}
+ */
+public final class BaselineComparison {
+
+    private BaselineComparison() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BaselineComparison <baseline.json> <results.json> [threshold percent]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 10;
+
+        Map<String, JsonNode> baseline = read(Path.of(args[0]));
+        Map<String, JsonNode> results = read(Path.of(args[1]));
+
+        int regressions = 0;
+        for (Map.Entry<String, JsonNode> result : results.entrySet()) {
+            JsonNode baselineMetric = baseline.get(result.getKey());
+            JsonNode metric = result.getValue();
+            if (baselineMetric == null) {
+                System.out.printf("%-100s %12.3f %-6s (no baseline)%n", result.getKey(),
+                        metric.get("score").asDouble(), metric.get("scoreUnit").asText());
+                continue;
+            }
+
+            double baselineScore = baselineMetric.get("score").asDouble();
+            double score = metric.get("score").asDouble();
+            double change = (score - baselineScore) / baselineScore * 100;
+            boolean regression = change > threshold;
+            if (regression) {
+                regressions++;
+            }
+            System.out.printf("%-100s %12.3f -> %12.3f %-6s %+7.1f%%%s%n", result.getKey(), baselineScore, score,
+                    metric.get("scoreUnit").asText(), change, regression ? "  REGRESSION" : "");
+        }
+
+        if (regressions > 0) {
+            System.out.printf("%d benchmark(s) slower than the baseline by more than %.1f%%%n", regressions, threshold);
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Reads the primary metrics of a JMH result file.
+     *
+     * @param path the JSON file written by {@code -rf json}
+     * @return the primary metrics keyed by the benchmark and its parameters
+     * @throws IOException if the file cannot be read
+     */
+    private static Map<String, JsonNode> read(Path path) throws IOException {
+        Map<String, JsonNode> metrics = new LinkedHashMap<>();
+        for (JsonNode benchmark : new ObjectMapper().readTree(path.toFile())) {
+            Map<String, String> params = new TreeMap<>();
+            JsonNode paramsNode = benchmark.path("params");
+            Iterator<Map.Entry<String, JsonNode>> fields = paramsNode.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                params.put(field.getKey(), field.getValue().asText());
+            }
+            metrics.put(benchmark.get("benchmark").asText() + (params.isEmpty() ? "" : " " + params),
+                    benchmark.get("primaryMetric"));
+        }
+        return metrics;
+    }
+}
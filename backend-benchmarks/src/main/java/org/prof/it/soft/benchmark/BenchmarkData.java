@@ -0,0 +1,126 @@
+package org.prof.it.soft.benchmark;
+
+import org.prof.it.soft.dto.report.VacancyReportRow;
+import org.prof.it.soft.dto.request.VacancyRequestDto;
+import org.prof.it.soft.entity.CandidateApplication;
+import org.prof.it.soft.entity.Person;
+import org.prof.it.soft.entity.Recruiter;
+import org.prof.it.soft.entity.Vacancy;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Deterministic entities and requests shared by the benchmarks.
+ */
+final class BenchmarkData {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 5, 1, 12, 0);
+    private static final List<String> TECHNOLOGIES = List.of("Java", "Spring", "Hibernate", "PostgreSQL", "Kafka", "Docker");
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Creates the vacancies with their recruiters, every recruiter has ten vacancies.
+     *
+     * @param count the number of vacancies
+     * @return the vacancies with ids starting at 1
+     */
+    static List<Vacancy> vacancies(int count) {
+        List<Recruiter> recruiters = IntStream.range(0, count / 10 + 1)
+                .mapToObj(BenchmarkData::recruiter)
+                .toList();
+
+        return IntStream.range(0, count)
+                .mapToObj(i -> Vacancy.builder()
+                        .id(i + 1L)
+                        .position("Java Developer " + i)
+                        .salary(1000F + i)
+                        .technologyStack(new ArrayList<>(TECHNOLOGIES.subList(0, 2 + i % 4)))
+                        .createdAt(CREATED_AT.minusMinutes(i))
+                        .updatedAt(CREATED_AT)
+                        .recruiter(recruiters.get(i / 10))
+                        .build())
+                .toList();
+    }
+
+    /**
+     * Creates an application of a new candidate for every vacancy.
+     *
+     * @param vacancies the applied vacancies
+     * @return the applications
+     */
+    static List<CandidateApplication> candidateApplications(List<Vacancy> vacancies) {
+        List<CandidateApplication> candidateApplications = new ArrayList<>(vacancies.size());
+        for (Vacancy vacancy : vacancies) {
+            Person candidate = Person.builder()
+                    .username("candidate" + vacancy.getId())
+                    .password("password")
+                    .firstName("Bob")
+                    .lastName("Ivanov")
+                    .createdAt(CREATED_AT)
+                    .updatedAt(CREATED_AT)
+                    .build();
+            candidate.setId(10_000L + vacancy.getId());
+
+            CandidateApplication candidateApplication = new CandidateApplication();
+            candidateApplication.setId(vacancy.getId());
+            candidateApplication.setVacancy(vacancy);
+            candidateApplication.setPerson(candidate);
+            candidateApplication.setCreatedAt(CREATED_AT);
+            candidateApplications.add(candidateApplication);
+        }
+        return candidateApplications;
+    }
+
+    /**
+     * Creates the requests to save vacancies.
+     *
+     * @param count the number of requests
+     * @return the requests
+     */
+    static List<VacancyRequestDto> vacancyRequests(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> new VacancyRequestDto("Java Developer " + i, 1000F + i,
+                        TECHNOLOGIES.subList(0, 2 + i % 4), 1L))
+                .toList();
+    }
+
+    /**
+     * Creates the rows of the vacancy report, every recruiter has ten vacancies.
+     *
+     * @param count the number of rows
+     * @return the rows with vacancy ids starting at 1
+     */
+    static List<VacancyReportRow> reportRows(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> new VacancyReportRow(
+                        i + 1L,
+                        "Java Developer " + i,
+                        i % 5 == 0 ? null : 1000F + i,
+                        TECHNOLOGIES.subList(0, 2 + i % 4),
+                        CREATED_AT.minusMinutes(i),
+                        i / 10 + 1L,
+                        "Company " + i / 10,
+                        "Anna",
+                        "Petrov"))
+                .toList();
+    }
+
+    private static Recruiter recruiter(int index) {
+        Recruiter recruiter = Recruiter.builder()
+                .username("recruiter" + index)
+                .password("password")
+                .companyName("Company " + index)
+                .firstName("Anna")
+                .lastName("Petrov")
+                .createdAt(CREATED_AT)
+                .updatedAt(CREATED_AT)
+                .build();
+        recruiter.setId(index + 1L);
+        return recruiter;
+    }
+}
@@ -0,0 +1,79 @@
+package org.prof.it.soft.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.prof.it.soft.entity.security.Permission;
+import org.prof.it.soft.entity.security.User;
+import org.prof.it.soft.service.impl.JwtServiceImpl;
+
+import java.util.EnumSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the token issued on login and the validation of the bearer token done on every authenticated request.
+ * The validation is measured with the claims cache disabled, so the signature is verified on every call,
+ * and with the default cache size, so the verified claims are reused.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    /**
+     * The signing key of {@code application.yml}.
+     */
+    private static final String SIGNING_KEY = "SOPOWERFULKEYFORTESTINGAPPLICATIONJOBIFY1234567890JOBIFY";
+
+    /**
+     * The maximum size of the claims cache, a cache of size 0 evicts the claims right after they are verified.
+     */
+    @Param({"0", "10000"})
+    private long claimsCacheMaxSize;
+
+    private JwtServiceImpl jwtService;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = JwtServiceImpl.builder()
+                .jwtSigningKey(SIGNING_KEY)
+                .jwtExpirationInMs(6_000_000)
+                .claimsCacheMaxSize(claimsCacheMaxSize)
+                .build();
+
+        user = User.builder()
+                .id(1L)
+                .username("anna")
+                .password("password")
+                .permissions(EnumSet.of(Permission.VIEW_VACANCY, Permission.CREATE_VACANCY, Permission.EDIT_VACANCY))
+                .accountNonExpired(true)
+                .accountNonLocked(true)
+                .credentialsNonExpired(true)
+                .enabled(true)
+                .build();
+        token = jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public boolean isTokenValid() {
+        return jwtService.isTokenValid(token, user);
+    }
+}
@@ -0,0 +1,128 @@
+package org.prof.it.soft.benchmark;
+
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.prof.it.soft.config.MapperConfig;
+import org.prof.it.soft.dto.request.VacancyRequestDto;
+import org.prof.it.soft.dto.response.CandidateApplicationResponseDto;
+import org.prof.it.soft.dto.response.RecruiterResponseDto;
+import org.prof.it.soft.dto.response.VacancyResponseDto;
+import org.prof.it.soft.entity.CandidateApplication;
+import org.prof.it.soft.entity.Recruiter;
+import org.prof.it.soft.entity.Vacancy;
+import org.prof.it.soft.mapper.CandidateApplicationMapper;
+import org.prof.it.soft.mapper.PersonMapper;
+import org.prof.it.soft.mapper.RecruiterMapper;
+import org.prof.it.soft.mapper.VacancyMapper;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the model mapper configured by {@link MapperConfig} with the hand-written mappers
+ * on the conversions of the vacancy list, the recruiter and the candidate application pages.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    /**
+     * The number of entities mapped per invocation, a page of the vacancy list.
+     */
+    @Param({"1", "20"})
+    private int pageSize;
+
+    private ModelMapper modelMapper;
+    private VacancyMapper vacancyMapper;
+    private RecruiterMapper recruiterMapper;
+    private CandidateApplicationMapper candidateApplicationMapper;
+
+    private List<Vacancy> vacancies;
+    private List<Recruiter> recruiters;
+    private List<CandidateApplication> candidateApplications;
+    private List<VacancyRequestDto> vacancyRequests;
+
+    @Setup
+    public void setUp() {
+        modelMapper = new MapperConfig().getModelMapper();
+        PersonMapper personMapper = new PersonMapper();
+        recruiterMapper = new RecruiterMapper(personMapper);
+        vacancyMapper = new VacancyMapper(recruiterMapper);
+        candidateApplicationMapper = new CandidateApplicationMapper(personMapper);
+
+        vacancies = BenchmarkData.vacancies(pageSize);
+        recruiters = vacancies.stream().map(Vacancy::getRecruiter).toList();
+        candidateApplications = BenchmarkData.candidateApplications(vacancies);
+        vacancyRequests = BenchmarkData.vacancyRequests(pageSize);
+    }
+
+    @Benchmark
+    public List<VacancyResponseDto> vacancyToResponseDto_modelMapper() {
+        return vacancies.stream()
+                .map(vacancy -> modelMapper.map(vacancy, VacancyResponseDto.class))
+                .toList();
+    }
+
+    @Benchmark
+    public List<VacancyResponseDto> vacancyToResponseDto_handWritten() {
+        return vacancies.stream()
+                .map(vacancyMapper::toResponseDto)
+                .toList();
+    }
+
+    @Benchmark
+    public List<RecruiterResponseDto> recruiterToResponseDto_modelMapper() {
+        return recruiters.stream()
+                .map(recruiter -> modelMapper.map(recruiter, RecruiterResponseDto.class))
+                .toList();
+    }
+
+    @Benchmark
+    public List<RecruiterResponseDto> recruiterToResponseDto_handWritten() {
+        return recruiters.stream()
+                .map(recruiterMapper::toResponseDto)
+                .toList();
+    }
+
+    @Benchmark
+    public List<CandidateApplicationResponseDto> candidateApplicationToResponseDto_modelMapper() {
+        return candidateApplications.stream()
+                .map(candidateApplication -> modelMapper.map(candidateApplication, CandidateApplicationResponseDto.class))
+                .toList();
+    }
+
+    @Benchmark
+    public List<CandidateApplicationResponseDto> candidateApplicationToResponseDto_handWritten() {
+        return candidateApplications.stream()
+                .map(candidateApplicationMapper::toResponseDto)
+                .toList();
+    }
+
+    @Benchmark
+    public List<Vacancy> vacancyRequestToEntity_modelMapper() {
+        return vacancyRequests.stream()
+                .map(vacancyRequest -> modelMapper.map(vacancyRequest, Vacancy.class))
+                .toList();
+    }
+
+    @Benchmark
+    public List<Vacancy> vacancyRequestToEntity_handWritten() {
+        return vacancyRequests.stream()
+                .map(vacancyMapper::toEntity)
+                .toList();
+    }
+}
@@ -0,0 +1,66 @@
+package org.prof.it.soft.benchmark;
+
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.prof.it.soft.dto.report.VacancyReportRow;
+import org.prof.it.soft.service.report.CsvVacancyReportWriter;
+import org.prof.it.soft.service.report.NdjsonVacancyReportWriter;
+import org.prof.it.soft.service.report.ReportFormat;
+import org.prof.it.soft.service.report.VacancyReportWriter;
+import org.prof.it.soft.service.report.XlsxVacancyReportWriter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the writing of the vacancy report done by {@code VacancyServiceImpl.generateReport}.
+ * The rows are created in memory, so the flat report query is not part of the measurement.
+ * The report is written to a stream that discards the bytes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class VacancyReportBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    private int rowCount;
+
+    @Param({"XLSX", "CSV", "NDJSON"})
+    private ReportFormat format;
+
+    private VacancyReportWriter reportWriter;
+    private List<VacancyReportRow> rows;
+
+    @Setup
+    public void setUp() {
+        reportWriter = switch (format) {
+            case XLSX -> new XlsxVacancyReportWriter();
+            case CSV -> new CsvVacancyReportWriter();
+            case NDJSON -> new NdjsonVacancyReportWriter(Jackson2ObjectMapperBuilder.json()
+                    .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                    .build());
+        };
+        rows = BenchmarkData.reportRows(rowCount);
+    }
+
+    @Benchmark
+    public void write() throws IOException {
+        reportWriter.write(rows.stream(), OutputStream.nullOutputStream());
+    }
+}
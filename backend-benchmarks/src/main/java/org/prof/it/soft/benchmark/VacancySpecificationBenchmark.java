@@ -0,0 +1,92 @@
+package org.prof.it.soft.benchmark;
+
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.prof.it.soft.dto.filter.VacancyFilterDto;
+import org.prof.it.soft.entity.CandidateApplication;
+import org.prof.it.soft.entity.Person;
+import org.prof.it.soft.entity.Recruiter;
+import org.prof.it.soft.entity.Vacancy;
+import org.prof.it.soft.entity.security.User;
+import org.prof.it.soft.spec.VacancySpecification;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the construction of the criteria predicate of the vacancy filter.
+ * The session factory is built from the entities without a database, the predicate is never executed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VacancySpecificationBenchmark {
+
+    /**
+     * The filter of the vacancy list.
+     * EMPTY has no parameters, ALL has every parameter except the search query, SEARCH has only the search query.
+     */
+    @Param({"EMPTY", "ALL", "SEARCH"})
+    private String filter;
+
+    private SessionFactory sessionFactory;
+    private HibernateCriteriaBuilder criteriaBuilder;
+    private VacancyFilterDto vacancyFilterDto;
+
+    @Setup
+    public void setUp() {
+        sessionFactory = new Configuration()
+                .addAnnotatedClass(User.class)
+                .addAnnotatedClass(Person.class)
+                .addAnnotatedClass(Recruiter.class)
+                .addAnnotatedClass(Vacancy.class)
+                .addAnnotatedClass(CandidateApplication.class)
+                .setProperty("hibernate.dialect", "org.hibernate.dialect.PostgreSQLDialect")
+                // the metadata of the database is not read, so no connection is opened
+                .setProperty("hibernate.boot.allow_jdbc_metadata_access", "false")
+                .setProperty("hibernate.hbm2ddl.auto", "none")
+                .buildSessionFactory();
+        criteriaBuilder = sessionFactory.getCriteriaBuilder();
+
+        vacancyFilterDto = switch (filter) {
+            case "EMPTY" -> new VacancyFilterDto(null, null, null, null, null, null, null, null, null);
+            case "ALL" -> new VacancyFilterDto(1L, "Java Developer", 1000F, 5000F, "Company 1",
+                    List.of("Java", "Spring"), LocalDateTime.of(2024, 1, 1, 0, 0), LocalDateTime.of(2024, 12, 31, 0, 0), null);
+            case "SEARCH" -> new VacancyFilterDto(null, null, null, null, null, null, null, null, "java develper");
+            default -> throw new IllegalArgumentException(String.format("Filter %s is not supported", filter));
+        };
+    }
+
+    @TearDown
+    public void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    public Predicate toPredicate() {
+        CriteriaQuery<Long> query = criteriaBuilder.createQuery(Long.class);
+        Root<Vacancy> root = query.from(Vacancy.class);
+
+        return VacancySpecification.of(vacancyFilterDto).toPredicate(root, query, criteriaBuilder);
+    }
+}
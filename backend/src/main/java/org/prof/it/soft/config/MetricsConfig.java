@@ -0,0 +1,110 @@
+package org.prof.it.soft.config;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.HibernateMetrics;
+import org.prof.it.soft.metrics.SqlStatementCountingListener;
+import org.prof.it.soft.service.JwtService;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Configuration of the metrics exposed on the Prometheus endpoint of the management port.
+ * The HTTP requests, the connection pool and the JVM are measured by Spring Boot,
+ * this configuration adds the timers of the service methods, the Hibernate statistics, the JWT verifications
+ * and the SQL statements per request.
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Times the methods annotated with {@link io.micrometer.core.annotation.Timed}.
+     *
+     * @param meterRegistry the meter registry
+     * @return the aspect of the timed methods
+     */
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    /**
+     * Wraps the data source in a proxy which counts the statements of every connection,
+     * the counts are read by the SQL budget filter and by the tests of the query budgets.
+     * The method is static, so the post processor is created before the configuration and the data source.
+     *
+     * @return the post processor wrapping the data source
+     */
+    @Bean
+    public static BeanPostProcessor sqlStatementCountingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name(beanName)
+                            .listener(new SqlStatementCountingListener())
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Binds the Hibernate statistics, such as the executed queries, the entity loads and the collection fetches.
+     * The statistics are collected only if {@code hibernate.generate_statistics} is enabled.
+     *
+     * @param entityManagerFactory the entity manager factory
+     * @return the binder of the Hibernate metrics
+     */
+    @Bean
+    public MeterBinder hibernateMetrics(EntityManagerFactory entityManagerFactory) {
+        return new HibernateMetrics(entityManagerFactory.unwrap(SessionFactory.class), "entityManagerFactory", Tags.empty());
+    }
+
+    /**
+     * Binds the counters of the JWT verifications and of the claims cache.
+     * A token is verified only when its claims are not cached, a failed verification is an invalid or expired token.
+     *
+     * @param jwtService the JWT service
+     * @return the binder of the JWT metrics
+     */
+    @Bean
+    public MeterBinder jwtMetrics(JwtService jwtService) {
+        return registry -> {
+            jwtCounter(registry, jwtService, "jwt.verifications", "success", CacheStats::loadSuccessCount,
+                    "The signature verifications of the bearer tokens");
+            jwtCounter(registry, jwtService, "jwt.verifications", "failure", CacheStats::loadFailureCount,
+                    "The signature verifications of the bearer tokens");
+            jwtCounter(registry, jwtService, "jwt.claims.cache.requests", "hit", CacheStats::hitCount,
+                    "The lookups of verified claims");
+            jwtCounter(registry, jwtService, "jwt.claims.cache.requests", "miss", CacheStats::missCount,
+                    "The lookups of verified claims");
+            Gauge.builder("jwt.claims.cache.size", jwtService, JwtService::getClaimsCacheSize)
+                    .description("The estimated number of verified tokens in the claims cache")
+                    .register(registry);
+        };
+    }
+
+    private static void jwtCounter(MeterRegistry registry, JwtService jwtService, String name, String result,
+                                   ToDoubleFunction<CacheStats> count, String description) {
+        FunctionCounter.builder(name, jwtService, service -> count.applyAsDouble(service.getClaimsCacheStats()))
+                .tag("result", result)
+                .description(description)
+                .register(registry);
+    }
+}
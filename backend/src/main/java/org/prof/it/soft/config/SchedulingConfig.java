@@ -0,0 +1,12 @@
+package org.prof.it.soft.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables scheduled tasks, such as the cleanup of expired report jobs.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -51,12 +51,15 @@ public class SpringSecurityConfig {
                         .requestMatchers( "/swagger-ui-custom.html").permitAll()
                         .requestMatchers("/swagger-ui/**").permitAll()
                         .requestMatchers( "/v3/api-docs/**").permitAll()
+                        /** Allow access to the metrics, they are served only on the management port */
+                        .requestMatchers("/actuator/health", "/actuator/prometheus").permitAll()
                         /** Allow access to production */
                         .requestMatchers("/api/v1/auth/**").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/v1/vacancy/applied").hasAnyAuthority(Permission.VIEW_OWN_APPLICATIONS.toString())
                         .requestMatchers(HttpMethod.GET, "/api/v1/vacancy/{id:[0-9]+}").permitAll()
                         .requestMatchers(HttpMethod.POST, "/api/v1/vacancy/_list").permitAll()
                         .requestMatchers(HttpMethod.POST, "/api/v1/vacancy").hasAnyAuthority(Permission.CREATE_VACANCY.toString())
+                        .requestMatchers(HttpMethod.POST, "/api/v1/vacancy/_import").hasAnyAuthority(Permission.CREATE_VACANCY.toString())
                         .requestMatchers(HttpMethod.PUT, "/api/v1/vacancy/{id:[0-9]+}").hasAnyAuthority(Permission.EDIT_VACANCY.toString())
                         .requestMatchers(HttpMethod.DELETE, "/api/v1/vacancy/{id:[0-9]+}").hasAnyAuthority(Permission.DELETE_VACANCY.toString())
                         .requestMatchers(HttpMethod.POST, "/api/v1/recruiter/register").hasAnyAuthority(Permission.CREATE_RECRUITER.toString())
@@ -66,6 +69,7 @@ public class SpringSecurityConfig {
                         .requestMatchers(HttpMethod.PUT, "/api/v1/profile/update").hasAnyAuthority(Permission.UPDATE_OWN_PROFILE.toString())
                         .requestMatchers(HttpMethod.GET, "/api/v1/profile").hasAnyAuthority(Permission.GET_OWN_PROFILE.toString())
                         .requestMatchers(HttpMethod.POST, "/api/v1/vacancy/_report").hasAnyAuthority(Permission.GENERATE_VACANCY_REPORT.toString())
+                        .requestMatchers(HttpMethod.GET, "/api/v1/vacancy/_report/jobs/**").hasAnyAuthority(Permission.GENERATE_VACANCY_REPORT.toString())
                         .requestMatchers(HttpMethod.GET, "/api/v1/vacancy/{id:[0-9]+}/applications").hasAnyAuthority(Permission.VIEW_VACANCY_APPLICATIONS.toString())
                         .requestMatchers(HttpMethod.GET, "/api/v1/vacancy/person/{id}/applications").hasAnyAuthority(Permission.VIEW_PERSON_APPLICATIONS.toString())
                         .anyRequest().authenticated())
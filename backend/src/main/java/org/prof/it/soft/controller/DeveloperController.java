@@ -1,42 +1,57 @@
 package org.prof.it.soft.controller;
 
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import lombok.RequiredArgsConstructor;
 import org.prof.it.soft.entity.security.Permission;
 import org.prof.it.soft.entity.security.User;
-import org.prof.it.soft.repo.UserRepository;
+import org.prof.it.soft.service.JwtService;
+import org.prof.it.soft.service.UserService;
 import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.Map;
+
 @RequestMapping("/api/v1/developers")
 @RestController
 @RequiredArgsConstructor
 @Profile("dev")
 public class DeveloperController {
 
-    private final UserRepository userRepository;
+    private final UserService userService;
+    private final JwtService jwtService;
 
     @PutMapping("/update-to-admin")
     public ResponseEntity<String> updateToAdmin(@AuthenticationPrincipal User user) {
-        user.setPermissions(Permission.ADMIN_PERMISSIONS);
-        userRepository.saveAndFlush(user);
+        userService.setPermissions(user.getUsername(), Permission.ADMIN_PERMISSIONS);
         return ResponseEntity.ok("Successfully updated to admin");
     }
 
     @PutMapping("/update-to-recruiter")
     public ResponseEntity<String> updateToRecruiter(@AuthenticationPrincipal User user) {
-        user.setPermissions(Permission.RECRUITER_PERMISSIONS);
-        userRepository.saveAndFlush(user);
+        userService.setPermissions(user.getUsername(), Permission.RECRUITER_PERMISSIONS);
         return ResponseEntity.ok("Successfully updated to recruiter");
     }
 
     @PutMapping("/update-to-user")
     public ResponseEntity<String> updateToUser(@AuthenticationPrincipal User user) {
-        user.setPermissions(Permission.USER_PERMISSIONS);
-        userRepository.saveAndFlush(user);
+        userService.setPermissions(user.getUsername(), Permission.USER_PERMISSIONS);
         return ResponseEntity.ok("Successfully updated to user");
     }
+
+    @GetMapping("/jwt-claims-cache")
+    public ResponseEntity<Map<String, Number>> getJwtClaimsCacheStats() {
+        CacheStats stats = jwtService.getClaimsCacheStats();
+        return ResponseEntity.ok(Map.of(
+                "size", jwtService.getClaimsCacheSize(),
+                "hits", stats.hitCount(),
+                "misses", stats.missCount(),
+                "evictions", stats.evictionCount(),
+                "hit_rate", stats.hitRate()
+        ));
+    }
 }
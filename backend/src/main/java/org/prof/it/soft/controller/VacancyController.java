@@ -12,10 +12,19 @@ import org.prof.it.soft.dto.filter.VacancyFilterDto;
 import org.prof.it.soft.dto.request.VacancyRequestDto;
 import org.prof.it.soft.dto.response.CandidateApplicationResponseDto;
 import org.prof.it.soft.dto.response.CreatingCandidateApplicationResponseDto;
+import org.prof.it.soft.dto.response.ReportJobResponseDto;
+import org.prof.it.soft.dto.response.VacancyImportResponseDto;
+import org.prof.it.soft.dto.response.VacancyPageResponseDto;
 import org.prof.it.soft.dto.response.VacancyResponseDto;
+import org.prof.it.soft.dto.response.VacancySliceResponseDto;
 import org.prof.it.soft.entity.security.User;
 import org.prof.it.soft.service.CandidateApplicationService;
+import org.prof.it.soft.service.ReportJobService;
+import org.prof.it.soft.service.VacancyImportService;
 import org.prof.it.soft.service.VacancyService;
+import org.prof.it.soft.service.impl.ReportJobServiceImpl;
+import org.prof.it.soft.service.report.ReportFile;
+import org.prof.it.soft.service.report.ReportFormat;
 import org.springframework.core.io.Resource;
 import org.springframework.data.domain.Page;
 import org.springframework.http.HttpHeaders;
@@ -25,9 +34,14 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
 import java.time.LocalDateTime;
+import java.util.UUID;
 
 @RestController
 @RequestMapping("/api/v1/vacancy")
@@ -39,6 +53,8 @@ public class VacancyController {
      */
     protected final VacancyService vacancyService;
     protected final CandidateApplicationService candidateApplicationService;
+    protected final ReportJobService reportJobService;
+    protected final VacancyImportService vacancyImportService;
 
     @Operation(summary = "Get vacancy by id", parameters = {
             @Parameter(name = "id", description = "Vacancy id which need to be found", example = "1")
@@ -66,7 +82,7 @@ public class VacancyController {
 
     @Operation(summary = "Save new vacancy")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "201", description = "Vacancy was saved",
+            @ApiResponse(responseCode = "201", description = "Vacancy was saved, its recruiter contains the id only",
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = VacancyResponseDto.class))
             ),
@@ -136,13 +152,18 @@ public class VacancyController {
                 .body("Vacancy deleted successfully");
     }
 
-    @Operation(summary = "Get all vacancies with filter and pagination")
+    @Operation(summary = "Get all vacancies with filter and pagination",
+            description = "Returns a page with totals in the offset pagination mode, " +
+                    "or a slice with next_cursor in the cursor pagination mode (pagination = CURSOR or after is set)")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Vacancies were returned",
                     content = @Content(mediaType = "application/json",
-                            schema = @Schema(implementation = VacancyResponseDto.class)
+                            schema = @Schema(oneOf = {VacancyPageResponseDto.class, VacancySliceResponseDto.class})
                     )
             ),
+            @ApiResponse(responseCode = "400", description = "Filter or cursor is invalid",
+                    content = @Content(mediaType = "application/json")
+            ),
             @ApiResponse(responseCode = "401", description = "Not correct credentials",
                     content = @Content(mediaType = "application/json")
             ),
@@ -154,8 +175,11 @@ public class VacancyController {
             )
     })
     @PostMapping(value = "_list", consumes = "application/json")
-    public ResponseEntity<Page<VacancyResponseDto>> getFilteredVacancies(@Validated(VacancyFilterDto.JsonResponse.class) @RequestBody VacancyFilterDto vacancyFilterDto,
-                                                                         @AuthenticationPrincipal User user) {
+    public ResponseEntity<?> getFilteredVacancies(@Validated(VacancyFilterDto.JsonResponse.class) @RequestBody VacancyFilterDto vacancyFilterDto,
+                                                  @AuthenticationPrincipal User user) {
+        if (vacancyFilterDto.isCursorPagination()) {
+            return ResponseEntity.ok(vacancyService.getVacancySlice(vacancyFilterDto, user));
+        }
         return ResponseEntity.ok(vacancyService.getFilteredVacancies(vacancyFilterDto, user));
     }
 
@@ -244,10 +268,20 @@ public class VacancyController {
         return ResponseEntity.ok(candidateApplicationResponseDto);
     }
 
-    @Operation(summary = "Generate report in Excel format")
+    @Operation(summary = "Generate report in Excel, CSV or NDJSON format",
+            description = "The format is selected by the format parameter or by the Accept header " +
+                    "(text/csv, application/x-ndjson, Excel otherwise)",
+            parameters = {
+                    @Parameter(name = "format", description = "The format of the report, it overrides the Accept header",
+                            example = "CSV")
+            })
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Report was generated",
-                    content = @Content(mediaType = "application/octet-stream")
+                    content = {
+                            @Content(mediaType = "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"),
+                            @Content(mediaType = "text/csv"),
+                            @Content(mediaType = "application/x-ndjson")
+                    }
             ),
             @ApiResponse(responseCode = "401", description = "Not correct credentials",
                     content = @Content(mediaType = "application/json")
@@ -257,17 +291,145 @@ public class VacancyController {
             )
     })
     @PostMapping(value = "_report", consumes = "application/json")
-    public ResponseEntity<Resource> generateReportExcel(@Validated @RequestBody(required = false) VacancyFilterDto vacancyFilterDto) throws IOException {
+    public ResponseEntity<StreamingResponseBody> generateReport(@Validated @RequestBody(required = false) VacancyFilterDto vacancyFilterDto,
+                                                                @RequestParam(name = "format", required = false) ReportFormat format,
+                                                                @RequestHeader(name = HttpHeaders.ACCEPT, required = false) String accept) {
+        ReportFormat reportFormat = format != null ? format : ReportFormat.fromAcceptHeader(accept);
+
         HttpHeaders headers = new HttpHeaders();
-        headers.add(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=vacancies_" + LocalDateTime.now() + ".xlsx");
+        headers.add(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=vacancies_" + LocalDateTime.now() + "." + reportFormat.getExtension());
 
-        Resource resource = vacancyService.generateReportExcel(vacancyFilterDto);
+        // the report is written to the response while the vacancies are read, its length is unknown upfront
+        StreamingResponseBody body = outputStream -> vacancyService.generateReport(vacancyFilterDto, reportFormat, outputStream);
 
         return ResponseEntity.ok()
                 .headers(headers)
-                .contentLength(resource.contentLength())
-                .contentType(MediaType.APPLICATION_OCTET_STREAM)
-                .body(resource);
+                .contentType(reportFormat.getMediaType())
+                .body(body);
+    }
+
+    @Operation(summary = "Submit a background report job in Excel, CSV or NDJSON format",
+            description = "The format is selected by the format parameter or by the Accept header " +
+                    "(text/csv, application/x-ndjson, Excel otherwise)",
+            parameters = {
+                    @Parameter(name = "async", description = "Generate the report in the background and return the report job",
+                            example = "true"),
+                    @Parameter(name = "format", description = "The format of the report, it overrides the Accept header",
+                            example = "CSV")
+            })
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Report job was submitted",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ReportJobResponseDto.class))
+            ),
+            @ApiResponse(responseCode = "401", description = "Not correct credentials",
+                    content = @Content(mediaType = "application/json")
+            ),
+            @ApiResponse(responseCode = "403", description = "Access denied",
+                    content = @Content(mediaType = "application/json")
+            ),
+            @ApiResponse(responseCode = "429", description = "Too many reports are being generated",
+                    content = @Content(mediaType = "application/json")
+            )
+    })
+    @PostMapping(value = "_report", params = "async=true", consumes = "application/json")
+    public ResponseEntity<ReportJobResponseDto> submitReportJob(@Validated @RequestBody(required = false) VacancyFilterDto vacancyFilterDto,
+                                                                @RequestParam(name = "format", required = false) ReportFormat format,
+                                                                @RequestHeader(name = HttpHeaders.ACCEPT, required = false) String accept) {
+        ReportFormat reportFormat = format != null ? format : ReportFormat.fromAcceptHeader(accept);
+
+        ReportJobResponseDto reportJob = reportJobService.submit(vacancyFilterDto, reportFormat);
+        return ResponseEntity
+                .accepted()
+                .location(URI.create(ReportJobServiceImpl.REPORT_JOBS_PATH + reportJob.getJobId()))
+                .body(reportJob);
+    }
+
+    @Operation(summary = "Get report job by id", parameters = {
+            @Parameter(name = "jobId", description = "Report job id", example = "5b0d6f3e-8f1a-4d4e-9a8e-0c1d2e3f4a5b")
+    })
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Report job was found",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ReportJobResponseDto.class))
+            ),
+            @ApiResponse(responseCode = "401", description = "Not correct credentials",
+                    content = @Content(mediaType = "application/json")
+            ),
+            @ApiResponse(responseCode = "403", description = "Access denied",
+                    content = @Content(mediaType = "application/json")
+            ),
+            @ApiResponse(responseCode = "404", description = "Report job was not found or has expired",
+                    content = @Content(mediaType = "application/json")
+            )
+    })
+    @GetMapping("_report/jobs/{jobId}")
+    public ResponseEntity<ReportJobResponseDto> getReportJob(@PathVariable UUID jobId) {
+        return ResponseEntity.ok(reportJobService.getJob(jobId));
+    }
+
+    @Operation(summary = "Download the report of the report job", parameters = {
+            @Parameter(name = "jobId", description = "Report job id", example = "5b0d6f3e-8f1a-4d4e-9a8e-0c1d2e3f4a5b")
+    })
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Report was downloaded",
+                    content = @Content(mediaType = "application/octet-stream")
+            ),
+            @ApiResponse(responseCode = "401", description = "Not correct credentials",
+                    content = @Content(mediaType = "application/json")
+            ),
+            @ApiResponse(responseCode = "403", description = "Access denied",
+                    content = @Content(mediaType = "application/json")
+            ),
+            @ApiResponse(responseCode = "404", description = "Report job was not found or has expired",
+                    content = @Content(mediaType = "application/json")
+            ),
+            @ApiResponse(responseCode = "409", description = "Report is not generated yet or has failed",
+                    content = @Content(mediaType = "application/json")
+            )
+    })
+    @GetMapping("_report/jobs/{jobId}/file")
+    public ResponseEntity<Resource> downloadReport(@PathVariable UUID jobId) {
+        ReportFile reportFile = reportJobService.getReportFile(jobId);
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + reportFile.fileName())
+                .contentType(reportFile.mediaType())
+                .body(reportFile.resource());
+    }
+
+    @Operation(summary = "Import vacancies from an Excel or CSV file",
+            description = "The file has the columns of the vacancy report, the Position and Recruiter_id columns are required. " +
+                    "Every row is validated like a saved vacancy, the valid rows are imported and the invalid ones are reported",
+            parameters = {
+                    @Parameter(name = "format", description = "The format of the file, it overrides the extension of the file name",
+                            example = "CSV")
+            })
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "File was imported, the failed rows are listed",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = VacancyImportResponseDto.class))
+            ),
+            @ApiResponse(responseCode = "400", description = "File cannot be read or has no header",
+                    content = @Content(mediaType = "application/json")
+            ),
+            @ApiResponse(responseCode = "401", description = "Not correct credentials",
+                    content = @Content(mediaType = "application/json")
+            ),
+            @ApiResponse(responseCode = "403", description = "Access denied",
+                    content = @Content(mediaType = "application/json")
+            )
+    })
+    @PostMapping(value = "_import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<VacancyImportResponseDto> importVacancies(@RequestParam("file") MultipartFile file,
+                                                                    @RequestParam(name = "format", required = false) ReportFormat format)
+            throws IOException {
+        ReportFormat importFormat = format != null ? format : ReportFormat.fromFileName(file.getOriginalFilename());
+
+        try (InputStream inputStream = file.getInputStream()) {
+            return ResponseEntity.ok(vacancyImportService.importVacancies(inputStream, importFormat));
+        }
     }
 
     @Operation(summary = "Get all vacancies which were created by the recruiter", parameters = {
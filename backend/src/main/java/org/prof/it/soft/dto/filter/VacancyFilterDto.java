@@ -1,7 +1,9 @@
 package org.prof.it.soft.dto.filter;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.AssertTrue;
 import jakarta.validation.constraints.NotNull;
 import lombok.Data;
 
@@ -11,7 +13,7 @@ import java.util.List;
 /**
  * Data Transfer Object (DTO) for filtering vacancies.
  * It includes fields like recruiter id, position, salary range, company name,
- * technology stack, creation date range, page number, and page size.
+ * technology stack, creation date range, search query, page number, page size, and the facets flag.
  */
 @Data
 public class VacancyFilterDto {
@@ -51,10 +53,14 @@ public class VacancyFilterDto {
     @JsonProperty("created_at_max")
     private final LocalDateTime createdAtMax;
 
+    @Schema(description = "The search query, it matches words of the position and the technology stack " +
+            "and tolerates typos in the position, the company name and the technologies", example = "java develper")
+    @JsonProperty("query")
+    private final String query;
+
     @Schema(description = "The page number for pagination, " +
-            "it is required for JsonResponse", example = "1")
+            "it is required for JsonResponse in the offset pagination mode", example = "1")
     @JsonProperty("page")
-    @NotNull(message = "Page number is required", groups = JsonResponse.class)
     private Integer page;
 
     @Schema(description = "The page size for pagination, " +
@@ -63,6 +69,84 @@ public class VacancyFilterDto {
     @NotNull(message = "Page size is required", groups = JsonResponse.class)
     private Integer size;
 
+    @Schema(description = "The pagination mode, OFFSET returns a page with totals, " +
+            "CURSOR returns a slice with the cursor of the next slice", example = "CURSOR", defaultValue = "OFFSET")
+    @JsonProperty("pagination")
+    private PaginationMode pagination;
+
+    @Schema(description = "The opaque cursor returned as next_cursor by the previous slice, " +
+            "it switches the request to the cursor pagination mode", example = "djE6MTA")
+    @JsonProperty("after")
+    private String after;
+
+    @Schema(description = "The way the total number of vacancies is counted in the offset pagination mode",
+            example = "CAPPED", defaultValue = "EXACT")
+    @JsonProperty("count_mode")
+    private CountMode countMode;
+
+    @Schema(description = "Whether the page contains the numbers of the matching vacancies per technology, company, " +
+            "salary range and month, it is supported in the offset pagination mode", example = "true", defaultValue = "false")
+    @JsonProperty("facets")
+    private boolean facets;
+
+    /**
+     * Checks if the vacancies are requested in the cursor pagination mode.
+     *
+     * @return true if the mode is CURSOR or the cursor of the previous slice is given
+     */
+    @JsonIgnore
+    public boolean isCursorPagination() {
+        return pagination == PaginationMode.CURSOR || after != null;
+    }
+
+    /**
+     * The page number is required only in the offset pagination mode,
+     * the cursor pagination mode seeks by the cursor instead.
+     *
+     * @return true if the page number is given or not needed
+     */
+    @JsonIgnore
+    @AssertTrue(message = "Page number is required", groups = JsonResponse.class)
+    public boolean isPageValid() {
+        return isCursorPagination() || page != null;
+    }
+
+    /**
+     * The pagination modes of the vacancy list.
+     */
+    public enum PaginationMode {
+        /**
+         * Page number and size, the response contains the total number of vacancies.
+         */
+        OFFSET,
+        /**
+         * Keyset pagination by the cursor of the previous slice, the response contains the next cursor.
+         */
+        CURSOR
+    }
+
+    /**
+     * The ways to count the total number of vacancies for a page.
+     */
+    public enum CountMode {
+        /**
+         * Exact count of all matching vacancies.
+         */
+        EXACT,
+        /**
+         * Exact count up to a limit, larger totals are reported as the limit and marked as not exact.
+         */
+        CAPPED,
+        /**
+         * The row estimate of the PostgreSQL planner, small estimates are replaced with an exact count.
+         */
+        ESTIMATE,
+        /**
+         * Exact count cached per filter for a short time, a cached total is marked as not exact.
+         */
+        CACHED
+    }
+
     /**
      * Interface for JsonResponse.
      */
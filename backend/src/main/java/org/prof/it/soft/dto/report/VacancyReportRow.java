@@ -0,0 +1,28 @@
+package org.prof.it.soft.dto.report;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * A row of the vacancy report, read by a single flat query together with the recruiter and the technology stack.
+ *
+ * @param vacancyId          the id of the vacancy
+ * @param position           the position of the vacancy
+ * @param salary             the salary of the vacancy, may be null
+ * @param technologyStack    the technology stack of the vacancy
+ * @param createdAt          the creation date of the vacancy
+ * @param recruiterId        the id of the recruiter
+ * @param companyName        the company name of the recruiter, may be null
+ * @param recruiterFirstName the first name of the recruiter
+ * @param recruiterLastName  the last name of the recruiter
+ */
+public record VacancyReportRow(Long vacancyId,
+                               String position,
+                               Float salary,
+                               List<String> technologyStack,
+                               LocalDateTime createdAt,
+                               Long recruiterId,
+                               String companyName,
+                               String recruiterFirstName,
+                               String recruiterLastName) {
+}
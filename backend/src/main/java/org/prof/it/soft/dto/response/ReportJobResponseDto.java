@@ -0,0 +1,67 @@
+package org.prof.it.soft.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.prof.it.soft.service.report.ReportFormat;
+import org.prof.it.soft.service.report.ReportJobStatus;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Data
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonPropertyOrder({
+        "job_id",
+        "status",
+        "format",
+        "created_at",
+        "finished_at",
+        "expires_at",
+        "download_url",
+        "error"
+})
+@NoArgsConstructor
+@AllArgsConstructor
+public final class ReportJobResponseDto {
+
+    @Schema(description = "The id of the report job", example = "5b0d6f3e-8f1a-4d4e-9a8e-0c1d2e3f4a5b")
+    @JsonProperty("job_id")
+    private UUID jobId;
+
+    @Schema(description = "The status of the report job", example = "DONE")
+    @JsonProperty("status")
+    private ReportJobStatus status;
+
+    @Schema(description = "The format of the report", example = "XLSX")
+    @JsonProperty("format")
+    private ReportFormat format;
+
+    @Schema(description = "The time the job was created", example = "2024-07-01T12:00:00Z")
+    @JsonProperty("created_at")
+    private Instant createdAt;
+
+    @Schema(description = "The time the job was finished", example = "2024-07-01T12:00:05Z")
+    @JsonProperty("finished_at")
+    private Instant finishedAt;
+
+    @Schema(description = "The time the job and its report are removed", example = "2024-07-01T13:00:05Z")
+    @JsonProperty("expires_at")
+    private Instant expiresAt;
+
+    @Schema(description = "The URL to download the report, it is present when the report is ready",
+            example = "/api/v1/vacancy/_report/jobs/5b0d6f3e-8f1a-4d4e-9a8e-0c1d2e3f4a5b/file")
+    @JsonProperty("download_url")
+    private String downloadUrl;
+
+    @Schema(description = "The reason the report could not be generated")
+    @JsonProperty("error")
+    private String error;
+
+}
@@ -0,0 +1,76 @@
+package org.prof.it.soft.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The numbers of the vacancies matching a filter per value of the filter dimensions,
+ * so a filter panel can show them without a request per value.
+ */
+@Data
+@Builder
+@JsonPropertyOrder({
+        "technology_stack",
+        "company_name",
+        "salary",
+        "created_at"
+})
+@NoArgsConstructor
+@AllArgsConstructor
+public final class VacancyFacetsDto {
+
+    @Schema(description = "The number of vacancies per technology, the most frequent technologies first",
+            example = "{\"Java\": 42, \"Spring\": 30}")
+    @JsonProperty("technology_stack")
+    private Map<String, Long> technologyStack;
+
+    @Schema(description = "The number of vacancies per company, the most frequent companies first",
+            example = "{\"PROFITSOFT\": 12}")
+    @JsonProperty("company_name")
+    private Map<String, Long> companyName;
+
+    @Schema(description = "The number of vacancies per salary range, the vacancies without a salary are not counted")
+    @JsonProperty("salary")
+    private List<Bucket<Float>> salary;
+
+    @Schema(description = "The number of vacancies per month of creation")
+    @JsonProperty("created_at")
+    private List<Bucket<LocalDate>> createdAt;
+
+    /**
+     * A range of values with the number of vacancies in it.
+     *
+     * @param <T> the type of the values
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonPropertyOrder({
+            "from",
+            "to",
+            "count"
+    })
+    public static final class Bucket<T> {
+
+        @Schema(description = "The lower bound of the range, inclusive")
+        @JsonProperty("from")
+        private T from;
+
+        @Schema(description = "The upper bound of the range, exclusive")
+        @JsonProperty("to")
+        private T to;
+
+        @Schema(description = "The number of vacancies in the range", example = "7")
+        @JsonProperty("count")
+        private long count;
+    }
+}
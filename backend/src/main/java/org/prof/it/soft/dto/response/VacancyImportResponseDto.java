@@ -0,0 +1,55 @@
+package org.prof.it.soft.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@JsonPropertyOrder({
+        "total_rows",
+        "imported_rows",
+        "failed_rows",
+        "errors_truncated",
+        "errors"
+})
+@NoArgsConstructor
+@AllArgsConstructor
+public final class VacancyImportResponseDto {
+
+    @Schema(description = "The number of data rows in the file", example = "100000")
+    @JsonProperty("total_rows")
+    private long totalRows;
+
+    @Schema(description = "The number of vacancies created", example = "99998")
+    @JsonProperty("imported_rows")
+    private long importedRows;
+
+    @Schema(description = "The number of rows which were not imported", example = "2")
+    @JsonProperty("failed_rows")
+    private long failedRows;
+
+    @Schema(description = "Whether there are more failed rows than the listed errors", example = "false")
+    @JsonProperty("errors_truncated")
+    private boolean errorsTruncated;
+
+    @Schema(description = "The errors of the failed rows in the order of the file")
+    @JsonProperty("errors")
+    private List<RowError> errors;
+
+    /**
+     * The errors of a row which was not imported.
+     *
+     * @param row    the number of the row in the file, the header is row 1
+     * @param errors the validation errors of the row
+     */
+    public record RowError(@JsonProperty("row") long row,
+                           @JsonProperty("errors") List<String> errors) {
+    }
+}
@@ -0,0 +1,38 @@
+package org.prof.it.soft.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+/**
+ * A page of vacancies returned in the offset pagination mode.
+ * Depending on the count mode of the filter the total may be capped or estimated,
+ * {@link #totalExact} tells whether it is the exact number of vacancies.
+ * The facets are present only if they were requested by the filter.
+ */
+@Getter
+@EqualsAndHashCode(callSuper = true)
+public class VacancyPageResponseDto extends PageImpl<VacancyResponseDto> {
+
+    @Schema(description = "The flag that indicates whether totalElements is the exact number of vacancies")
+    @JsonProperty("total_exact")
+    private final boolean totalExact;
+
+    @Schema(description = "The numbers of all matching vacancies per technology, company, salary range and month")
+    @JsonProperty("facets")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @Setter
+    private VacancyFacetsDto facets;
+
+    public VacancyPageResponseDto(List<VacancyResponseDto> content, Pageable pageable, long total, boolean totalExact) {
+        super(content, pageable, total);
+        this.totalExact = totalExact;
+    }
+}
@@ -0,0 +1,48 @@
+package org.prof.it.soft.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * A slice of vacancies returned in the cursor pagination mode.
+ * Unlike a page it has no totals, the next slice is requested with {@link #nextCursor}.
+ */
+@Data
+@Builder
+@JsonPropertyOrder({
+        "content",
+        "size",
+        "has_next",
+        "next_cursor"
+})
+@NoArgsConstructor
+@AllArgsConstructor
+public final class VacancySliceResponseDto {
+
+    @Schema(description = "The vacancies of the slice")
+    @JsonProperty("content")
+    private List<VacancyResponseDto> content;
+
+    @Schema(description = "The requested size of the slice", example = "10")
+    @JsonProperty("size")
+    private Integer size;
+
+    @Schema(description = "The flag that indicates whether there are more vacancies after the slice")
+    @JsonProperty("has_next")
+    private boolean hasNext;
+
+    @Schema(description = "The cursor to pass as after to get the next slice, it is absent for the last slice",
+            example = "djE6MTA")
+    @JsonProperty("next_cursor")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String nextCursor;
+
+}
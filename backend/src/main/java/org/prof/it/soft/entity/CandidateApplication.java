@@ -19,7 +19,7 @@ public class CandidateApplication {
     @Id
     @EqualsAndHashCode.Include
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "candidate_application_seq_id")
-    @SequenceGenerator(name = "candidate_application_seq_id", sequenceName = "candidate_application_seq_id", allocationSize = 1, initialValue = 1)
+    @SequenceGenerator(name = "candidate_application_seq_id", sequenceName = "candidate_application_seq_id", allocationSize = 50, initialValue = 1)
     @Column(name = "id", nullable = false)
     private Long id;
 
@@ -3,6 +3,7 @@ package org.prof.it.soft.entity;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
+import org.hibernate.Hibernate;
 import org.hibernate.proxy.HibernateProxy;
 
 import java.time.LocalDateTime;
@@ -38,18 +39,24 @@ public class Recruiter extends Person {
     /**
      * This method adds a vacancy to the recruiter's vacancies.
      * It also sets the recruiter of the vacancy to this recruiter.
+     * The vacancies are not loaded for it, they are only added to if they have been loaded already.
      */
     public void addVacancy(Vacancy vacancy) {
-        vacancies.add(vacancy);
+        if (Hibernate.isInitialized(vacancies)) {
+            vacancies.add(vacancy);
+        }
         vacancy.setRecruiter(this);
     }
 
     /**
      * This method removes a vacancy from the recruiter's vacancies.
      * It also sets the recruiter of the vacancy to null.
+     * The vacancies are not loaded for it, they are only removed from if they have been loaded already.
      */
     public void removeVacancy(Vacancy vacancy) {
-        vacancies.remove(vacancy);
+        if (Hibernate.isInitialized(vacancies)) {
+            vacancies.remove(vacancy);
+        }
         vacancy.setRecruiter(null);
     }
 
@@ -2,7 +2,9 @@ package org.prof.it.soft.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.proxy.HibernateProxy;
+import org.hibernate.type.SqlTypes;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -24,7 +26,7 @@ public class Vacancy {
      */
     @Id
     @EqualsAndHashCode.Include
-    @SequenceGenerator(name = "vacancy_id_seq", sequenceName = "vacancies_seq_id", allocationSize = 1, initialValue = 1)
+    @SequenceGenerator(name = "vacancy_id_seq", sequenceName = "vacancies_seq_id", allocationSize = 50, initialValue = 1)
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "vacancy_id_seq")
     @Column(name = "id", columnDefinition = "bigint", nullable = false)
     private Long id;
@@ -51,6 +53,24 @@ public class Vacancy {
     @Builder.Default
     protected List<String> technologyStack = new ArrayList<>(10);
 
+    /**
+     * The technology stack as an array, it is maintained by a database trigger on the technology stacks
+     * and backs the indexed technology stack filter.
+     */
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(name = "technologies", columnDefinition = "varchar(255)[]", insertable = false, updatable = false)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    protected String[] technologies;
+
+    /**
+     * The full-text search document of the position and the technologies, it is generated by the database.
+     */
+    @Column(name = "search_vector", columnDefinition = "tsvector", insertable = false, updatable = false)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    protected String searchVector;
+
     /**
      * The recruiter associated with the vacancy.
      */
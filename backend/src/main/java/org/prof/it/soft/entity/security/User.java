@@ -37,7 +37,7 @@ public class User implements UserDetails {
 
     @Id
     @EqualsAndHashCode.Include
-    @SequenceGenerator(name = "user_id_seq", sequenceName = "users_seq_id", allocationSize = 1, initialValue = 1)
+    @SequenceGenerator(name = "user_id_seq", sequenceName = "users_seq_id", allocationSize = 50, initialValue = 1)
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_id_seq")
     @Column(name = "id", columnDefinition = "bigint", nullable = false)
     protected Long id;
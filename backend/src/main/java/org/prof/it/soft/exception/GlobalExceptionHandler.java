@@ -43,6 +43,53 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(getErrorsMap(Collections.singleton(ex.getMessage())));
     }
 
+    /**
+     * This method handles pagination cursors that cannot be decoded.
+     * It returns a bad request response with the error message.
+     *
+     * @param ex the exception thrown by the application
+     * @return a ResponseEntity with the error message and a bad request status
+     */
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<Map<String, Collection<String>>> handleInvalidCursorException(final InvalidCursorException ex) {
+        return ResponseEntity.badRequest().body(getErrorsMap(Collections.singleton(ex.getMessage())));
+    }
+
+    /**
+     * This method handles imported files that cannot be read.
+     * It returns a bad request response with the error message.
+     *
+     * @param ex the exception thrown by the application
+     * @return a ResponseEntity with the error message and a bad request status
+     */
+    @ExceptionHandler(InvalidImportFileException.class)
+    public ResponseEntity<Map<String, Collection<String>>> handleInvalidImportFileException(final InvalidImportFileException ex) {
+        return ResponseEntity.badRequest().body(getErrorsMap(Collections.singleton(ex.getMessage())));
+    }
+
+    /**
+     * This method handles downloads of reports which are not generated yet.
+     * It returns a conflict response with the error message.
+     *
+     * @param ex the exception thrown by the application
+     * @return a ResponseEntity with the error message and a conflict status
+     */
+    @ExceptionHandler(ReportNotReadyException.class)
+    public ResponseEntity<Map<String, Collection<String>>> handleReportNotReadyException(final ReportNotReadyException ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(getErrorsMap(Collections.singleton(ex.getMessage())));
+    }
+
+    /**
+     * This method handles report jobs rejected because the report queue is full.
+     * It returns a too many requests response with the error message.
+     *
+     * @param ex the exception thrown by the application
+     * @return a ResponseEntity with the error message and a too many requests status
+     */
+    @ExceptionHandler(TooManyReportJobsException.class)
+    public ResponseEntity<Map<String, Collection<String>>> handleTooManyReportJobsException(final TooManyReportJobsException ex) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(getErrorsMap(Collections.singleton(ex.getMessage())));
+    }
 
     /**
      * This method handles authentication exceptions thrown by the application.
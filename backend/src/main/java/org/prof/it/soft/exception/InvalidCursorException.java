@@ -0,0 +1,22 @@
+package org.prof.it.soft.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * This class represents a custom exception for pagination cursors that cannot be decoded.
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidCursorException extends RuntimeException {
+
+    /**
+     * Constructs a new InvalidCursorException with the specified detail message.
+     *
+     * @param message the detail message. The detail message is saved for later
+     *                retrieval by the Throwable.getMessage() method.
+     */
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+
+}
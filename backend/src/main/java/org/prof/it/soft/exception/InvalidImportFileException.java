@@ -0,0 +1,34 @@
+package org.prof.it.soft.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * This class represents a custom exception for imported files that cannot be read,
+ * such as a file in an unsupported format or without the required columns.
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidImportFileException extends RuntimeException {
+
+    /**
+     * Constructs a new InvalidImportFileException with the specified detail message.
+     *
+     * @param message the detail message. The detail message is saved for later
+     *                retrieval by the Throwable.getMessage() method.
+     */
+    public InvalidImportFileException(String message) {
+        super(message);
+    }
+
+    /**
+     * Constructs a new InvalidImportFileException with the specified detail message and cause.
+     *
+     * @param message the detail message. The detail message is saved for later
+     *                retrieval by the Throwable.getMessage() method.
+     * @param cause   the cause (which is saved for later retrieval by the Throwable.getCause() method).
+     */
+    public InvalidImportFileException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+}
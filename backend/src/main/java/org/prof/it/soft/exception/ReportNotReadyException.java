@@ -0,0 +1,22 @@
+package org.prof.it.soft.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * This class represents a custom exception for downloading a report which is not generated yet.
+ */
+@ResponseStatus(HttpStatus.CONFLICT)
+public class ReportNotReadyException extends RuntimeException {
+
+    /**
+     * Constructs a new ReportNotReadyException with the specified detail message.
+     *
+     * @param message the detail message. The detail message is saved for later
+     *                retrieval by the Throwable.getMessage() method.
+     */
+    public ReportNotReadyException(String message) {
+        super(message);
+    }
+
+}
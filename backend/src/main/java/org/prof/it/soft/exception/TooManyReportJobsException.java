@@ -0,0 +1,22 @@
+package org.prof.it.soft.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * This class represents a custom exception for report jobs rejected because the report queue is full.
+ */
+@ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+public class TooManyReportJobsException extends RuntimeException {
+
+    /**
+     * Constructs a new TooManyReportJobsException with the specified detail message.
+     *
+     * @param message the detail message. The detail message is saved for later
+     *                retrieval by the Throwable.getMessage() method.
+     */
+    public TooManyReportJobsException(String message) {
+        super(message);
+    }
+
+}
@@ -6,8 +6,10 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
+import org.prof.it.soft.service.CachedUserDetailsService;
 import org.prof.it.soft.service.JwtService;
-import org.prof.it.soft.service.UserService;
+import org.prof.it.soft.service.UserRevocationService;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -26,7 +28,15 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     public static final String BEARER_PREFIX = "Bearer ";
     public static final String HEADER_NAME = "Authorization";
     private final JwtService jwtService;
-    private final UserService userService;
+    private final CachedUserDetailsService userDetailsService;
+    private final UserRevocationService userRevocationService;
+
+    /**
+     * If enabled, the principal and its permissions are rebuilt from the verified token claims
+     * instead of loading the user from the database on every request.
+     */
+    @Value("${token.stateless.enabled:false}")
+    private boolean statelessAuthentication;
 
     @Override
     protected void doFilterInternal(
@@ -44,9 +54,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         String username = jwtService.extractUserName(jwt);
 
         if (StringUtils.hasText(username) && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = userService.loadUserByUsername(username);
+            UserDetails userDetails = statelessAuthentication
+                    ? loadUserFromToken(jwt, username)
+                    : userDetailsService.loadUserByUsername(username);
 
-            if (jwtService.isTokenValid(jwt, userDetails)) {
+            if (userDetails != null && jwtService.isTokenValid(jwt, userDetails)) {
                 SecurityContext context = SecurityContextHolder.createEmptyContext();
 
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
@@ -63,4 +75,19 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * Rebuilds the user from the token claims, unless the tokens of the user were revoked.
+     *
+     * @param jwt      the JWT token
+     * @param username the username from the token
+     * @return the user from the token or null if the token was revoked
+     */
+    private UserDetails loadUserFromToken(String jwt, String username) {
+        if (userRevocationService.isRevoked(username, jwtService.extractIssuedAt(jwt))) {
+            return null;
+        }
+
+        return jwtService.extractUser(jwt);
+    }
+
 }
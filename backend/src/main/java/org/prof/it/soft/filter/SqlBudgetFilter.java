@@ -0,0 +1,128 @@
+package org.prof.it.soft.filter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.prof.it.soft.metrics.SqlStatementCounter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Measures the SQL statements executed while handling a request and the time spent executing them.
+ * The numbers are recorded per endpoint, requests over the budget are logged and counted,
+ * so an endpoint that starts issuing a query per row shows up before its latency does.
+ * <p>
+ * If the debug header is enabled, which it is in the {@code dev} profile, the numbers are returned in the
+ * {@value #STATEMENTS_HEADER} and {@value #TIME_HEADER} headers. Headers can only be added until the response
+ * is committed, so they count the statements executed before the body was written.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class SqlBudgetFilter extends OncePerRequestFilter {
+
+    public static final String STATEMENTS_HEADER = "X-SQL-Statements";
+    public static final String TIME_HEADER = "X-SQL-Time-Ms";
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${sql.budget.statements:20}")
+    private long statementBudget;
+
+    @Value("${sql.budget.time:500ms}")
+    private Duration timeBudget;
+
+    @Value("${sql.budget.debug-header:false}")
+    private boolean debugHeader;
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+
+        SqlStatementCounter.Measurement measurement = SqlStatementCounter.start();
+        HttpServletResponse filteredResponse = debugHeader ? new DebugHeaderResponse(response, measurement) : response;
+        try {
+            filterChain.doFilter(request, filteredResponse);
+        } finally {
+            if (filteredResponse instanceof DebugHeaderResponse debugHeaderResponse && !response.isCommitted()) {
+                debugHeaderResponse.onResponseCommitted();
+            }
+            record(request, measurement);
+        }
+    }
+
+    private void record(HttpServletRequest request, SqlStatementCounter.Measurement measurement) {
+        long statements = measurement.statements();
+        Duration time = measurement.time();
+        if (statements == 0) {
+            return;
+        }
+
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern == null ? "UNKNOWN" : pattern.toString();
+        String method = request.getMethod();
+
+        DistributionSummary.builder("http.server.requests.sql.statements")
+                .description("The SQL statements executed while handling a request")
+                .tags("uri", uri, "method", method)
+                .register(meterRegistry)
+                .record(statements);
+        Timer.builder("http.server.requests.sql.time")
+                .description("The time spent executing SQL statements while handling a request")
+                .tags("uri", uri, "method", method)
+                .register(meterRegistry)
+                .record(time);
+
+        if (statements > statementBudget || time.compareTo(timeBudget) > 0) {
+            Counter.builder("http.server.requests.sql.budget.exceeded")
+                    .description("The requests which executed more SQL statements or spent more time in the database than the budget")
+                    .tags("uri", uri, "method", method)
+                    .register(meterRegistry)
+                    .increment();
+            log.warn("{} {} executed {} SQL statements in {} ms, the budget is {} statements in {} ms",
+                    method, request.getRequestURI(), statements, time.toMillis(), statementBudget, timeBudget.toMillis());
+        }
+    }
+
+    /**
+     * Adds the debug headers right before the response is committed.
+     */
+    private static class DebugHeaderResponse extends OnCommittedResponseWrapper {
+
+        private final SqlStatementCounter.Measurement measurement;
+        private boolean headersAdded;
+
+        DebugHeaderResponse(HttpServletResponse response, SqlStatementCounter.Measurement measurement) {
+            super(response);
+            this.measurement = measurement;
+        }
+
+        @Override
+        protected void onResponseCommitted() {
+            if (!headersAdded) {
+                headersAdded = true;
+                setHeader(STATEMENTS_HEADER, String.valueOf(measurement.statements()));
+                setHeader(TIME_HEADER, String.valueOf(measurement.time().toMillis()));
+            }
+        }
+    }
+}
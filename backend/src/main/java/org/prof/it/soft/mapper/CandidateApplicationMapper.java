@@ -0,0 +1,40 @@
+package org.prof.it.soft.mapper;
+
+import lombok.RequiredArgsConstructor;
+import org.prof.it.soft.dto.response.CandidateApplicationResponseDto;
+import org.prof.it.soft.dto.response.VacancyResponseDto;
+import org.prof.it.soft.entity.CandidateApplication;
+import org.prof.it.soft.entity.Vacancy;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+
+/**
+ * Maps the {@link CandidateApplication} entity to its DTO without reflection.
+ */
+@Component
+@RequiredArgsConstructor
+public class CandidateApplicationMapper {
+
+    private final PersonMapper personMapper;
+
+    /**
+     * Maps the application to the DTO with its vacancy and candidate.
+     * Only the vacancy properties included in the response are mapped,
+     * so the recruiter of the vacancy is not loaded.
+     *
+     * @param candidateApplication the application
+     * @return the DTO of the application
+     */
+    public CandidateApplicationResponseDto toResponseDto(CandidateApplication candidateApplication) {
+        Vacancy vacancy = candidateApplication.getVacancy();
+        VacancyResponseDto vacancyDto = VacancyResponseDto.builder()
+                .id(vacancy.getId())
+                .position(vacancy.getPosition())
+                .salary(vacancy.getSalary())
+                .technologyStack(vacancy.getTechnologyStack() == null ? null : new ArrayList<>(vacancy.getTechnologyStack()))
+                .build();
+
+        return new CandidateApplicationResponseDto(vacancyDto, personMapper.toResponseDto(candidateApplication.getPerson()));
+    }
+}
@@ -0,0 +1,29 @@
+package org.prof.it.soft.mapper;
+
+import org.prof.it.soft.dto.response.PersonResponseDto;
+import org.prof.it.soft.entity.Person;
+import org.springframework.stereotype.Component;
+
+/**
+ * Maps the {@link Person} entity to its DTO without reflection.
+ */
+@Component
+public class PersonMapper {
+
+    /**
+     * Maps the person to the DTO.
+     *
+     * @param person the person, may be null
+     * @return the DTO of the person, or null if the person is null
+     */
+    public PersonResponseDto toResponseDto(Person person) {
+        if (person == null) {
+            return null;
+        }
+
+        return PersonResponseDto.builder()
+                .firstName(person.getFirstName())
+                .lastName(person.getLastName())
+                .build();
+    }
+}
@@ -0,0 +1,52 @@
+package org.prof.it.soft.mapper;
+
+import lombok.RequiredArgsConstructor;
+import org.prof.it.soft.dto.response.RecruiterResponseDto;
+import org.prof.it.soft.entity.Recruiter;
+import org.springframework.stereotype.Component;
+
+/**
+ * Maps the {@link Recruiter} entity to its DTO without reflection.
+ */
+@Component
+@RequiredArgsConstructor
+public class RecruiterMapper {
+
+    private final PersonMapper personMapper;
+
+    /**
+     * Maps the recruiter to the DTO, the vacancies of the recruiter are not mapped.
+     *
+     * @param recruiter the recruiter, may be null
+     * @return the DTO of the recruiter, or null if the recruiter is null
+     */
+    public RecruiterResponseDto toResponseDto(Recruiter recruiter) {
+        if (recruiter == null) {
+            return null;
+        }
+
+        return RecruiterResponseDto.builder()
+                .id(recruiter.getId())
+                .companyName(recruiter.getCompanyName())
+                .person(personMapper.toResponseDto(recruiter))
+                .createdAt(recruiter.getCreatedAt())
+                .updatedAt(recruiter.getUpdatedAt())
+                .build();
+    }
+
+    /**
+     * Maps the recruiter to a DTO with its id only, the id of a reference is read without loading the recruiter.
+     *
+     * @param recruiter the recruiter or a reference to it, may be null
+     * @return the DTO with the id of the recruiter, or null if the recruiter is null
+     */
+    public RecruiterResponseDto toReferenceDto(Recruiter recruiter) {
+        if (recruiter == null) {
+            return null;
+        }
+
+        return RecruiterResponseDto.builder()
+                .id(recruiter.getId())
+                .build();
+    }
+}
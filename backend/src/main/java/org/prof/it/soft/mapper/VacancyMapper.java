@@ -0,0 +1,77 @@
+package org.prof.it.soft.mapper;
+
+import lombok.RequiredArgsConstructor;
+import org.prof.it.soft.dto.request.VacancyRequestDto;
+import org.prof.it.soft.dto.response.RecruiterResponseDto;
+import org.prof.it.soft.dto.response.VacancyResponseDto;
+import org.prof.it.soft.entity.Recruiter;
+import org.prof.it.soft.entity.Vacancy;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+
+/**
+ * Maps the {@link Vacancy} entity to its DTOs and back without reflection.
+ * The vacancy lists map every vacancy of a page, so the mapping is written by hand
+ * instead of being resolved by the model mapper on every call.
+ */
+@Component
+@RequiredArgsConstructor
+public class VacancyMapper {
+
+    private final RecruiterMapper recruiterMapper;
+
+    /**
+     * Maps the vacancy to the DTO together with its recruiter and technology stack.
+     *
+     * @param vacancy the vacancy
+     * @return the DTO of the vacancy
+     */
+    public VacancyResponseDto toResponseDto(Vacancy vacancy) {
+        return toResponseDto(vacancy, recruiterMapper.toResponseDto(vacancy.getRecruiter()));
+    }
+
+    /**
+     * Maps the vacancy to the DTO with the id of its recruiter only,
+     * so the recruiter of a vacancy saved with a reference to it is not loaded.
+     *
+     * @param vacancy the vacancy
+     * @return the DTO of the vacancy
+     */
+    public VacancyResponseDto toResponseDtoWithRecruiterId(Vacancy vacancy) {
+        return toResponseDto(vacancy, recruiterMapper.toReferenceDto(vacancy.getRecruiter()));
+    }
+
+    /**
+     * Maps the request to a new vacancy.
+     * The recruiter is referenced by its id only and has to be resolved by the caller.
+     *
+     * @param vacancyRequestDto the request with the vacancy data
+     * @return the new vacancy without an id
+     */
+    public Vacancy toEntity(VacancyRequestDto vacancyRequestDto) {
+        Recruiter recruiter = new Recruiter();
+        recruiter.setId(vacancyRequestDto.getRecruiterUserId());
+
+        Vacancy vacancy = new Vacancy();
+        vacancy.setPosition(vacancyRequestDto.getPosition());
+        vacancy.setSalary(vacancyRequestDto.getSalary());
+        vacancy.setTechnologyStack(vacancyRequestDto.getTechnologyStack() == null
+                ? new ArrayList<>()
+                : vacancyRequestDto.getTechnologyStack());
+        vacancy.setRecruiter(recruiter);
+        return vacancy;
+    }
+
+    private static VacancyResponseDto toResponseDto(Vacancy vacancy, RecruiterResponseDto recruiter) {
+        return VacancyResponseDto.builder()
+                .id(vacancy.getId())
+                .position(vacancy.getPosition())
+                .salary(vacancy.getSalary())
+                .technologyStack(vacancy.getTechnologyStack() == null ? null : new ArrayList<>(vacancy.getTechnologyStack()))
+                .createdAt(vacancy.getCreatedAt())
+                .updatedAt(vacancy.getUpdatedAt())
+                .recruiter(recruiter)
+                .build();
+    }
+}
@@ -0,0 +1,71 @@
+package org.prof.it.soft.metrics;
+
+import java.time.Duration;
+
+/**
+ * Counts the SQL statements executed by the current thread and the time spent executing them.
+ * The statements are recorded by the proxy of the data source, so the ones of {@code JdbcTemplate}
+ * are counted as well as the ones of Hibernate.
+ * <p>
+ * The totals of a thread only grow, a {@link Measurement} started before a piece of work
+ * reads the difference after it. Measurements can be nested, for example the one of a request
+ * and the one of a test around it. Statements executed by other threads, such as the ones of
+ * the asynchronous reports, are not part of the measurement.
+ */
+public final class SqlStatementCounter {
+
+    private static final ThreadLocal<Totals> TOTALS = ThreadLocal.withInitial(Totals::new);
+
+    private SqlStatementCounter() {
+    }
+
+    /**
+     * Records an executed statement or batch of the current thread.
+     *
+     * @param elapsedNanos the execution time of the statement in nanoseconds
+     */
+    public static void record(long elapsedNanos) {
+        Totals totals = TOTALS.get();
+        totals.statements++;
+        totals.nanos += elapsedNanos;
+    }
+
+    /**
+     * Starts measuring the statements of the current thread.
+     *
+     * @return the measurement, which has to be read on the same thread
+     */
+    public static Measurement start() {
+        Totals totals = TOTALS.get();
+        return new Measurement(totals, totals.statements, totals.nanos);
+    }
+
+    /**
+     * The statements executed by a thread since the measurement was started.
+     */
+    public static final class Measurement {
+
+        private final Totals totals;
+        private final long startStatements;
+        private final long startNanos;
+
+        private Measurement(Totals totals, long startStatements, long startNanos) {
+            this.totals = totals;
+            this.startStatements = startStatements;
+            this.startNanos = startNanos;
+        }
+
+        public long statements() {
+            return totals.statements - startStatements;
+        }
+
+        public Duration time() {
+            return Duration.ofNanos(totals.nanos - startNanos);
+        }
+    }
+
+    private static final class Totals {
+        private long statements;
+        private long nanos;
+    }
+}
@@ -0,0 +1,27 @@
+package org.prof.it.soft.metrics;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.List;
+
+/**
+ * Records every statement executed through the proxy of the data source in the {@link SqlStatementCounter}.
+ * A batch is recorded as one statement, it is one round trip to the database.
+ */
+public class SqlStatementCountingListener implements QueryExecutionListener {
+
+    private static final String STARTED_AT = "sqlStatementStartedAt";
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        execInfo.addCustomValue(STARTED_AT, System.nanoTime());
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Long startedAt = execInfo.getCustomValue(STARTED_AT, Long.class);
+        SqlStatementCounter.record(startedAt == null ? 0 : System.nanoTime() - startedAt);
+    }
+}
@@ -6,7 +6,10 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Optional;
 import java.util.Set;
 
 public interface CandidateApplicationRepository extends JpaRepository<CandidateApplication, Long> {
@@ -22,5 +25,23 @@ public interface CandidateApplicationRepository extends JpaRepository<CandidateA
             " CandidateApplication ca where ca.person.id = :personId and ca.vacancy.id = :vacancyId")
     boolean existsByPersonIdAndVacancyId(Long personId, Long vacancyId);
 
+    /**
+     * Creates the application of a candidate for a vacancy in one statement, the entities are not loaded.
+     * Concurrent inserts of the same candidate and vacancy wait for each other on the unique constraint,
+     * only the first one inserts a row.
+     *
+     * @param personId  the id of the candidate
+     * @param vacancyId the id of the vacancy
+     * @return the id of the created application, empty if the candidate has already applied for the vacancy
+     * or if the candidate or the vacancy does not exist
+     */
+    @Transactional
+    @Query(value = "INSERT INTO candidate_applications (person_id, vacancy_id, created_at) " +
+            "SELECT p.id, v.id, localtimestamp FROM people p, vacancies v " +
+            "WHERE p.id = :personId AND v.id = :vacancyId " +
+            "ON CONFLICT (person_id, vacancy_id) DO NOTHING " +
+            "RETURNING id", nativeQuery = true)
+    Optional<Long> insertIfAbsent(@Param("personId") Long personId, @Param("vacancyId") Long vacancyId);
+
     void deleteAllByVacancyId(Long vacancyId);
 }
\ No newline at end of file
@@ -3,7 +3,9 @@ package org.prof.it.soft.repo;
 import org.prof.it.soft.entity.Recruiter;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.Optional;
 import java.util.Set;
 
@@ -11,5 +13,14 @@ public interface RecruiterRepository extends JpaRepository<Recruiter, Long> {
 
     Optional<Recruiter> getRecruiterById(Long id);
 
+    /**
+     * Finds which of the given ids are ids of recruiters.
+     *
+     * @param ids the ids to check
+     * @return the ids of the existing recruiters
+     */
+    @Query("SELECT r.id FROM Recruiter r WHERE r.id IN :ids")
+    Set<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
 }
 
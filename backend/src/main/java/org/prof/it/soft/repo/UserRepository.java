@@ -3,12 +3,17 @@ package org.prof.it.soft.repo;
 import org.prof.it.soft.entity.security.User;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.Optional;
+import java.util.Set;
 
 public interface UserRepository extends JpaRepository<User, Long> {
 
     @EntityGraph(attributePaths = {"permissions", "createdAt"})
     Optional<User> findByUsername(String username);
 
+    @Query("SELECT u.username FROM User u WHERE u.accountNonLocked = false OR u.enabled = false")
+    Set<String> findAllLockedUsernames();
+
 }
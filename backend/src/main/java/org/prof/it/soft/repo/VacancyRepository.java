@@ -1,35 +1,47 @@
 package org.prof.it.soft.repo;
 
-import org.prof.it.soft.dto.response.VacancyResponseDto;
 import org.prof.it.soft.entity.Vacancy;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Set;
 
-public interface VacancyRepository extends JpaRepository<Vacancy, Long>, JpaSpecificationExecutor<Vacancy> {
+public interface VacancyRepository extends JpaRepository<Vacancy, Long>, JpaSpecificationExecutor<Vacancy>,
+        VacancyRepositoryCustom {
 
     Set<Vacancy> findAllByRecruiterId(Long recruiterId);
 
+    /**
+     * Fetches the vacancies with the given ids together with their recruiters and technology stacks.
+     * The result is not ordered, the caller is responsible for restoring the order of the ids.
+     *
+     * @param ids the ids of the vacancies, usually a single page found by {@link #findIds}
+     * @return the vacancies with the given ids
+     */
     @EntityGraph(attributePaths = {"recruiter", "technologyStack"})
-    Page<Vacancy> findAll(Specification<Vacancy> spec, Pageable pageable);
-
-    @Query("SELECT v.id " +
-            "FROM Vacancy v " +
-            "JOIN CandidateApplication ca ON ca.vacancy.id = v.id" +
-            " WHERE ca.person.id = :candidateId")
-    Set<Long> findAllVacancyIdAppliedByCandidate(@Param("candidateId") Long candidateId);
-
-    @Query("SELECT CASE WHEN (COUNT(ca.id) > 0) THEN true ELSE false END " +
+    @Query("SELECT v FROM Vacancy v WHERE v.id IN :ids")
+    List<Vacancy> findAllWithRecruiterAndTechnologyStackByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Finds which of the given vacancies the candidate has applied for.
+     * Only the ids of a page are looked up, the applications of the candidate to other vacancies are not read.
+     *
+     * @param candidateId the id of the candidate
+     * @param vacancyIds  the ids of the vacancies, usually a single page
+     * @return the ids of the given vacancies the candidate has applied for
+     */
+    @Query("SELECT ca.vacancy.id " +
             "FROM CandidateApplication ca " +
-            "WHERE ca.vacancy.id = :vacancyId AND ca.person.id = :candidateId")
-    boolean isVacancyIsAppliedByCandidate(Long vacancyId, Long candidateId);
+            "WHERE ca.person.id = :candidateId AND ca.vacancy.id IN :vacancyIds")
+    Set<Long> findVacancyIdsAppliedByCandidate(@Param("candidateId") Long candidateId,
+                                               @Param("vacancyIds") Collection<Long> vacancyIds);
 
     @Query("SELECT v FROM Vacancy v WHERE v.recruiter.id = :recruiterId")
     Page<Vacancy> findAllByRecruiterId(Long recruiterId, Pageable pageable);
@@ -0,0 +1,61 @@
+package org.prof.it.soft.repo;
+
+import org.prof.it.soft.dto.filter.VacancyFilterDto;
+import org.prof.it.soft.dto.report.VacancyReportRow;
+import org.prof.it.soft.dto.response.VacancyFacetsDto;
+import org.prof.it.soft.entity.Vacancy;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface VacancyRepositoryCustom {
+
+    /**
+     * Finds the ids of the vacancies that match the specification.
+     * Only the id column is selected, so ordering, offset and limit are applied by the database
+     * and the page can be fetched afterwards together with its associations.
+     * The vacancies of a {@link org.prof.it.soft.spec.VacancySpecification} with a search query
+     * are ordered by the relevance first.
+     *
+     * @param spec     the specification to filter vacancies
+     * @param pageable the page and the sort order
+     * @return the ids of the vacancies on the requested page in the requested order
+     */
+    List<Long> findIds(Specification<Vacancy> spec, Pageable pageable);
+
+    /**
+     * Counts the vacancies that match the filter, but no more than the limit.
+     * The count is a single scalar query over an unordered and limited select,
+     * so neither the ids are transferred nor the vacancies beyond the limit are scanned.
+     *
+     * @param vacancyFilterDto the filter of the vacancies, may be null
+     * @param limit            the maximum number of vacancies counted
+     * @return the number of matching vacancies, at most the limit
+     */
+    long countUpTo(VacancyFilterDto vacancyFilterDto, long limit);
+
+    /**
+     * Streams the report rows of the vacancies that match the filter ordered by id.
+     * Every row is read by a single flat query together with the recruiter and the technology stack,
+     * rows are fetched from a database cursor in chunks and are not attached to the persistence context,
+     * so memory does not grow with the number of vacancies.
+     * The stream must be consumed inside a transaction and closed afterwards.
+     *
+     * @param vacancyFilterDto the filter of the vacancies, may be null
+     * @return the stream of report rows
+     */
+    Stream<VacancyReportRow> streamReportRows(VacancyFilterDto vacancyFilterDto);
+
+    /**
+     * Counts the vacancies that match the filter per technology, company, salary range and month of creation.
+     * The matching vacancies are selected once and grouped by every facet in a single query.
+     *
+     * @param vacancyFilterDto  the filter of the vacancies, may be null
+     * @param salaryBucketWidth the width of the salary ranges
+     * @param maxValues         the maximum number of technologies and companies, the most frequent ones are kept
+     * @return the facets of the matching vacancies
+     */
+    VacancyFacetsDto countFacets(VacancyFilterDto vacancyFilterDto, float salaryBucketWidth, int maxValues);
+}
@@ -0,0 +1,236 @@
+package org.prof.it.soft.repo;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.StandardBasicTypes;
+import org.prof.it.soft.dto.filter.VacancyFilterDto;
+import org.prof.it.soft.dto.report.VacancyReportRow;
+import org.prof.it.soft.dto.response.VacancyFacetsDto;
+import org.prof.it.soft.entity.Vacancy;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.prof.it.soft.spec.VacancyFilterSql;
+import org.prof.it.soft.spec.VacancySpecification;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+public class VacancyRepositoryCustomImpl implements VacancyRepositoryCustom {
+
+    /**
+     * The number of rows fetched from the database cursor at once when streaming vacancies.
+     */
+    private static final int STREAM_FETCH_SIZE = 500;
+
+    /**
+     * The separator of the aggregated technologies, the unit separator control character never occurs in names.
+     */
+    private static final String TECHNOLOGY_SEPARATOR = "\u001f";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Long> findIds(Specification<Vacancy> spec, Pageable pageable) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = criteriaBuilder.createQuery(Long.class);
+        Root<Vacancy> root = query.from(Vacancy.class);
+
+        query.select(root.get("id"));
+        Predicate predicate = spec.toPredicate(root, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+
+        // the relevance to the search query goes first, the requested sort breaks the ties
+        List<Order> orders = new ArrayList<>();
+        if (spec instanceof VacancySpecification vacancySpecification) {
+            orders.addAll(vacancySpecification.toRelevanceOrder(root, criteriaBuilder));
+        }
+        if (pageable.getSort().isSorted()) {
+            orders.addAll(QueryUtils.toOrders(pageable.getSort(), root, criteriaBuilder));
+        }
+        if (!orders.isEmpty()) {
+            query.orderBy(orders);
+        }
+
+        TypedQuery<Long> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult(Math.toIntExact(pageable.getOffset()));
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+        return typedQuery.getResultList();
+    }
+
+    @Override
+    public long countUpTo(VacancyFilterDto vacancyFilterDto, long limit) {
+        VacancyFilterSql filterSql = VacancyFilterSql.of(vacancyFilterDto);
+
+        NativeQuery<Long> query = createNativeQuery(filterSql.countUpToLimit())
+                .addScalar("count", StandardBasicTypes.LONG)
+                .setTupleTransformer((tuple, aliases) -> (Long) tuple[0]);
+
+        List<Object> parameters = new ArrayList<>(filterSql.getParameters());
+        parameters.add(limit);
+        for (int i = 0; i < parameters.size(); i++) {
+            query.setParameter(i + 1, parameters.get(i));
+        }
+        return query.setReadOnly(true).getSingleResult();
+    }
+
+    @Override
+    public Stream<VacancyReportRow> streamReportRows(VacancyFilterDto vacancyFilterDto) {
+        VacancyFilterSql filterSql = VacancyFilterSql.of(vacancyFilterDto);
+
+        // the technologies are aggregated by a correlated subquery, so rows are produced in id order without sorting
+        String sql = "SELECT v.id AS vacancy_id, v.position AS position, v.salary AS salary, " +
+                "(SELECT string_agg(ts.name, '" + TECHNOLOGY_SEPARATOR + "' ORDER BY ts.id) " +
+                "FROM technology_stacks ts WHERE ts.vacancy_id = v.id) AS technology_stack, " +
+                "v.created_at AS created_at, r.id AS recruiter_id, r.company_name AS company_name, " +
+                "p.first_name AS first_name, p.last_name AS last_name " +
+                "FROM vacancies v " +
+                "JOIN recruiters r ON r.id = v.recruiter_id " +
+                "JOIN people p ON p.id = r.id" +
+                filterSql.getWhereClause() +
+                " ORDER BY v.id";
+
+        NativeQuery<VacancyReportRow> query = createNativeQuery(sql)
+                .addScalar("vacancy_id", StandardBasicTypes.LONG)
+                .addScalar("position", StandardBasicTypes.STRING)
+                .addScalar("salary", StandardBasicTypes.FLOAT)
+                .addScalar("technology_stack", StandardBasicTypes.STRING)
+                .addScalar("created_at", StandardBasicTypes.LOCAL_DATE_TIME)
+                .addScalar("recruiter_id", StandardBasicTypes.LONG)
+                .addScalar("company_name", StandardBasicTypes.STRING)
+                .addScalar("first_name", StandardBasicTypes.STRING)
+                .addScalar("last_name", StandardBasicTypes.STRING)
+                .setTupleTransformer((tuple, aliases) -> new VacancyReportRow(
+                        (Long) tuple[0],
+                        (String) tuple[1],
+                        (Float) tuple[2],
+                        splitTechnologies((String) tuple[3]),
+                        (LocalDateTime) tuple[4],
+                        (Long) tuple[5],
+                        (String) tuple[6],
+                        (String) tuple[7],
+                        (String) tuple[8]
+                ));
+
+        List<Object> parameters = filterSql.getParameters();
+        for (int i = 0; i < parameters.size(); i++) {
+            query.setParameter(i + 1, parameters.get(i));
+        }
+
+        return query
+                .setFetchSize(STREAM_FETCH_SIZE)
+                .setReadOnly(true)
+                .getResultStream();
+    }
+
+    @Override
+    public VacancyFacetsDto countFacets(VacancyFilterDto vacancyFilterDto, float salaryBucketWidth, int maxValues) {
+        VacancyFilterSql filterSql = VacancyFilterSql.of(vacancyFilterDto);
+
+        // the matching vacancies are materialized once and every branch groups them by its own facet,
+        // the values are ordered by frequency and the buckets by their lower bound
+        String sql = "WITH matched AS MATERIALIZED (" +
+                "SELECT v.id, v.salary, v.created_at, v.technologies, r.company_name " +
+                "FROM vacancies v " +
+                "JOIN recruiters r ON r.id = v.recruiter_id" +
+                filterSql.getWhereClause() + ") " +
+                "SELECT * FROM (" +
+                "(SELECT 'technology_stack' AS facet, t.name AS name, CAST(NULL AS float8) AS salary_from, " +
+                "CAST(NULL AS timestamp) AS month, count(DISTINCT m.id) AS count " +
+                "FROM matched m CROSS JOIN unnest(m.technologies) AS t(name) " +
+                "GROUP BY t.name ORDER BY count(DISTINCT m.id) DESC, t.name LIMIT ?) " +
+                "UNION ALL " +
+                "(SELECT 'company_name', m.company_name, NULL, NULL, count(*) " +
+                "FROM matched m WHERE m.company_name IS NOT NULL " +
+                "GROUP BY m.company_name ORDER BY count(*) DESC, m.company_name LIMIT ?) " +
+                "UNION ALL " +
+                "(SELECT 'salary', NULL, floor(m.salary / ?) * ?, NULL, count(*) " +
+                "FROM matched m WHERE m.salary IS NOT NULL GROUP BY 3) " +
+                "UNION ALL " +
+                "(SELECT 'created_at', NULL, NULL, date_trunc('month', m.created_at), count(*) " +
+                "FROM matched m GROUP BY 4)" +
+                ") facets ORDER BY facet, salary_from, month, count DESC, name";
+
+        NativeQuery<Object[]> query = createNativeQuery(sql)
+                .addScalar("facet", StandardBasicTypes.STRING)
+                .addScalar("name", StandardBasicTypes.STRING)
+                .addScalar("salary_from", StandardBasicTypes.DOUBLE)
+                .addScalar("month", StandardBasicTypes.LOCAL_DATE_TIME)
+                .addScalar("count", StandardBasicTypes.LONG)
+                .setTupleTransformer((tuple, aliases) -> tuple);
+
+        List<Object> parameters = new ArrayList<>(filterSql.getParameters());
+        parameters.addAll(List.of(maxValues, maxValues, (double) salaryBucketWidth, (double) salaryBucketWidth));
+        for (int i = 0; i < parameters.size(); i++) {
+            query.setParameter(i + 1, parameters.get(i));
+        }
+
+        Map<String, Long> technologyStack = new LinkedHashMap<>();
+        Map<String, Long> companyName = new LinkedHashMap<>();
+        List<VacancyFacetsDto.Bucket<Float>> salary = new ArrayList<>();
+        List<VacancyFacetsDto.Bucket<LocalDate>> createdAt = new ArrayList<>();
+        for (Object[] row : query.setReadOnly(true).getResultList()) {
+            long count = (Long) row[4];
+            switch ((String) row[0]) {
+                case "technology_stack" -> technologyStack.put((String) row[1], count);
+                case "company_name" -> companyName.put((String) row[1], count);
+                case "salary" -> {
+                    float from = ((Double) row[2]).floatValue();
+                    salary.add(new VacancyFacetsDto.Bucket<>(from, from + salaryBucketWidth, count));
+                }
+                case "created_at" -> {
+                    LocalDate from = ((LocalDateTime) row[3]).toLocalDate();
+                    createdAt.add(new VacancyFacetsDto.Bucket<>(from, from.plusMonths(1), count));
+                }
+                default -> throw new IllegalStateException(String.format("Unknown facet %s", row[0]));
+            }
+        }
+
+        return VacancyFacetsDto.builder()
+                .technologyStack(technologyStack)
+                .companyName(companyName)
+                .salary(salary)
+                .createdAt(createdAt)
+                .build();
+    }
+
+    /**
+     * Creates a Hibernate native query, its result type is given by the tuple transformer of the caller.
+     *
+     * @param sql the SQL of the query
+     * @return the query without a result type
+     */
+    private NativeQuery<?> createNativeQuery(String sql) {
+        return entityManager.createNativeQuery(sql).unwrap(NativeQuery.class);
+    }
+
+    /**
+     * Splits the technologies aggregated by the report query.
+     *
+     * @param technologies the technologies joined by {@link #TECHNOLOGY_SEPARATOR}, null if there are none
+     * @return the technologies
+     */
+    private static List<String> splitTechnologies(String technologies) {
+        if (technologies == null) {
+            return List.of();
+        }
+        return List.of(technologies.split(TECHNOLOGY_SEPARATOR));
+    }
+}
@@ -0,0 +1,41 @@
+package org.prof.it.soft.service;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.prof.it.soft.entity.security.User;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+/**
+ * Service for loading the authenticated user on every request.
+ * If the cache is enabled, the users are kept in memory as immutable snapshots
+ * and every call returns a new detached copy, so callers can't change the cached state.
+ * The cached user must be evicted whenever the user is changed in the database.
+ */
+public interface CachedUserDetailsService extends UserDetailsService {
+
+    /**
+     * Loads the user by username from the cache or from the database.
+     *
+     * @param username the username of the user
+     * @return the detached copy of the user without password if the cache is enabled,
+     * otherwise the user loaded from the database
+     * @throws UsernameNotFoundException if the user is not found
+     */
+    @Override
+    User loadUserByUsername(String username) throws UsernameNotFoundException;
+
+    /**
+     * Removes the user from the cache, the next call loads the user from the database.
+     *
+     * @param username the username of the changed user
+     */
+    void evict(String username);
+
+    /**
+     * Returns the hit, miss and eviction counters of the cache.
+     *
+     * @return the statistics of the cache
+     */
+    CacheStats getStats();
+
+}
@@ -1,6 +1,8 @@
 package org.prof.it.soft.service;
 
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import org.prof.it.soft.dto.security.response.JwtTokenResponseDto;
+import org.prof.it.soft.entity.security.User;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.Date;
@@ -12,5 +14,29 @@ public interface JwtService {
     JwtTokenResponseDto generateTokenResponse(UserDetails userDetails);
     boolean isTokenValid(String token, UserDetails userDetails);
     Date extractExpiration(String token);
+    Date extractIssuedAt(String token);
+
+    /**
+     * Rebuilds the principal from the verified claims of the token,
+     * without loading the user from the database.
+     *
+     * @param token the JWT token
+     * @return the detached user with id, username and permissions from the token
+     */
+    User extractUser(String token);
+
+    /**
+     * Returns the hit, miss and eviction counters of the verified claims cache.
+     *
+     * @return the statistics of the claims cache
+     */
+    CacheStats getClaimsCacheStats();
+
+    /**
+     * Returns the approximate number of tokens whose claims are currently cached.
+     *
+     * @return the estimated size of the claims cache
+     */
+    long getClaimsCacheSize();
 
 }
@@ -0,0 +1,54 @@
+package org.prof.it.soft.service;
+
+import org.prof.it.soft.dto.filter.VacancyFilterDto;
+import org.prof.it.soft.dto.response.ReportJobResponseDto;
+import org.prof.it.soft.service.report.ReportFile;
+import org.prof.it.soft.service.report.ReportFormat;
+
+import java.util.UUID;
+
+/**
+ * Service for generating vacancy reports in the background.
+ * Reports are written to a spool directory by a bounded pool of workers
+ * and can be downloaded until their jobs expire.
+ *
+ * @see VacancyService#generateReport
+ */
+public interface ReportJobService {
+
+    /**
+     * Submits a report job.
+     * If an identical report is already pending or running, its job is returned instead.
+     * A finished report is never reused, a new job reads the current vacancies.
+     *
+     * @param vacancyFilterDto the filter for generating the report
+     * @param format           the format of the report
+     * @return the submitted or the existing job
+     * @throws org.prof.it.soft.exception.TooManyReportJobsException if the report queue is full
+     */
+    ReportJobResponseDto submit(VacancyFilterDto vacancyFilterDto, ReportFormat format);
+
+    /**
+     * Gets a report job by id.
+     *
+     * @param jobId the id of the job
+     * @return the job
+     * @throws org.prof.it.soft.exception.NotFoundException if the job is not found or has expired
+     */
+    ReportJobResponseDto getJob(UUID jobId);
+
+    /**
+     * Gets the generated report of a job.
+     *
+     * @param jobId the id of the job
+     * @return the report file
+     * @throws org.prof.it.soft.exception.NotFoundException       if the job is not found or has expired
+     * @throws org.prof.it.soft.exception.ReportNotReadyException if the report is not generated yet or has failed
+     */
+    ReportFile getReportFile(UUID jobId);
+
+    /**
+     * Removes the finished jobs which have expired together with their reports.
+     */
+    void removeExpiredJobs();
+}
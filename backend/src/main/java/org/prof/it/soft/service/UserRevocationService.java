@@ -0,0 +1,45 @@
+package org.prof.it.soft.service;
+
+import java.util.Date;
+
+/**
+ * Service which keeps track of users whose issued JWT tokens must not be trusted anymore.
+ * It is used by the stateless authentication mode, where the principal is rebuilt from the token claims
+ * without loading the user from the database.
+ * The state is kept in memory and is fed by the {@link UserService} mutators,
+ * so it is consistent only within a single application instance.
+ */
+public interface UserRevocationService {
+
+    /**
+     * Marks the user as locked, all tokens of the user are rejected until the user is unlocked.
+     *
+     * @param username the username of the locked user
+     */
+    void lock(String username);
+
+    /**
+     * Removes the lock of the user.
+     *
+     * @param username the username of the unlocked user
+     */
+    void unlock(String username);
+
+    /**
+     * Rejects all tokens of the user issued before the current second,
+     * e.g. after the permissions of the user were changed.
+     *
+     * @param username the username of the user
+     */
+    void revokeIssuedTokens(String username);
+
+    /**
+     * Checks if the token of the user must be rejected.
+     *
+     * @param username the username from the token
+     * @param issuedAt the issue date of the token
+     * @return true if the user is locked or the token was issued before the revocation
+     */
+    boolean isRevoked(String username, Date issuedAt);
+
+}
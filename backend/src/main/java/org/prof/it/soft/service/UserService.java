@@ -12,6 +12,8 @@ import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 
+import java.util.Set;
+
 /**
  * Service interface for managing users.
  * Extends the UserDetailsService interface to provide user-specific data.
@@ -100,4 +102,12 @@ public interface UserService extends UserDetailsService {
      */
     void addPermission(String username, Permission... permission);
 
+    /**
+     * Replaces all permissions of a user.
+     *
+     * @param username    the username of the user
+     * @param permissions the new permissions of the user
+     */
+    void setPermissions(String username, Set<Permission> permissions);
+
 }
\ No newline at end of file
@@ -0,0 +1,26 @@
+package org.prof.it.soft.service;
+
+import org.prof.it.soft.dto.response.VacancyImportResponseDto;
+import org.prof.it.soft.service.report.ReportFormat;
+
+import java.io.InputStream;
+
+/**
+ * Service for importing vacancies in bulk from a file with the columns of the vacancy report.
+ *
+ * @see VacancyService#generateReport
+ */
+public interface VacancyImportService {
+
+    /**
+     * Imports the vacancies of a file.
+     * Every row is validated like a saved vacancy, the valid rows are saved and the invalid ones are reported.
+     *
+     * @param inputStream the content of the file, it is not closed
+     * @param format      the format of the file, XLSX or CSV
+     * @return the numbers of imported and failed rows and the errors of the failed rows
+     * @throws org.prof.it.soft.exception.InvalidImportFileException if the format is not supported
+     *                                                               or the file cannot be read
+     */
+    VacancyImportResponseDto importVacancies(InputStream inputStream, ReportFormat format);
+}
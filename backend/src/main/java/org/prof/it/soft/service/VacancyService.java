@@ -2,11 +2,15 @@ package org.prof.it.soft.service;
 
 import org.prof.it.soft.dto.filter.VacancyFilterDto;
 import org.prof.it.soft.dto.request.VacancyRequestDto;
+import org.prof.it.soft.dto.response.VacancyPageResponseDto;
 import org.prof.it.soft.dto.response.VacancyResponseDto;
+import org.prof.it.soft.dto.response.VacancySliceResponseDto;
 import org.prof.it.soft.entity.security.User;
-import org.springframework.core.io.Resource;
+import org.prof.it.soft.service.report.ReportFormat;
 import org.springframework.data.domain.Page;
 
+import java.io.OutputStream;
+
 /**
  * Service for working with vacancies
  *
@@ -54,16 +58,38 @@ public interface VacancyService {
     VacancyResponseDto getResponseVacancyDtoById(Long vacancyId, User user);
 
     /**
-     * Generates a report in Excel format based on the specified filter.
+     * Generates a report in the given format based on the specified filter
+     * and writes it to the output stream as the vacancies are read.
      *
      * @param vacancyFilterDto the filter for generating the report
-     * @return the report in Excel format
+     * @param format           the format of the report
+     * @param outputStream     the stream to write the report to, it is not closed
      */
-    Resource generateReportExcel(VacancyFilterDto vacancyFilterDto);
+    void generateReport(VacancyFilterDto vacancyFilterDto, ReportFormat format, OutputStream outputStream);
+
+    VacancyPageResponseDto getFilteredVacancies(VacancyFilterDto vacancyFilterDto);
 
-    Page<VacancyResponseDto> getFilteredVacancies(VacancyFilterDto vacancyFilterDto);
+    /**
+     * Gets a page of vacancies in the offset pagination mode.
+     * The total is counted with the count mode of the filter and may be capped or estimated.
+     *
+     * @param vacancyFilterDto the filter with the page number, the page size and the optional count mode
+     * @param user             the user who requested the vacancies, may be null
+     * @return the page of vacancies with the flag whether the total is exact
+     */
+    VacancyPageResponseDto getFilteredVacancies(VacancyFilterDto vacancyFilterDto, User user);
 
-    Page<VacancyResponseDto> getFilteredVacancies(VacancyFilterDto vacancyFilterDto, User user);
+    /**
+     * Gets a slice of vacancies in the cursor pagination mode.
+     * The slice starts after the vacancy encoded in the cursor of the filter,
+     * so its cost does not depend on how deep the client has scrolled.
+     *
+     * @param vacancyFilterDto the filter with the slice size and the optional cursor of the previous slice
+     * @param user             the user who requested the vacancies, may be null
+     * @return the slice of vacancies with the cursor of the next slice
+     * @throws org.prof.it.soft.exception.InvalidCursorException if the cursor is malformed
+     */
+    VacancySliceResponseDto getVacancySlice(VacancyFilterDto vacancyFilterDto, User user);
 
     Page<VacancyResponseDto> getVacanciesByRecruiterId(Long recruiterId, Long pageNum);
 }
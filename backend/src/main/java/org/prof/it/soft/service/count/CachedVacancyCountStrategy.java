@@ -0,0 +1,61 @@
+package org.prof.it.soft.service.count;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.prof.it.soft.dto.filter.VacancyFilterDto;
+import org.prof.it.soft.entity.Vacancy;
+import org.prof.it.soft.spec.VacancyFilterKey;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Caches the exact count per normalized filter for a short time.
+ * Paging through the same filter counts the vacancies once,
+ * a total taken from the cache may be stale, so it is marked as not exact.
+ */
+@Component
+@RequiredArgsConstructor
+public class CachedVacancyCountStrategy implements VacancyCountStrategy {
+
+    private final ExactVacancyCountStrategy exactVacancyCountStrategy;
+
+    @Value("${vacancy.count.cache.max-size:1000}")
+    private long maxSize;
+
+    @Value("${vacancy.count.cache.ttl:30s}")
+    private Duration ttl;
+
+    private Cache<VacancyFilterKey, Long> counts;
+
+    @PostConstruct
+    public void init() {
+        this.counts = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    @Override
+    public VacancyFilterDto.CountMode getMode() {
+        return VacancyFilterDto.CountMode.CACHED;
+    }
+
+    @Override
+    public VacancyCount count(VacancyFilterDto vacancyFilterDto, Specification<Vacancy> specification) {
+        VacancyFilterKey key = VacancyFilterKey.of(vacancyFilterDto);
+
+        Long cached = counts.getIfPresent(key);
+        if (cached != null) {
+            return VacancyCount.approximate(cached);
+        }
+
+        VacancyCount count = exactVacancyCountStrategy.count(vacancyFilterDto, specification);
+        counts.put(key, count.total());
+        return count;
+    }
+}
@@ -0,0 +1,35 @@
+package org.prof.it.soft.service.count;
+
+import lombok.RequiredArgsConstructor;
+import org.prof.it.soft.dto.filter.VacancyFilterDto;
+import org.prof.it.soft.entity.Vacancy;
+import org.prof.it.soft.repo.VacancyRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+
+/**
+ * Counts the matching vacancies up to a limit, so the database stops scanning after the limit is reached.
+ * A larger total is reported as the limit and marked as not exact, clients show it as "10,000+".
+ */
+@Component
+@RequiredArgsConstructor
+public class CappedVacancyCountStrategy implements VacancyCountStrategy {
+
+    private final VacancyRepository vacancyRepository;
+
+    @Value("${vacancy.count.capped.limit:10000}")
+    private int limit;
+
+    @Override
+    public VacancyFilterDto.CountMode getMode() {
+        return VacancyFilterDto.CountMode.CAPPED;
+    }
+
+    @Override
+    public VacancyCount count(VacancyFilterDto vacancyFilterDto, Specification<Vacancy> specification) {
+        // one vacancy more than the limit tells whether the total exceeds it
+        long found = vacancyRepository.countUpTo(vacancyFilterDto, limit + 1L);
+        return found > limit ? VacancyCount.approximate(limit) : VacancyCount.exact(found);
+    }
+}
@@ -0,0 +1,65 @@
+package org.prof.it.soft.service.count;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.prof.it.soft.dto.filter.VacancyFilterDto;
+import org.prof.it.soft.entity.Vacancy;
+import org.prof.it.soft.spec.VacancyFilterSql;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Takes the row estimate of the PostgreSQL planner from {@code EXPLAIN} instead of counting the vacancies.
+ * The estimate costs a planning pass only, but it may be far from the real number for selective filters,
+ * so an estimate below the threshold is replaced with an exact count, which is cheap for few rows.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EstimateVacancyCountStrategy implements VacancyCountStrategy {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final ExactVacancyCountStrategy exactVacancyCountStrategy;
+
+    @Value("${vacancy.count.estimate.exact-threshold:1000}")
+    private long exactThreshold;
+
+    @Override
+    public VacancyFilterDto.CountMode getMode() {
+        return VacancyFilterDto.CountMode.ESTIMATE;
+    }
+
+    @Override
+    public VacancyCount count(VacancyFilterDto vacancyFilterDto, Specification<Vacancy> specification) {
+        VacancyFilterSql filterSql = VacancyFilterSql.of(vacancyFilterDto);
+        String plan = jdbcTemplate.queryForObject("EXPLAIN (FORMAT JSON) " + filterSql.selectIds(),
+                String.class, filterSql.getParameters().toArray());
+
+        long estimate = readPlanRows(plan);
+        if (estimate < exactThreshold) {
+            return exactVacancyCountStrategy.count(vacancyFilterDto, specification);
+        }
+        return VacancyCount.approximate(estimate);
+    }
+
+    /**
+     * Reads the estimated number of rows of the top plan node.
+     *
+     * @param plan the plan in the JSON format
+     * @return the estimated number of rows, or 0 if the plan cannot be read
+     */
+    private long readPlanRows(String plan) {
+        try {
+            JsonNode planRows = objectMapper.readTree(plan).path(0).path("Plan").path("Plan Rows");
+            return planRows.asLong(0);
+        } catch (Exception e) {
+            log.warn("Failed to read the row estimate from the plan", e);
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package org.prof.it.soft.service.count;
+
+import lombok.RequiredArgsConstructor;
+import org.prof.it.soft.dto.filter.VacancyFilterDto;
+import org.prof.it.soft.entity.Vacancy;
+import org.prof.it.soft.repo.VacancyRepository;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+
+/**
+ * Counts all matching vacancies with a {@code count} query.
+ */
+@Component
+@RequiredArgsConstructor
+public class ExactVacancyCountStrategy implements VacancyCountStrategy {
+
+    private final VacancyRepository vacancyRepository;
+
+    @Override
+    public VacancyFilterDto.CountMode getMode() {
+        return VacancyFilterDto.CountMode.EXACT;
+    }
+
+    @Override
+    public VacancyCount count(VacancyFilterDto vacancyFilterDto, Specification<Vacancy> specification) {
+        return VacancyCount.exact(vacancyRepository.count(specification));
+    }
+}
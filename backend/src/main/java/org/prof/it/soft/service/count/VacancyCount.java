@@ -0,0 +1,18 @@
+package org.prof.it.soft.service.count;
+
+/**
+ * The total number of vacancies that match a filter.
+ *
+ * @param total the total number of vacancies, a lower bound or an estimate if it is not exact
+ * @param exact true if the total is the exact number of vacancies at the moment of the request
+ */
+public record VacancyCount(long total, boolean exact) {
+
+    public static VacancyCount exact(long total) {
+        return new VacancyCount(total, true);
+    }
+
+    public static VacancyCount approximate(long total) {
+        return new VacancyCount(total, false);
+    }
+}
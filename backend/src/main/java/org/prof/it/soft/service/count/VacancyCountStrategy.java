@@ -0,0 +1,28 @@
+package org.prof.it.soft.service.count;
+
+import org.prof.it.soft.dto.filter.VacancyFilterDto;
+import org.prof.it.soft.entity.Vacancy;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Strategy for counting the vacancies that match a filter.
+ * The strategy is selected per request by {@link VacancyFilterDto#getCountMode()}.
+ *
+ * @see VacancyCounter
+ */
+public interface VacancyCountStrategy {
+
+    /**
+     * @return the count mode served by the strategy
+     */
+    VacancyFilterDto.CountMode getMode();
+
+    /**
+     * Counts the vacancies that match the filter.
+     *
+     * @param vacancyFilterDto the filter of the vacancies
+     * @param specification    the specification built from the filter
+     * @return the total number of vacancies and whether it is exact
+     */
+    VacancyCount count(VacancyFilterDto vacancyFilterDto, Specification<Vacancy> specification);
+}
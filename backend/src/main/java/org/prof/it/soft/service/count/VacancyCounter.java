@@ -0,0 +1,43 @@
+package org.prof.it.soft.service.count;
+
+import org.prof.it.soft.dto.filter.VacancyFilterDto;
+import org.prof.it.soft.entity.Vacancy;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Counts the vacancies with the strategy selected by the filter, {@link VacancyFilterDto.CountMode#EXACT} by default.
+ */
+@Component
+public class VacancyCounter {
+
+    private final Map<VacancyFilterDto.CountMode, VacancyCountStrategy> strategies =
+            new EnumMap<>(VacancyFilterDto.CountMode.class);
+
+    public VacancyCounter(List<VacancyCountStrategy> strategies) {
+        strategies.forEach(strategy -> this.strategies.put(strategy.getMode(), strategy));
+    }
+
+    /**
+     * Counts the vacancies that match the filter.
+     *
+     * @param vacancyFilterDto the filter of the vacancies
+     * @param specification    the specification built from the filter
+     * @return the total number of vacancies and whether it is exact
+     */
+    public VacancyCount count(VacancyFilterDto vacancyFilterDto, Specification<Vacancy> specification) {
+        VacancyFilterDto.CountMode mode = vacancyFilterDto.getCountMode() == null
+                ? VacancyFilterDto.CountMode.EXACT
+                : vacancyFilterDto.getCountMode();
+
+        VacancyCountStrategy strategy = strategies.get(mode);
+        if (strategy == null) {
+            throw new IllegalStateException(String.format("No count strategy for mode %s", mode));
+        }
+        return strategy.count(vacancyFilterDto, specification);
+    }
+}
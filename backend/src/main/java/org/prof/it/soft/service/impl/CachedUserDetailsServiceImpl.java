@@ -0,0 +1,124 @@
+package org.prof.it.soft.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.prof.it.soft.entity.security.Permission;
+import org.prof.it.soft.entity.security.User;
+import org.prof.it.soft.repo.UserRepository;
+import org.prof.it.soft.service.CachedUserDetailsService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+@Service
+@RequiredArgsConstructor
+public class CachedUserDetailsServiceImpl implements CachedUserDetailsService {
+
+    private final UserRepository userRepository;
+
+    @Value("${user-cache.enabled:false}")
+    private boolean enabled;
+
+    @Value("${user-cache.max-size:10000}")
+    private long maxSize;
+
+    @Value("${user-cache.expire-after-write:5m}")
+    private Duration expireAfterWrite;
+
+    private Cache<String, UserSnapshot> cache;
+
+    @PostConstruct
+    public void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(enabled ? maxSize : 0)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public User loadUserByUsername(String username) throws UsernameNotFoundException {
+        if (!enabled) {
+            return findByUsername(username);
+        }
+
+        return cache.get(username, key -> UserSnapshot.of(findByUsername(key))).toUser();
+    }
+
+    @Override
+    public void evict(String username) {
+        cache.invalidate(username);
+    }
+
+    @Override
+    public CacheStats getStats() {
+        return cache.stats();
+    }
+
+    private User findByUsername(String username) {
+        if (!StringUtils.hasText(username)) {
+            throw new UsernameNotFoundException("User not found");
+        }
+
+        return userRepository.findByUsername(username)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+    }
+
+    /**
+     * Immutable copy of the user state which is needed for authentication and authorization.
+     * The password is not kept, the cached users are never used to check credentials.
+     */
+    private record UserSnapshot(Long id,
+                                String username,
+                                boolean accountNonExpired,
+                                boolean accountNonLocked,
+                                boolean credentialsNonExpired,
+                                boolean enabled,
+                                Set<Permission> permissions,
+                                LocalDateTime createdAt,
+                                LocalDateTime updatedAt) {
+
+        static UserSnapshot of(User user) {
+            Set<Permission> permissions = EnumSet.noneOf(Permission.class);
+            if (user.getPermissions() != null) {
+                permissions.addAll(user.getPermissions());
+            }
+
+            return new UserSnapshot(
+                    user.getId(),
+                    user.getUsername(),
+                    user.isAccountNonExpired(),
+                    user.isAccountNonLocked(),
+                    user.isCredentialsNonExpired(),
+                    user.isEnabled(),
+                    Collections.unmodifiableSet(permissions),
+                    user.getCreatedAt(),
+                    user.getUpdatedAt()
+            );
+        }
+
+        User toUser() {
+            return User.builder()
+                    .id(id)
+                    .username(username)
+                    .accountNonExpired(accountNonExpired)
+                    .accountNonLocked(accountNonLocked)
+                    .credentialsNonExpired(credentialsNonExpired)
+                    .enabled(enabled)
+                    .permissions(permissions)
+                    .createdAt(createdAt)
+                    .updatedAt(updatedAt)
+                    .build();
+        }
+    }
+}
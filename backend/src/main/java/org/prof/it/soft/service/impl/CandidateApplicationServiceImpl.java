@@ -1,52 +1,58 @@
 package org.prof.it.soft.service.impl;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.prof.it.soft.dto.response.CandidateApplicationResponseDto;
 import org.prof.it.soft.dto.response.CreatingCandidateApplicationResponseDto;
-import org.prof.it.soft.entity.CandidateApplication;
-import org.prof.it.soft.entity.Person;
-import org.prof.it.soft.entity.Vacancy;
 import org.prof.it.soft.entity.security.User;
 import org.prof.it.soft.exception.NotFoundException;
+import org.prof.it.soft.mapper.CandidateApplicationMapper;
 import org.prof.it.soft.repo.CandidateApplicationRepository;
 import org.prof.it.soft.repo.PersonRepository;
-import org.prof.it.soft.repo.VacancyRepository;
 import org.prof.it.soft.service.CandidateApplicationService;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
+import java.util.Optional;
+
 @Service
 @RequiredArgsConstructor
 public class CandidateApplicationServiceImpl implements CandidateApplicationService {
 
-    protected final VacancyRepository vacancyRepository;
     protected final PersonRepository personRepository;
     protected final CandidateApplicationRepository candidateApplicationRepository;
-    protected final ModelMapper modelMapper;
+    protected final CandidateApplicationMapper candidateApplicationMapper;
 
+    /**
+     * Creates the application of the candidate for the vacancy.
+     * The application is inserted with a single statement which does nothing when the candidate has already applied,
+     * so concurrent requests of the same candidate create one application. The candidate and the vacancy
+     * are only looked up when nothing was inserted, to tell an existing application from a missing entity.
+     *
+     * @param vacancyId the id of the vacancy
+     * @param user      the candidate
+     * @return the created application, or a message if the candidate has already applied for the vacancy
+     */
     @Override
+    @Timed(value = "jobify.service", histogram = true)
     public CreatingCandidateApplicationResponseDto createCandidateApplication(Long vacancyId, User user) {
-        Person person = personRepository.findById(user.getId())
-                .orElseThrow(() -> new NotFoundException("Person with id " + user.getId() + " not found"));
+        Optional<Long> applicationId = candidateApplicationRepository.insertIfAbsent(user.getId(), vacancyId);
 
-        if (candidateApplicationRepository.existsByPersonIdAndVacancyId(person.getId(), vacancyId)) {
-            return CreatingCandidateApplicationResponseDto.builder()
-                    .message("Application has been already created")
-                    .build();
+        if (applicationId.isEmpty()) {
+            if (candidateApplicationRepository.existsByPersonIdAndVacancyId(user.getId(), vacancyId)) {
+                return CreatingCandidateApplicationResponseDto.builder()
+                        .message("Application has been already created")
+                        .build();
+            }
+            if (!personRepository.existsById(user.getId())) {
+                throw new NotFoundException("Person with id " + user.getId() + " not found");
+            }
+            throw new NotFoundException("Vacancy with id " + vacancyId + " not found");
         }
 
-        Vacancy vacancy = getVacancyById(vacancyId);
-
-        CandidateApplication application = new CandidateApplication();
-        application.setVacancy(vacancy);
-        application.setPerson(person);
-
-        CandidateApplication savedApplication = candidateApplicationRepository.saveAndFlush(application);
-
         return CreatingCandidateApplicationResponseDto.builder()
-                .candidateApplicationId(savedApplication.getId())
+                .candidateApplicationId(applicationId.get())
                 .candidateId(user.getId())
                 .vacancyId(vacancyId)
                 .message("Application created successfully")
@@ -56,24 +62,19 @@ public class CandidateApplicationServiceImpl implements CandidateApplicationServ
     @Override
     public Page<CandidateApplicationResponseDto> getCandidateApplicationsByVacancyId(Long vacancyId, Long page) {
         return candidateApplicationRepository.findByVacancyId(vacancyId, PageRequest.of(page.intValue(), 10))
-                .map(candidateApplication -> modelMapper.map(candidateApplication, CandidateApplicationResponseDto.class));
+                .map(candidateApplicationMapper::toResponseDto);
 
     }
 
     @Override
     public Page<CandidateApplicationResponseDto> getCandidateApplicationsByPersonId(Long personId, Long page) {
         return candidateApplicationRepository.findByPersonId(personId, PageRequest.of(page.intValue(), 10))
-                .map(candidateApplication -> modelMapper.map(candidateApplication, CandidateApplicationResponseDto.class));
+                .map(candidateApplicationMapper::toResponseDto);
     }
 
     @Override
     public Page<CandidateApplicationResponseDto> getCandidateApplicationsByRecruiterId(Long recruiterId, Long page) {
         return candidateApplicationRepository.findByRecruiterId(recruiterId, PageRequest.of(page.intValue(), 10))
-                .map(candidateApplication -> modelMapper.map(candidateApplication, CandidateApplicationResponseDto.class));
-    }
-
-    private Vacancy getVacancyById(Long vacancyId) {
-        return vacancyRepository.findById(vacancyId)
-                .orElseThrow(() -> new NotFoundException("Vacancy with id " + vacancyId + " not found"));
+                .map(candidateApplicationMapper::toResponseDto);
     }
 }
@@ -1,13 +1,19 @@
 package org.prof.it.soft.service.impl;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
-import lombok.AllArgsConstructor;
+import jakarta.annotation.PostConstruct;
 import lombok.Builder;
 import lombok.NoArgsConstructor;
 import org.prof.it.soft.dto.security.response.JwtTokenResponseDto;
+import org.prof.it.soft.entity.security.Permission;
 import org.prof.it.soft.entity.security.User;
 import org.prof.it.soft.service.JwtService;
 import org.springframework.beans.factory.annotation.Value;
@@ -15,24 +21,95 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.time.ZoneId;
+import java.util.Base64;
+import java.util.Collection;
 import java.util.Date;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 import java.util.function.Function;
 
 @Service
-@Builder
-@AllArgsConstructor
 @NoArgsConstructor
 public class JwtServiceImpl implements JwtService {
 
+    /**
+     * The default maximum number of verified tokens kept in the claims cache.
+     */
+    public static final long DEFAULT_CLAIMS_CACHE_MAX_SIZE = 10_000L;
+
     @Value("${token.signing.key}")
     private String jwtSigningKey;
 
     @Value("${token.expiration.time}")
     private Integer jwtExpirationInMs;
 
+    @Value("${token.claims-cache.max-size:" + DEFAULT_CLAIMS_CACHE_MAX_SIZE + "}")
+    private Long claimsCacheMaxSize;
+
+    /**
+     * The signing key decoded once from {@link #jwtSigningKey}.
+     */
+    private SecretKey signingKey;
+
+    /**
+     * The parser reused for every token, it is thread-safe and immutable.
+     */
+    private JwtParser jwtParser;
+
+    /**
+     * Claims of tokens whose signature was already verified,
+     * keyed by the SHA-256 hash of the token and evicted when the token expires.
+     */
+    private Cache<String, Claims> claimsCache;
+
+    @Builder
+    public JwtServiceImpl(String jwtSigningKey, Integer jwtExpirationInMs, Long claimsCacheMaxSize) {
+        this.jwtSigningKey = jwtSigningKey;
+        this.jwtExpirationInMs = jwtExpirationInMs;
+        this.claimsCacheMaxSize = claimsCacheMaxSize;
+        init();
+    }
+
+    /**
+     * Decodes the signing key and builds the parser and the claims cache.
+     * Called by Spring after the properties are injected, or by the builder.
+     */
+    @PostConstruct
+    public void init() {
+        this.signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSigningKey));
+        this.jwtParser = Jwts.parser()
+                .verifyWith(signingKey)
+                .clockSkewSeconds(Long.MAX_VALUE / 1000)
+                .build();
+        this.claimsCache = Caffeine.newBuilder()
+                .maximumSize(claimsCacheMaxSize == null ? DEFAULT_CLAIMS_CACHE_MAX_SIZE : claimsCacheMaxSize)
+                .expireAfter(new Expiry<String, Claims>() {
+                    @Override
+                    public long expireAfterCreate(String tokenHash, Claims claims, long currentTime) {
+                        return timeToLive(claims).toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String tokenHash, Claims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String tokenHash, Claims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+    }
+
     /**
      * Extracts the username from the token.
      *
@@ -84,6 +161,44 @@ public class JwtServiceImpl implements JwtService {
         return (userName.equals(userDetails.getUsername())) && !isTokenExpired(token);
     }
 
+    /**
+     * Rebuilds the user from the claims written by {@link #generateToken(UserDetails)}.
+     * The user has no password, it must not be saved to the database.
+     *
+     * @param token the JWT token
+     * @return the user with id, username and permissions from the token
+     */
+    @Override
+    public User extractUser(String token) {
+        Claims claims = extractAllClaims(token);
+
+        Number id = claims.get("id", Number.class);
+        Set<Permission> permissions = EnumSet.noneOf(Permission.class);
+        if (claims.get("permissions") instanceof Collection<?> permissionNames) {
+            permissionNames.forEach(permission -> permissions.add(Permission.valueOf(permission.toString())));
+        }
+
+        return User.builder()
+                .id(id == null ? null : id.longValue())
+                .username(claims.getSubject())
+                .permissions(permissions)
+                .accountNonExpired(true)
+                .accountNonLocked(true)
+                .credentialsNonExpired(true)
+                .enabled(true)
+                .build();
+    }
+
+    @Override
+    public CacheStats getClaimsCacheStats() {
+        return claimsCache.stats();
+    }
+
+    @Override
+    public long getClaimsCacheSize() {
+        return claimsCache.estimatedSize();
+    }
+
     /**
      * Extracts a specific claim from the token.
      *
@@ -110,7 +225,7 @@ public class JwtServiceImpl implements JwtService {
                 .subject(userDetails.getUsername())
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + jwtExpirationInMs))
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
@@ -134,28 +249,57 @@ public class JwtServiceImpl implements JwtService {
         return extractClaim(token, Claims::getExpiration);
     }
 
+    /**
+     * Extracts the issue date from the token.
+     *
+     * @param token the JWT token
+     * @return the issue date
+     */
+    public Date extractIssuedAt(String token) {
+        return extractClaim(token, Claims::getIssuedAt);
+    }
+
     /**
      * Extracts all claims from the token.
+     * The signature is verified only on a cache miss,
+     * subsequent calls with the same token reuse the verified claims until the token expires.
      *
      * @param token the JWT token
      * @return the claims
      */
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .clockSkewSeconds(Long.MAX_VALUE / 1000)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return claimsCache.get(hash(token), tokenHash -> jwtParser.parseSignedClaims(token).getPayload());
+    }
+
+    /**
+     * Calculates how long the claims may stay in the cache.
+     * Expired tokens are still parsed, but they are not kept in the cache.
+     *
+     * @param claims the verified claims
+     * @return the time left until the token expires
+     */
+    private static Duration timeToLive(Claims claims) {
+        Date expiration = claims.getExpiration();
+        if (expiration == null) {
+            return Duration.ZERO;
+        }
+
+        long millisLeft = expiration.getTime() - System.currentTimeMillis();
+        return millisLeft > 0 ? Duration.ofMillis(millisLeft) : Duration.ZERO;
     }
 
     /**
-     * Retrieves the signing key for the token.
+     * Hashes the token, so raw bearer tokens are never retained as cache keys.
      *
-     * @return the signing key
+     * @param token the JWT token
+     * @return the Base64 encoded SHA-256 hash of the token
      */
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(jwtSigningKey);
-        return Keys.hmacShaKeyFor(keyBytes);
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(digest.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported", e);
+        }
     }
-}
\ No newline at end of file
+}
@@ -30,7 +30,6 @@ public class ProfileServiceImpl implements ProfileService {
         Person mappedPersonFromDto = modelMapper.map(profileRequestDto.getPerson(), Person.class);
         Person person = personRepository.getReferenceById(currentUser.getId());
 
-        person.setPermissions(new HashSet<>(currentUser.getPermissions()));
         person.setFirstName(mappedPersonFromDto.getFirstName());
         person.setLastName(mappedPersonFromDto.getLastName());
         personRepository.saveAndFlush(person);
@@ -0,0 +1,219 @@
+package org.prof.it.soft.service.impl;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.prof.it.soft.dto.filter.VacancyFilterDto;
+import org.prof.it.soft.dto.response.ReportJobResponseDto;
+import org.prof.it.soft.exception.NotFoundException;
+import org.prof.it.soft.exception.ReportNotReadyException;
+import org.prof.it.soft.exception.TooManyReportJobsException;
+import org.prof.it.soft.service.ReportJobService;
+import org.prof.it.soft.service.VacancyService;
+import org.prof.it.soft.service.report.ReportFile;
+import org.prof.it.soft.service.report.ReportFormat;
+import org.prof.it.soft.service.report.ReportJob;
+import org.prof.it.soft.service.report.ReportJobStatus;
+import org.prof.it.soft.spec.VacancyFilterKey;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReportJobServiceImpl implements ReportJobService {
+
+    /**
+     * The path of the report job endpoints.
+     */
+    public static final String REPORT_JOBS_PATH = "/api/v1/vacancy/_report/jobs/";
+
+    private final VacancyService vacancyService;
+
+    /**
+     * The directory the reports are written to.
+     */
+    @Value("${report.jobs.spool-dir:${java.io.tmpdir}/jobify-reports}")
+    private Path spoolDir;
+
+    /**
+     * The number of reports generated at the same time.
+     */
+    @Value("${report.jobs.concurrency:2}")
+    private int concurrency;
+
+    /**
+     * The number of reports waiting for a free worker, further jobs are rejected.
+     */
+    @Value("${report.jobs.queue-capacity:20}")
+    private int queueCapacity;
+
+    /**
+     * How long a finished job and its report are kept.
+     */
+    @Value("${report.jobs.ttl:1h}")
+    private Duration ttl;
+
+    private final Map<UUID, ReportJob> jobs = new ConcurrentHashMap<>();
+    private final Map<ReportJob.Key, ReportJob> jobsByKey = new ConcurrentHashMap<>();
+
+    private ThreadPoolExecutor executor;
+
+    /**
+     * Prepares the spool directory and starts the report workers.
+     * The jobs are kept in memory, so reports left by a previous run cannot be downloaded and are deleted.
+     */
+    @PostConstruct
+    public void init() throws IOException {
+        Files.createDirectories(spoolDir);
+        try (Stream<Path> files = Files.list(spoolDir)) {
+            files.forEach(this::deleteQuietly);
+        }
+
+        this.executor = new ThreadPoolExecutor(concurrency, concurrency, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("report-"));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public synchronized ReportJobResponseDto submit(VacancyFilterDto vacancyFilterDto, ReportFormat format) {
+        ReportJob.Key key = new ReportJob.Key(VacancyFilterKey.of(vacancyFilterDto), format);
+
+        // a finished report may miss the vacancies changed since, so only the reports still to be written are shared
+        ReportJob existingJob = jobsByKey.get(key);
+        if (existingJob != null && !existingJob.getStatus().isFinished()) {
+            log.debug("Report job[id={}] reused for an identical report", existingJob.getId());
+            return toResponseDto(existingJob);
+        }
+
+        UUID jobId = UUID.randomUUID();
+        ReportJob job = new ReportJob(jobId, key, spoolDir.resolve(jobId + "." + format.getExtension()), Instant.now());
+        try {
+            executor.execute(() -> generate(job, vacancyFilterDto));
+        } catch (RejectedExecutionException e) {
+            throw new TooManyReportJobsException("Too many reports are being generated, try again later");
+        }
+
+        jobs.put(jobId, job);
+        jobsByKey.put(key, job);
+        log.info("Report job[id={}, format={}] submitted", jobId, format);
+        return toResponseDto(job);
+    }
+
+    @Override
+    public ReportJobResponseDto getJob(UUID jobId) {
+        return toResponseDto(getReportJob(jobId));
+    }
+
+    @Override
+    public ReportFile getReportFile(UUID jobId) {
+        ReportJob job = getReportJob(jobId);
+        if (job.getStatus() == ReportJobStatus.FAILED) {
+            throw new ReportNotReadyException(String.format("Report job with id %s failed", jobId));
+        }
+        if (job.getStatus() != ReportJobStatus.DONE) {
+            throw new ReportNotReadyException(String.format("Report job with id %s is not finished yet", jobId));
+        }
+
+        return new ReportFile(new FileSystemResource(job.getFile()),
+                "vacancies_" + job.getCreatedAt() + "." + job.getFormat().getExtension(),
+                job.getFormat().getMediaType());
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${report.jobs.cleanup-interval:PT5M}")
+    public synchronized void removeExpiredJobs() {
+        Instant expiredBefore = Instant.now().minus(ttl);
+
+        jobs.values().removeIf(job -> {
+            if (!job.getStatus().isFinished() || job.getFinishedAt().isAfter(expiredBefore)) {
+                return false;
+            }
+
+            jobsByKey.remove(job.getKey(), job);
+            deleteQuietly(job.getFile());
+            log.info("Report job[id={}] expired and removed", job.getId());
+            return true;
+        });
+    }
+
+    /**
+     * Generates the report of the job, it is run by a report worker.
+     * The report is written to a temporary file first, so a partially written report is never downloaded.
+     *
+     * @param job              the job to run
+     * @param vacancyFilterDto the filter for generating the report
+     */
+    private void generate(ReportJob job, VacancyFilterDto vacancyFilterDto) {
+        job.markRunning();
+        Path partFile = job.getFile().resolveSibling(job.getFile().getFileName() + ".part");
+
+        try {
+            try (OutputStream outputStream = new BufferedOutputStream(Files.newOutputStream(partFile))) {
+                vacancyService.generateReport(vacancyFilterDto, job.getFormat(), outputStream);
+            }
+            Files.move(partFile, job.getFile(), StandardCopyOption.REPLACE_EXISTING);
+
+            job.markDone(Instant.now());
+            log.info("Report job[id={}] finished successfully", job.getId());
+        } catch (Exception e) {
+            deleteQuietly(partFile);
+            job.markFailed(Instant.now(), "Report generation failed");
+            log.error("Report job[id={}] failed", job.getId(), e);
+        }
+    }
+
+    private ReportJob getReportJob(UUID jobId) {
+        ReportJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new NotFoundException(String.format("Report job with id %s not found", jobId));
+        }
+        return job;
+    }
+
+    private ReportJobResponseDto toResponseDto(ReportJob job) {
+        return ReportJobResponseDto.builder()
+                .jobId(job.getId())
+                .status(job.getStatus())
+                .format(job.getFormat())
+                .createdAt(job.getCreatedAt())
+                .finishedAt(job.getFinishedAt())
+                .expiresAt(job.getFinishedAt() == null ? null : job.getFinishedAt().plus(ttl))
+                .downloadUrl(job.getStatus() == ReportJobStatus.DONE ? REPORT_JOBS_PATH + job.getId() + "/file" : null)
+                .error(job.getError())
+                .build();
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Failed to delete report file {}", file, e);
+        }
+    }
+}
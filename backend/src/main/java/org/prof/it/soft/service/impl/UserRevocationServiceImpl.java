@@ -0,0 +1,87 @@
+package org.prof.it.soft.service.impl;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.prof.it.soft.repo.UserRepository;
+import org.prof.it.soft.service.UserRevocationService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserRevocationServiceImpl implements UserRevocationService {
+
+    private final UserRepository userRepository;
+
+    /**
+     * The lifetime of a token, revocations older than it can be forgotten
+     * because every token issued before them has already expired.
+     */
+    @Value("${token.expiration.time}")
+    private Integer jwtExpirationInMs;
+
+    private final Set<String> lockedUsernames = ConcurrentHashMap.newKeySet();
+
+    private final Map<String, Instant> revokedBefore = new ConcurrentHashMap<>();
+
+    /**
+     * Loads the users which are already locked or disabled in the database.
+     */
+    @PostConstruct
+    public void loadLockedUsers() {
+        lockedUsernames.addAll(userRepository.findAllLockedUsernames());
+        log.info("{} locked users loaded for token revocation", lockedUsernames.size());
+    }
+
+    @Override
+    public void lock(String username) {
+        lockedUsernames.add(username);
+    }
+
+    @Override
+    public void unlock(String username) {
+        lockedUsernames.remove(username);
+    }
+
+    /**
+     * {@inheritDoc}
+     * The issue date of a token has a precision of seconds, so the revocation is kept in seconds as well.
+     */
+    @Override
+    public void revokeIssuedTokens(String username) {
+        revokedBefore.put(username, Instant.now().truncatedTo(ChronoUnit.SECONDS));
+    }
+
+    /**
+     * {@inheritDoc}
+     * A token issued within the second of the revocation is accepted, so the token of a user logging in again
+     * right after the revocation is valid, at the cost of accepting a token issued earlier in that second.
+     */
+    @Override
+    public boolean isRevoked(String username, Date issuedAt) {
+        if (lockedUsernames.contains(username)) {
+            return true;
+        }
+
+        Instant revokedAt = revokedBefore.get(username);
+        if (revokedAt == null) {
+            return false;
+        }
+
+        if (revokedAt.plusMillis(jwtExpirationInMs).isBefore(Instant.now())) {
+            revokedBefore.remove(username, revokedAt);
+            return false;
+        }
+
+        return issuedAt == null || issuedAt.toInstant().isBefore(revokedAt);
+    }
+}
@@ -1,5 +1,6 @@
 package org.prof.it.soft.service.impl;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.hibernate.proxy.HibernateProxy;
 import org.prof.it.soft.dto.response.ProfileResponseDto;
@@ -12,8 +13,10 @@ import org.prof.it.soft.entity.Recruiter;
 import org.prof.it.soft.entity.security.Permission;
 import org.prof.it.soft.entity.security.User;
 import org.prof.it.soft.repo.UserRepository;
+import org.prof.it.soft.service.CachedUserDetailsService;
 import org.prof.it.soft.service.JwtService;
 import org.prof.it.soft.service.ProfileService;
+import org.prof.it.soft.service.UserRevocationService;
 import org.prof.it.soft.service.UserService;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -21,8 +24,10 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
@@ -32,8 +37,11 @@ public class UserServiceImpl implements UserService {
     private final ProfileService profileService;
     private final JwtService jwtService;
     private final PasswordEncoder passwordEncoder;
+    private final UserRevocationService userRevocationService;
+    private final CachedUserDetailsService cachedUserDetailsService;
 
     @Override
+    @Timed(value = "jobify.service", histogram = true)
     public JwtTokenResponseDto login(LoginRequestDto loginRequestDto) {
         User user = loadUserByUsername(loginRequestDto.getUsername());
 
@@ -111,7 +119,9 @@ public class UserServiceImpl implements UserService {
             throw new UsernameNotFoundException("User ID cannot be null");
         }
 
-        return userRepository.saveAndFlush(user);
+        User updatedUser = userRepository.saveAndFlush(user);
+        cachedUserDetailsService.evict(updatedUser.getUsername());
+        return updatedUser;
     }
 
     @Override
@@ -119,6 +129,7 @@ public class UserServiceImpl implements UserService {
         User user = loadUserByUsername(username);
         user.setAccountNonLocked(false);
         update(user);
+        userRevocationService.lock(username);
     }
 
     @Override
@@ -126,6 +137,7 @@ public class UserServiceImpl implements UserService {
         User user = loadUserByUsername(username);
         user.setAccountNonLocked(true);
         update(user);
+        userRevocationService.unlock(username);
     }
 
     @Override
@@ -133,6 +145,7 @@ public class UserServiceImpl implements UserService {
         User user = loadUserByUsername(username);
         user.setPassword(password);
         update(user);
+        userRevocationService.revokeIssuedTokens(username);
     }
 
     @Override
@@ -140,6 +153,7 @@ public class UserServiceImpl implements UserService {
         User user = loadUserByUsername(username);
         user.getAuthorities().removeAll(List.of(permission));
         update(user);
+        userRevocationService.revokeIssuedTokens(username);
     }
 
     @Override
@@ -147,6 +161,15 @@ public class UserServiceImpl implements UserService {
         User user = loadUserByUsername(username);
         user.getAuthorities().addAll(List.of(permission));
         update(user);
+        userRevocationService.revokeIssuedTokens(username);
+    }
+
+    @Override
+    public void setPermissions(String username, Set<Permission> permissions) {
+        User user = loadUserByUsername(username);
+        user.setPermissions(new HashSet<>(permissions));
+        update(user);
+        userRevocationService.revokeIssuedTokens(username);
     }
 
     @Override
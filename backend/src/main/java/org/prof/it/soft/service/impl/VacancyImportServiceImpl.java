@@ -0,0 +1,285 @@
+package org.prof.it.soft.service.impl;
+
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.prof.it.soft.dto.request.VacancyRequestDto;
+import org.prof.it.soft.dto.response.VacancyImportResponseDto;
+import org.prof.it.soft.entity.Vacancy;
+import org.prof.it.soft.exception.InvalidImportFileException;
+import org.prof.it.soft.exception.UploadingFileException;
+import org.prof.it.soft.mapper.VacancyMapper;
+import org.prof.it.soft.repo.RecruiterRepository;
+import org.prof.it.soft.repo.VacancyRepository;
+import org.prof.it.soft.service.VacancyImportService;
+import org.prof.it.soft.service.imports.VacancyImportReader;
+import org.prof.it.soft.service.imports.VacancyImportRow;
+import org.prof.it.soft.service.report.ReportFormat;
+import org.prof.it.soft.service.search.VacancySearchEngine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class VacancyImportServiceImpl implements VacancyImportService {
+
+    private final List<VacancyImportReader> vacancyImportReaders;
+    private final VacancyRepository vacancyRepository;
+    private final RecruiterRepository recruiterRepository;
+    private final VacancyMapper vacancyMapper;
+    private final VacancySearchEngine vacancySearchEngine;
+    private final Validator validator;
+    private final PlatformTransactionManager transactionManager;
+    private final EntityManager entityManager;
+
+    /**
+     * The number of rows saved in one transaction, the saved vacancies are detached after every chunk.
+     */
+    @Value("${vacancy.import.chunk-size:1000}")
+    private int chunkSize;
+
+    /**
+     * The number of row errors returned, further failed rows are only counted.
+     */
+    @Value("${vacancy.import.max-errors:1000}")
+    private int maxErrors;
+
+    /**
+     * Imports the vacancies of a file.
+     * The file is copied to a temporary file and read row by row, the valid rows are saved in chunks,
+     * every chunk in its own transaction with JDBC batches. Only a chunk of rows and the reported errors
+     * are kept in memory, so the memory usage does not depend on the size of the file.
+     * A chunk which cannot be saved is reported as failed, the chunks saved before it are kept.
+     *
+     * @param inputStream the content of the file, it is not closed
+     * @param format      the format of the file, XLSX or CSV
+     * @return the numbers of imported and failed rows and the errors of the failed rows
+     */
+    @Override
+    @Timed(value = "jobify.service", histogram = true)
+    public VacancyImportResponseDto importVacancies(InputStream inputStream, ReportFormat format) {
+        VacancyImportReader importReader = vacancyImportReaders.stream()
+                .filter(reader -> reader.getFormat() == format)
+                .findFirst()
+                .orElseThrow(() -> new InvalidImportFileException(String.format("Import format %s is not supported", format)));
+
+        long start = System.nanoTime();
+        Path file = null;
+        try {
+            // an Excel workbook is a zip file whose directory is at its end, so the file is read from the disk
+            file = Files.createTempFile("vacancy-import-", "." + format.getExtension());
+            Files.copy(inputStream, file, StandardCopyOption.REPLACE_EXISTING);
+
+            VacancyImport vacancyImport = new VacancyImport(new TransactionTemplate(transactionManager));
+            importReader.read(file, vacancyImport::add);
+            vacancyImport.saveChunk();
+
+            if (vacancyImport.importedRows > 0) {
+                // one rebuild instead of a refresh per vacancy, it does nothing if the index is disabled
+                vacancySearchEngine.rebuild();
+            }
+            log.info("Vacancy import of {} rows finished in {} ms: {} imported, {} failed", vacancyImport.totalRows,
+                    (System.nanoTime() - start) / 1_000_000, vacancyImport.importedRows, vacancyImport.failedRows);
+            return vacancyImport.toResponseDto();
+        } catch (IOException e) {
+            throw new UploadingFileException("The imported file could not be read", e);
+        } finally {
+            deleteQuietly(file);
+        }
+    }
+
+    private void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Temporary import file {} was not deleted", file, e);
+        }
+    }
+
+    /**
+     * The state of one import: the chunk of valid rows waiting to be saved, the known recruiters and the errors.
+     */
+    private class VacancyImport {
+
+        private final TransactionTemplate transactionTemplate;
+        private final List<ValidRow> chunk = new ArrayList<>();
+        private final Set<Long> existingRecruiterIds = new HashSet<>();
+        private final List<VacancyImportResponseDto.RowError> errors = new ArrayList<>();
+        private long totalRows;
+        private long importedRows;
+        private long failedRows;
+        private boolean errorsTruncated;
+
+        VacancyImport(TransactionTemplate transactionTemplate) {
+            this.transactionTemplate = transactionTemplate;
+        }
+
+        /**
+         * Validates a row with the rules of a saved vacancy and adds it to the chunk if it is valid.
+         *
+         * @param row the row of the file
+         */
+        void add(VacancyImportRow row) {
+            totalRows++;
+
+            // the position violates both of its constraints when it is missing, the errors are reported once
+            Set<String> rowErrors = new LinkedHashSet<>();
+            Set<String> unparsableProperties = new HashSet<>();
+
+            Float salary = null;
+            if (row.salary() != null) {
+                try {
+                    salary = Float.parseFloat(row.salary());
+                } catch (NumberFormatException e) {
+                    rowErrors.add("Salary must be a number");
+                    unparsableProperties.add("salary");
+                }
+            }
+
+            Long recruiterId = null;
+            if (row.recruiterId() != null) {
+                try {
+                    recruiterId = Long.parseLong(row.recruiterId());
+                } catch (NumberFormatException e) {
+                    rowErrors.add("Recruiter id must be a number");
+                    unparsableProperties.add("recruiterUserId");
+                }
+            }
+
+            VacancyRequestDto vacancyDto = new VacancyRequestDto(row.position(), salary,
+                    parseTechnologyStack(row.technologyStack()), recruiterId);
+            for (ConstraintViolation<VacancyRequestDto> violation : validator.validate(vacancyDto, VacancyRequestDto.Save.class)) {
+                if (!unparsableProperties.contains(violation.getPropertyPath().toString())) {
+                    rowErrors.add(violation.getMessage());
+                }
+            }
+
+            if (!rowErrors.isEmpty()) {
+                fail(row.rowNumber(), List.copyOf(rowErrors));
+                return;
+            }
+
+            chunk.add(new ValidRow(row.rowNumber(), vacancyDto));
+            if (chunk.size() >= chunkSize) {
+                saveChunk();
+            }
+        }
+
+        /**
+         * Saves the valid rows of the chunk whose recruiters exist and clears the chunk.
+         */
+        void saveChunk() {
+            if (chunk.isEmpty()) {
+                return;
+            }
+
+            Set<Long> unknownRecruiterIds = chunk.stream()
+                    .map(row -> row.vacancyDto().getRecruiterUserId())
+                    .filter(recruiterId -> !existingRecruiterIds.contains(recruiterId))
+                    .collect(Collectors.toSet());
+            if (!unknownRecruiterIds.isEmpty()) {
+                existingRecruiterIds.addAll(recruiterRepository.findExistingIds(unknownRecruiterIds));
+            }
+
+            List<ValidRow> savedRows = new ArrayList<>(chunk.size());
+            for (ValidRow row : chunk) {
+                Long recruiterId = row.vacancyDto().getRecruiterUserId();
+                if (existingRecruiterIds.contains(recruiterId)) {
+                    savedRows.add(row);
+                } else {
+                    fail(row.rowNumber(), List.of(String.format("Recruiter with id %d not found", recruiterId)));
+                }
+            }
+            chunk.clear();
+
+            if (savedRows.isEmpty()) {
+                return;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    vacancyRepository.saveAllAndFlush(savedRows.stream()
+                            .map(row -> {
+                                Vacancy vacancy = vacancyMapper.toEntity(row.vacancyDto());
+                                vacancy.setRecruiter(recruiterRepository.getReferenceById(row.vacancyDto().getRecruiterUserId()));
+                                return vacancy;
+                            })
+                            .toList());
+                    // the session of the request outlives the chunk, the saved vacancies are not needed anymore
+                    entityManager.clear();
+                });
+                importedRows += savedRows.size();
+            } catch (DataAccessException | PersistenceException | TransactionException e) {
+                entityManager.clear();
+                log.warn("Vacancy import chunk of rows {}-{} was not saved", savedRows.get(0).rowNumber(),
+                        savedRows.get(savedRows.size() - 1).rowNumber(), e);
+                savedRows.forEach(row -> fail(row.rowNumber(), List.of("The row could not be saved")));
+            }
+        }
+
+        private void fail(long rowNumber, List<String> rowErrors) {
+            failedRows++;
+            if (errors.size() < maxErrors) {
+                errors.add(new VacancyImportResponseDto.RowError(rowNumber, rowErrors));
+            } else {
+                errorsTruncated = true;
+            }
+        }
+
+        VacancyImportResponseDto toResponseDto() {
+            // the rows of unknown recruiters are reported when their chunk is saved, after the rows following them
+            errors.sort(Comparator.comparingLong(VacancyImportResponseDto.RowError::row));
+            return VacancyImportResponseDto.builder()
+                    .totalRows(totalRows)
+                    .importedRows(importedRows)
+                    .failedRows(failedRows)
+                    .errorsTruncated(errorsTruncated)
+                    .errors(errors)
+                    .build();
+        }
+    }
+
+    /**
+     * Splits the technology stack cell, the report joins the technologies with commas.
+     *
+     * @param technologyStack the technology stack cell, may be null
+     * @return the technologies
+     */
+    private static List<String> parseTechnologyStack(String technologyStack) {
+        if (technologyStack == null) {
+            return new ArrayList<>();
+        }
+        return Arrays.stream(technologyStack.split(","))
+                .map(String::trim)
+                .filter(technology -> !technology.isEmpty())
+                .collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    private record ValidRow(long rowNumber, VacancyRequestDto vacancyDto) {
+    }
+}
@@ -1,36 +1,51 @@
 package org.prof.it.soft.service.impl;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.poi.ss.usermodel.Row;
-import org.apache.poi.xssf.usermodel.XSSFSheet;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
-import org.modelmapper.ModelMapper;
+import org.hibernate.Hibernate;
+import org.hibernate.exception.ConstraintViolationException;
 import org.prof.it.soft.dto.filter.VacancyFilterDto;
+import org.prof.it.soft.dto.report.VacancyReportRow;
 import org.prof.it.soft.dto.request.VacancyRequestDto;
+import org.prof.it.soft.dto.response.VacancyPageResponseDto;
 import org.prof.it.soft.dto.response.VacancyResponseDto;
+import org.prof.it.soft.dto.response.VacancySliceResponseDto;
 import org.prof.it.soft.entity.Recruiter;
 import org.prof.it.soft.entity.Vacancy;
 import org.prof.it.soft.entity.security.User;
 import org.prof.it.soft.exception.NotFoundException;
+import org.prof.it.soft.mapper.VacancyMapper;
 import org.prof.it.soft.repo.CandidateApplicationRepository;
 import org.prof.it.soft.repo.RecruiterRepository;
 import org.prof.it.soft.repo.VacancyRepository;
 import org.prof.it.soft.service.VacancyService;
+import org.prof.it.soft.service.count.VacancyCount;
+import org.prof.it.soft.service.count.VacancyCounter;
+import org.prof.it.soft.service.report.ReportFormat;
+import org.prof.it.soft.service.report.VacancyReportWriter;
+import org.prof.it.soft.service.search.VacancyFacetCounter;
+import org.prof.it.soft.service.search.VacancySearchEngine;
+import org.prof.it.soft.spec.VacancyCursor;
 import org.prof.it.soft.spec.VacancySpecification;
-import org.springframework.core.io.ByteArrayResource;
-import org.springframework.core.io.Resource;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Slf4j
@@ -38,6 +53,11 @@ import java.util.Set;
 @RequiredArgsConstructor
 public class VacancyServiceImpl implements VacancyService {
 
+    /**
+     * The foreign key of the recruiter of a vacancy, see changeset 003.
+     */
+    private static final String RECRUITER_FOREIGN_KEY = "vacancies_recruiter_fk";
+
     /**
      * The repository for the Vacancy entity.
      */
@@ -45,13 +65,36 @@ public class VacancyServiceImpl implements VacancyService {
     protected final CandidateApplicationRepository candidateApplicationRepository;
     protected final RecruiterRepository recruiterRepository;
 
+    /**
+     * The counter of the total number of vacancies for a page.
+     */
+    protected final VacancyCounter vacancyCounter;
+
     /**
      * The mapper for converting between DTOs and entities.
      */
-    protected final ModelMapper modelMapper;
+    protected final VacancyMapper vacancyMapper;
+
+    /**
+     * The writers of the report, one per format.
+     */
+    protected final List<VacancyReportWriter> vacancyReportWriters;
+
+    /**
+     * The in-memory index the vacancy list is served from when it is enabled.
+     */
+    protected final VacancySearchEngine vacancySearchEngine;
+
+    /**
+     * The counter of the vacancies per facet value, for the filters that request the facets.
+     */
+    protected final VacancyFacetCounter vacancyFacetCounter;
 
     /**
      * Saves a new vacancy.
+     * The recruiter is only referenced by the vacancy, neither the recruiter nor its vacancies are loaded,
+     * so the cost does not depend on the number of vacancies of the recruiter.
+     * The recruiter of the returned vacancy has its id only.
      *
      * @param vacancyDto the DTO of the vacancy to save
      * @return the DTO of the saved vacancy
@@ -59,15 +102,14 @@ public class VacancyServiceImpl implements VacancyService {
      */
     @Override
     public VacancyResponseDto saveVacancy(VacancyRequestDto vacancyDto) {
-        Vacancy vacancyFromDto = modelMapper.map(vacancyDto, Vacancy.class);
-        Recruiter recruiterById = recruiterRepository.getRecruiterById(vacancyDto.getRecruiterUserId())
-                .orElseThrow(() -> new NotFoundException(String.format("Recruiter with id %d not found", vacancyDto.getRecruiterUserId())));
-        recruiterById.addVacancy(vacancyFromDto);
+        Vacancy vacancyFromDto = vacancyMapper.toEntity(vacancyDto);
+        vacancyFromDto.setRecruiter(recruiterRepository.getReferenceById(vacancyDto.getRecruiterUserId()));
 
-        Vacancy savedVacancy = vacancyRepository.saveAndFlush(vacancyFromDto);
+        Vacancy savedVacancy = saveAndFlush(vacancyFromDto);
+        vacancySearchEngine.vacancyChanged(savedVacancy.getId());
         log.info("Vacancy[id={}, position={}, recruiterId={}] saved successfully",
                 savedVacancy.getId(), savedVacancy.getPosition(), savedVacancy.getRecruiter().getId());
-        return modelMapper.map(savedVacancy, VacancyResponseDto.class);
+        return vacancyMapper.toResponseDtoWithRecruiterId(savedVacancy);
     }
 
     /**
@@ -75,26 +117,27 @@ public class VacancyServiceImpl implements VacancyService {
      *
      * @param vacancyId  the id of the vacancy to update
      * @param vacancyDto the DTO of the vacancy with the updated data
-     * @throws NotFoundException if the vacancy with the given id is not found
+     * @throws NotFoundException if the vacancy or the recruiter with the given id is not found
      */
     @Override
     public void updateVacancy(Long vacancyId, VacancyRequestDto vacancyDto) {
-        Vacancy vacancyFromDto = modelMapper.map(vacancyDto, Vacancy.class);
+        Vacancy vacancyFromDto = vacancyMapper.toEntity(vacancyDto);
         Vacancy vacancy = getVacancyById(vacancyId);
 
         vacancy.setPosition(vacancyFromDto.getPosition());
         vacancy.setSalary(vacancyFromDto.getSalary());
         vacancy.setTechnologyStack(vacancyFromDto.getTechnologyStack());
-        vacancy.setRecruiter(recruiterRepository.getRecruiterById(vacancyDto.getRecruiterUserId())
-                .orElseThrow(() -> new NotFoundException(String.format("Recruiter with id %d not found", vacancyDto.getRecruiterUserId()))));
+        vacancy.setRecruiter(recruiterRepository.getReferenceById(vacancyDto.getRecruiterUserId()));
 
-        vacancyRepository.saveAndFlush(vacancy);
+        saveAndFlush(vacancy);
+        vacancySearchEngine.vacancyChanged(vacancy.getId());
         log.info("Vacancy[id={}, position={}, recruiterId={}] updated successfully",
                 vacancy.getId(), vacancy.getPosition(), vacancy.getRecruiter().getId());
     }
 
     /**
      * Deletes a vacancy by id.
+     * Neither the recruiter nor its vacancies are loaded to delete the vacancy.
      *
      * @param id the id of the vacancy to delete
      * @throws NotFoundException if the vacancy with the given id is not found
@@ -104,9 +147,18 @@ public class VacancyServiceImpl implements VacancyService {
         // check if vacancy exists (throws NotFoundException if not found)
         Vacancy vacancy = getVacancyById(id);
         candidateApplicationRepository.deleteAllByVacancyId(id);
-        vacancy.getRecruiter().removeVacancy(vacancy);
+
+        // the recruiter is only a reference unless it is in the persistence context already,
+        // it is not loaded to be detached from the vacancy, the removal must not cascade to it
+        Recruiter recruiter = vacancy.getRecruiter();
+        if (Hibernate.isInitialized(recruiter)) {
+            recruiter.removeVacancy(vacancy);
+        } else {
+            vacancy.setRecruiter(null);
+        }
 
         vacancyRepository.deleteById(id);
+        vacancySearchEngine.vacancyDeleted(id);
         log.info("Vacancy[id={}] deleted successfully", id);
     }
 
@@ -120,14 +172,10 @@ public class VacancyServiceImpl implements VacancyService {
     @Override
     public VacancyResponseDto getResponseVacancyDtoById(Long vacancyId, User user) {
         VacancyResponseDto vacancyResponseDto = vacancyRepository.findById(vacancyId)
-                .map(vacancy -> modelMapper.map(vacancy, VacancyResponseDto.class))
+                .map(vacancyMapper::toResponseDto)
                 .orElseThrow(() -> new NotFoundException(String.format("Vacancy with id %d not found", vacancyId)));
 
-        if (Objects.nonNull(user)) {
-            boolean vacancyIsAppliedByCandidate =
-                    vacancyRepository.isVacancyIsAppliedByCandidate(vacancyId, user.getId());
-            vacancyResponseDto.setIsAppliedByCurrentUser(vacancyIsAppliedByCandidate);
-        }
+        markAppliedVacancies(List.of(vacancyResponseDto), user);
 
         return vacancyResponseDto;
     }
@@ -139,6 +187,11 @@ public class VacancyServiceImpl implements VacancyService {
 
     /**
      * Gets all vacancies as a page.
+     * The page is selected by ids first and then fetched with the recruiters and technology stacks,
+     * the total is counted with the count mode of the filter.
+     * If the in-memory index is enabled and supports the filter, the page and the exact total are taken from it
+     * without querying the database.
+     * The facets are counted for all matching vacancies if the filter requests them.
      *
      * @param vacancyFilterDto the filter for the number of vacancies
      *                         page number is required,
@@ -151,29 +204,161 @@ public class VacancyServiceImpl implements VacancyService {
      * @see VacancyResponseDto
      */
     @Override
-    public Page<VacancyResponseDto> getFilteredVacancies(VacancyFilterDto vacancyFilterDto, User user) {
-        Page<VacancyResponseDto> vacancies = vacancyRepository.findAll(VacancySpecification.of(vacancyFilterDto),
-                        PageRequest.of(vacancyFilterDto.getPage(), vacancyFilterDto.getSize(),
-                                Sort.by(Sort.Direction.ASC, "id")))
-                .map(vacancy -> modelMapper.map(vacancy, VacancyResponseDto.class));
+    @Timed(value = "jobify.service", histogram = true)
+    public VacancyPageResponseDto getFilteredVacancies(VacancyFilterDto vacancyFilterDto, User user) {
+        Pageable pageable = PageRequest.of(vacancyFilterDto.getPage(), vacancyFilterDto.getSize(),
+                Sort.by(Sort.Direction.ASC, "id"));
 
-        if (Objects.nonNull(user)) {
-            Set<Long> ids = vacancyRepository.findAllVacancyIdAppliedByCandidate(user.getId());
-
-            vacancies.forEach(vacancy ->
-                    vacancy.setIsAppliedByCurrentUser(ids.contains(vacancy.getId())));
+        if (vacancySearchEngine.supports(vacancyFilterDto)) {
+            VacancyPageResponseDto page = vacancySearchEngine.search(vacancyFilterDto, pageable);
+            markAppliedVacancies(page.getContent(), user);
+            return page;
         }
 
-        return vacancies;
+        VacancySpecification specification = VacancySpecification.of(vacancyFilterDto);
+
+        List<VacancyResponseDto> vacancies = findAllByIdsInOrder(vacancyRepository.findIds(specification, pageable)).stream()
+                .map(vacancyMapper::toResponseDto)
+                .toList();
+        markAppliedVacancies(vacancies, user);
+
+        VacancyCount count = countVacancies(vacancyFilterDto, specification, pageable, vacancies.size());
+        VacancyPageResponseDto page = new VacancyPageResponseDto(vacancies, pageable, count.total(), count.exact());
+        if (vacancyFilterDto.isFacets()) {
+            page.setFacets(vacancyFacetCounter.count(vacancyFilterDto));
+        }
+        return page;
     }
 
     @Override
-    public Page<VacancyResponseDto> getFilteredVacancies(VacancyFilterDto vacancyFilterDto) {
+    public VacancyPageResponseDto getFilteredVacancies(VacancyFilterDto vacancyFilterDto) {
         return getFilteredVacancies(vacancyFilterDto, null);
     }
 
     /**
-     * Genereates an Excel report with vacancies.
+     * Gets a slice of vacancies in the cursor pagination mode.
+     * One extra id is selected to find out whether there is a next slice without counting the vacancies.
+     *
+     * @param vacancyFilterDto the filter with the slice size and the optional cursor of the previous slice
+     * @param user             the user who requested the vacancies
+     * @return the slice of vacancies with the cursor of the next slice
+     */
+    @Override
+    public VacancySliceResponseDto getVacancySlice(VacancyFilterDto vacancyFilterDto, User user) {
+        int size = vacancyFilterDto.getSize();
+        List<VacancyResponseDto> vacancies;
+        boolean hasNext;
+        Long lastId;
+
+        if (vacancySearchEngine.supports(vacancyFilterDto)) {
+            List<VacancyResponseDto> found = vacancySearchEngine.slice(vacancyFilterDto, size + 1);
+            hasNext = found.size() > size;
+            vacancies = hasNext ? found.subList(0, size) : found;
+            lastId = vacancies.isEmpty() ? null : vacancies.get(vacancies.size() - 1).getId();
+        } else {
+            List<Long> ids = vacancyRepository.findIds(VacancySpecification.of(vacancyFilterDto),
+                    PageRequest.of(0, size + 1, Sort.by(Sort.Direction.ASC, "id")));
+
+            hasNext = ids.size() > size;
+            List<Long> sliceIds = hasNext ? ids.subList(0, size) : ids;
+            lastId = sliceIds.isEmpty() ? null : sliceIds.get(sliceIds.size() - 1);
+            vacancies = findAllByIdsInOrder(sliceIds).stream()
+                    .map(vacancyMapper::toResponseDto)
+                    .toList();
+        }
+        markAppliedVacancies(vacancies, user);
+
+        return VacancySliceResponseDto.builder()
+                .content(vacancies)
+                .size(size)
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? VacancyCursor.encode(lastId) : null)
+                .build();
+    }
+
+    /**
+     * Marks the vacancies the user has applied for.
+     * The applications are looked up for the given vacancies only, so the cost depends on the size of the page
+     * and not on the number of applications of the user.
+     *
+     * @param vacancies the vacancies to mark
+     * @param user      the user who requested the vacancies, nothing is marked if it is null
+     */
+    private void markAppliedVacancies(List<VacancyResponseDto> vacancies, User user) {
+        if (Objects.isNull(user)) {
+            return;
+        }
+
+        Set<Long> appliedIds = vacancies.isEmpty()
+                ? Set.of()
+                : vacancyRepository.findVacancyIdsAppliedByCandidate(user.getId(),
+                vacancies.stream().map(VacancyResponseDto::getId).toList());
+
+        vacancies.forEach(vacancy ->
+                vacancy.setIsAppliedByCurrentUser(appliedIds.contains(vacancy.getId())));
+    }
+
+    /**
+     * Counts the vacancies for a page with the count mode of the filter.
+     * The count query is skipped when the total can be derived from the page itself,
+     * that is when the page is the last one.
+     *
+     * @param vacancyFilterDto the filter with the count mode
+     * @param specification    the specification built from the filter
+     * @param pageable         the requested page
+     * @param pageSize         the number of vacancies found for the page
+     * @return the total number of vacancies and whether it is exact
+     */
+    private VacancyCount countVacancies(VacancyFilterDto vacancyFilterDto, Specification<Vacancy> specification,
+                                        Pageable pageable, int pageSize) {
+        boolean lastPage = pageSize < pageable.getPageSize() && (pageSize > 0 || pageable.getOffset() == 0);
+        if (lastPage) {
+            return VacancyCount.exact(pageable.getOffset() + pageSize);
+        }
+        return vacancyCounter.count(vacancyFilterDto, specification);
+    }
+
+    /**
+     * Fetches the vacancies with their recruiters and technology stacks in the order of the given ids.
+     *
+     * @param ids the ids of the vacancies
+     * @return the vacancies in the order of the ids
+     */
+    private List<Vacancy> findAllByIdsInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Vacancy> vacanciesById = vacancyRepository.findAllWithRecruiterAndTechnologyStackByIdIn(ids).stream()
+                .collect(Collectors.toMap(Vacancy::getId, Function.identity()));
+        return ids.stream()
+                .map(vacanciesById::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    /**
+     * Saves the vacancy and flushes it, so a recruiter which does not exist is reported by the foreign key
+     * of the vacancy instead of being looked up before.
+     *
+     * @param vacancy the vacancy referencing its recruiter
+     * @return the saved vacancy
+     * @throws NotFoundException if the recruiter of the vacancy is not found
+     */
+    private Vacancy saveAndFlush(Vacancy vacancy) {
+        try {
+            return vacancyRepository.saveAndFlush(vacancy);
+        } catch (DataIntegrityViolationException e) {
+            if (e.getCause() instanceof ConstraintViolationException violation
+                    && RECRUITER_FOREIGN_KEY.equalsIgnoreCase(violation.getConstraintName())) {
+                throw new NotFoundException(String.format("Recruiter with id %d not found", vacancy.getRecruiter().getId()));
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Generates a report with vacancies in the given format.
      * The report contains the following columns:
      * - Vacancy ID
      * - Position
@@ -186,58 +371,28 @@ public class VacancyServiceImpl implements VacancyService {
      * - Recruiter Last Name
      * The report is generated based on the filter. All filter fields are optional.
      * All vacancies that match the filter are included in the report.
+     * The report rows are read by a single flat query, whatever the number of vacancies,
+     * and are written straight to the output stream, so memory usage does not depend on the number of vacancies.
      *
      * @param vacancyFilterDto the filter for the vacancies
-     * @return the Excel file as a Resource
+     * @param format           the format of the report
+     * @param outputStream     the stream to write the report to, it is not closed
      */
     @Override
     @SneakyThrows
-    public Resource generateReportExcel(VacancyFilterDto vacancyFilterDto) {
-        // try-with-resources to close workbook and output stream
-        try (XSSFWorkbook workbook = new XSSFWorkbook();
-             ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
-
-            // create a sheet for vacancies
-            XSSFSheet vacanciesSheet = workbook.createSheet("Vacancies");
-
-            List<Vacancy> filterVacancies = vacancyRepository.findAll(VacancySpecification.of(vacancyFilterDto),
-                    Sort.by(Sort.Direction.ASC, "id"));
-
-            int rowNum = 0;
-            int cellNum = 0;
-
-            // create header row
-            Row headerRow = vacanciesSheet.createRow(rowNum++);
-            String[] headers = {"Vacancy ID", "Position", "Salary", "Technology Stack", "Company Name",
-                    "Created At", "Recruiter_id", "Recruiter First Name", "Recruiter Last Name", "Recruiter company"};
-            for (int i = 0; i < headers.length; i++) {
-                headerRow.createCell(i).setCellValue(headers[i]);
-            }
+    @Transactional(readOnly = true)
+    @Timed(value = "jobify.service", histogram = true)
+    public void generateReport(VacancyFilterDto vacancyFilterDto, ReportFormat format, OutputStream outputStream) {
+        VacancyReportWriter reportWriter = vacancyReportWriters.stream()
+                .filter(writer -> writer.getFormat() == format)
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException(String.format("Report format %s is not supported", format)));
 
-            // create data rows for all filtered vacancies
-            for (Vacancy vacancy : filterVacancies) {
-                Row row = vacanciesSheet.createRow(rowNum++);
-                row.createCell(0).setCellValue(vacancy.getId());
-                row.createCell(1).setCellValue(vacancy.getPosition());
-                if (vacancy.getSalary() != null) {
-                    row.createCell(2).setCellValue(vacancy.getSalary());
-                }
-                row.createCell(3).setCellValue(String.join(", ", vacancy.getTechnologyStack()));
-                row.createCell(4).setCellValue(vacancy.getRecruiter().getCompanyName());
-                row.createCell(5).setCellValue(vacancy.getCreatedAt().toString());
-                row.createCell(6).setCellValue(vacancy.getRecruiter().getId());
-                row.createCell(7).setCellValue(vacancy.getRecruiter().getFirstName());
-                row.createCell(8).setCellValue(vacancy.getRecruiter().getLastName());
-                if (vacancy.getRecruiter().getCompanyName() != null) {
-                    row.createCell(9).setCellValue(vacancy.getRecruiter().getCompanyName());
-                }
-            }
-            workbook.write(outputStream);
-            return new ByteArrayResource(outputStream.toByteArray());
+        try (Stream<VacancyReportRow> reportRows = vacancyRepository.streamReportRows(vacancyFilterDto)) {
+            reportWriter.write(reportRows, outputStream);
         }
     }
 
-
     /**
      * Gets a vacancy by id.
      *
@@ -253,6 +408,6 @@ public class VacancyServiceImpl implements VacancyService {
     @Override
     public Page<VacancyResponseDto> getVacanciesByRecruiterId(Long recruiterId, Long pageNum) {
         return vacancyRepository.findAllByRecruiterId(recruiterId, PageRequest.of(pageNum.intValue(), 10))
-                .map(vacancy -> modelMapper.map(vacancy, VacancyResponseDto.class));
+                .map(vacancyMapper::toResponseDto);
     }
 }
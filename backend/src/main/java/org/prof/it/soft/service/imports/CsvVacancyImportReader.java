@@ -0,0 +1,93 @@
+package org.prof.it.soft.service.imports;
+
+import org.prof.it.soft.exception.InvalidImportFileException;
+import org.prof.it.soft.service.report.ReportFormat;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Reads vacancies from RFC 4180 CSV in UTF-8, as written by the CSV report.
+ * Quoted fields may contain separators, doubled quotes and line breaks, lines end with CRLF or LF.
+ * The file is parsed character by character, only the current row is kept in memory.
+ */
+@Component
+public class CsvVacancyImportReader implements VacancyImportReader {
+
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+    private static final char BYTE_ORDER_MARK = '\uFEFF';
+
+    @Override
+    public ReportFormat getFormat() {
+        return ReportFormat.CSV;
+    }
+
+    @Override
+    public void read(Path file, Consumer<VacancyImportRow> rows) throws IOException {
+        VacancyImportRows importRows = new VacancyImportRows(rows);
+
+        try (Reader reader = new BufferedReader(
+                new InputStreamReader(Files.newInputStream(file), StandardCharsets.UTF_8), READ_BUFFER_SIZE)) {
+            List<String> cells = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            long rowNumber = 1;
+
+            int c = reader.read();
+            if (c == BYTE_ORDER_MARK) {
+                c = reader.read();
+            }
+            while (c != -1) {
+                if (quoted) {
+                    if (c == '"') {
+                        int next = reader.read();
+                        if (next != '"') {
+                            // the closing quote, the next character is handled as unquoted
+                            quoted = false;
+                            c = next;
+                            continue;
+                        }
+                    }
+                    field.append((char) c);
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    cells.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\r' || c == '\n') {
+                    int next = reader.read();
+                    if (c == '\r' && next == '\n') {
+                        next = reader.read();
+                    }
+                    cells.add(field.toString());
+                    field.setLength(0);
+                    importRows.accept(rowNumber++, cells);
+                    cells.clear();
+                    c = next;
+                    continue;
+                } else {
+                    field.append((char) c);
+                }
+                c = reader.read();
+            }
+
+            if (quoted) {
+                throw new InvalidImportFileException(String.format("Row %d has a quoted field without the closing quote", rowNumber));
+            }
+            if (!cells.isEmpty() || !field.isEmpty()) {
+                cells.add(field.toString());
+                importRows.accept(rowNumber, cells);
+            }
+        }
+        importRows.finish();
+    }
+}
@@ -0,0 +1,78 @@
+package org.prof.it.soft.service.imports;
+
+import org.prof.it.soft.exception.InvalidImportFileException;
+import org.prof.it.soft.service.report.VacancyReportWriter;
+
+import java.util.List;
+
+/**
+ * The positions of the imported columns in the rows of a file.
+ * The columns are found by the header row, whose names are the ones of the report,
+ * so a report can be imported as it is. The other columns of the report, such as the vacancy id
+ * and the company name, are ignored.
+ */
+final class VacancyImportColumns {
+
+    static final String POSITION = VacancyReportWriter.COLUMNS.get(1);
+    static final String SALARY = VacancyReportWriter.COLUMNS.get(2);
+    static final String TECHNOLOGY_STACK = VacancyReportWriter.COLUMNS.get(3);
+    static final String RECRUITER_ID = VacancyReportWriter.COLUMNS.get(6);
+
+    private final int position;
+    private final int salary;
+    private final int technologyStack;
+    private final int recruiterId;
+
+    private VacancyImportColumns(int position, int salary, int technologyStack, int recruiterId) {
+        this.position = position;
+        this.salary = salary;
+        this.technologyStack = technologyStack;
+        this.recruiterId = recruiterId;
+    }
+
+    /**
+     * Finds the imported columns in the header row, the names are compared ignoring case.
+     *
+     * @param header the cells of the header row
+     * @return the columns
+     * @throws InvalidImportFileException if the position or the recruiter id column is missing
+     */
+    static VacancyImportColumns of(List<String> header) {
+        int position = indexOf(header, POSITION);
+        int recruiterId = indexOf(header, RECRUITER_ID);
+        if (position < 0 || recruiterId < 0) {
+            throw new InvalidImportFileException(String.format(
+                    "The first row must be a header with the %s and %s columns", POSITION, RECRUITER_ID));
+        }
+        return new VacancyImportColumns(position, indexOf(header, SALARY), indexOf(header, TECHNOLOGY_STACK), recruiterId);
+    }
+
+    /**
+     * Takes the imported cells of a data row.
+     *
+     * @param rowNumber the number of the row in the file
+     * @param cells     the cells of the row, missing cells may be null or absent at the end of the row
+     * @return the row
+     */
+    VacancyImportRow toRow(long rowNumber, List<String> cells) {
+        return new VacancyImportRow(rowNumber, cell(cells, position), cell(cells, salary),
+                cell(cells, technologyStack), cell(cells, recruiterId));
+    }
+
+    private static int indexOf(List<String> header, String name) {
+        for (int i = 0; i < header.size(); i++) {
+            if (header.get(i) != null && header.get(i).trim().equalsIgnoreCase(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static String cell(List<String> cells, int index) {
+        if (index < 0 || index >= cells.size()) {
+            return null;
+        }
+        String value = cells.get(index);
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+}
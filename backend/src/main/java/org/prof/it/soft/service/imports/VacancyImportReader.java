@@ -0,0 +1,30 @@
+package org.prof.it.soft.service.imports;
+
+import org.prof.it.soft.service.report.ReportFormat;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.function.Consumer;
+
+/**
+ * Reads the vacancies of an imported file in one format.
+ * The file has the columns of the report, see {@link VacancyImportColumns},
+ * and its rows are passed on as they are parsed, so the whole file is never kept in memory.
+ */
+public interface VacancyImportReader {
+
+    /**
+     * @return the format read by the reader
+     */
+    ReportFormat getFormat();
+
+    /**
+     * Reads the data rows of the file. Empty rows are skipped.
+     *
+     * @param file the file to read
+     * @param rows the consumer of the data rows, called in the order of the file
+     * @throws IOException if the file cannot be read
+     * @throws org.prof.it.soft.exception.InvalidImportFileException if the file is malformed or has no header
+     */
+    void read(Path file, Consumer<VacancyImportRow> rows) throws IOException;
+}
@@ -0,0 +1,18 @@
+package org.prof.it.soft.service.imports;
+
+/**
+ * A data row of an imported file with the cells of the imported columns as they are written in the file.
+ * Missing and empty cells are null.
+ *
+ * @param rowNumber       the number of the row in the file, the header is row 1
+ * @param position        the position cell
+ * @param salary          the salary cell
+ * @param technologyStack the technology stack cell, the technologies are separated by commas
+ * @param recruiterId     the recruiter id cell
+ */
+public record VacancyImportRow(long rowNumber,
+                               String position,
+                               String salary,
+                               String technologyStack,
+                               String recruiterId) {
+}
@@ -0,0 +1,48 @@
+package org.prof.it.soft.service.imports;
+
+import org.prof.it.soft.exception.InvalidImportFileException;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Turns the parsed rows of a file into imported rows.
+ * The first row which is not empty is the header, the following ones are the data rows.
+ */
+final class VacancyImportRows {
+
+    private final Consumer<VacancyImportRow> rows;
+    private VacancyImportColumns columns;
+
+    VacancyImportRows(Consumer<VacancyImportRow> rows) {
+        this.rows = rows;
+    }
+
+    /**
+     * Accepts a parsed row, empty rows are skipped.
+     *
+     * @param rowNumber the number of the row in the file
+     * @param cells     the cells of the row, missing cells may be null
+     */
+    void accept(long rowNumber, List<String> cells) {
+        if (cells.stream().allMatch(cell -> cell == null || cell.isBlank())) {
+            return;
+        }
+        if (columns == null) {
+            columns = VacancyImportColumns.of(cells);
+        } else {
+            rows.accept(columns.toRow(rowNumber, cells));
+        }
+    }
+
+    /**
+     * Checks that the file had a header.
+     *
+     * @throws InvalidImportFileException if the file has no rows
+     */
+    void finish() {
+        if (columns == null) {
+            throw new InvalidImportFileException("The file is empty");
+        }
+    }
+}
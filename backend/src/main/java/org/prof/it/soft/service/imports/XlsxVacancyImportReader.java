@@ -0,0 +1,103 @@
+package org.prof.it.soft.service.imports;
+
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.prof.it.soft.exception.InvalidImportFileException;
+import org.prof.it.soft.service.report.ReportFormat;
+import org.springframework.stereotype.Component;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Consumer;
+
+/**
+ * Reads vacancies from the first sheet of an Excel workbook, as written by the Excel report.
+ * The sheet is parsed with the SAX reader of POI, so only the current row is kept in memory
+ * instead of the whole workbook. The shared strings of the workbook are read into memory,
+ * the report writes its strings inline, so they are few for the imported reports.
+ */
+@Component
+public class XlsxVacancyImportReader implements VacancyImportReader {
+
+    @Override
+    public ReportFormat getFormat() {
+        return ReportFormat.XLSX;
+    }
+
+    @Override
+    public void read(Path file, Consumer<VacancyImportRow> rows) throws IOException {
+        VacancyImportRows importRows = new VacancyImportRows(rows);
+
+        try (OPCPackage workbook = OPCPackage.open(file.toFile(), PackageAccess.READ)) {
+            XSSFReader reader = new XSSFReader(workbook);
+            ReadOnlySharedStringsTable sharedStrings = new ReadOnlySharedStringsTable(workbook);
+            StylesTable styles = reader.getStylesTable();
+
+            Iterator<InputStream> sheets = reader.getSheetsData();
+            if (!sheets.hasNext()) {
+                throw new InvalidImportFileException("The workbook has no sheets");
+            }
+
+            try (InputStream sheet = sheets.next()) {
+                XMLReader parser = XMLHelper.newXMLReader();
+                // the formatted values are the ones shown by Excel, numbers are formatted in a fixed locale
+                parser.setContentHandler(new XSSFSheetXMLHandler(styles, null, sharedStrings,
+                        new SheetRowHandler(importRows), new DataFormatter(Locale.US), false));
+                parser.parse(new InputSource(sheet));
+            }
+        } catch (OpenXML4JException | SAXException | ParserConfigurationException | IllegalArgumentException e) {
+            throw new InvalidImportFileException("The file is not a valid Excel workbook", e);
+        }
+        importRows.finish();
+    }
+
+    /**
+     * Collects the cells of every row of the sheet, the cells which are not written in the sheet are null.
+     */
+    private static class SheetRowHandler implements XSSFSheetXMLHandler.SheetContentsHandler {
+
+        private final VacancyImportRows importRows;
+        private final List<String> cells = new ArrayList<>();
+
+        SheetRowHandler(VacancyImportRows importRows) {
+            this.importRows = importRows;
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            cells.clear();
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            importRows.accept(rowNum + 1L, cells);
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            int column = cellReference == null ? cells.size() : new CellReference(cellReference).getCol();
+            while (cells.size() < column) {
+                cells.add(null);
+            }
+            cells.add(formattedValue);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package org.prof.it.soft.service.report;
+
+import org.prof.it.soft.dto.report.VacancyReportRow;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes the vacancy report as RFC 4180 CSV in UTF-8 with a header line.
+ * Every line is assembled in one reused buffer and the output is written in large chunks.
+ */
+@Component
+public class CsvVacancyReportWriter implements VacancyReportWriter {
+
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+    private static final String LINE_SEPARATOR = "\r\n";
+
+    @Override
+    public ReportFormat getFormat() {
+        return ReportFormat.CSV;
+    }
+
+    @Override
+    public void write(Stream<VacancyReportRow> rows, OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), WRITE_BUFFER_SIZE);
+        StringBuilder line = new StringBuilder(256);
+
+        for (int i = 0; i < COLUMNS.size(); i++) {
+            appendField(line, i, COLUMNS.get(i));
+        }
+        writer.append(line).append(LINE_SEPARATOR);
+
+        Iterator<VacancyReportRow> iterator = rows.iterator();
+        while (iterator.hasNext()) {
+            VacancyReportRow row = iterator.next();
+            line.setLength(0);
+
+            appendField(line, 0, row.vacancyId());
+            appendField(line, 1, row.position());
+            appendField(line, 2, row.salary());
+            appendField(line, 3, String.join(", ", row.technologyStack()));
+            appendField(line, 4, row.companyName());
+            appendField(line, 5, row.createdAt());
+            appendField(line, 6, row.recruiterId());
+            appendField(line, 7, row.recruiterFirstName());
+            appendField(line, 8, row.recruiterLastName());
+            appendField(line, 9, row.companyName());
+
+            writer.append(line).append(LINE_SEPARATOR);
+        }
+        writer.flush();
+    }
+
+    /**
+     * Appends a field to the line, a null value is written as an empty field.
+     * Fields with separators, quotes or line breaks are quoted and their quotes are doubled.
+     *
+     * @param line  the line to append the field to
+     * @param index the index of the field in the line
+     * @param value the value of the field
+     */
+    private static void appendField(StringBuilder line, int index, Object value) {
+        if (index > 0) {
+            line.append(',');
+        }
+        if (value == null) {
+            return;
+        }
+
+        String text = value.toString();
+        boolean quoted = text.indexOf(',') >= 0 || text.indexOf('"') >= 0
+                || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0;
+        if (!quoted) {
+            line.append(text);
+            return;
+        }
+
+        line.append('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"') {
+                line.append('"');
+            }
+            line.append(c);
+        }
+        line.append('"');
+    }
+}
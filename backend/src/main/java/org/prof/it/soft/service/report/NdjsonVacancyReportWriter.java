@@ -0,0 +1,62 @@
+package org.prof.it.soft.service.report;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.prof.it.soft.dto.report.VacancyReportRow;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes the vacancy report as newline-delimited JSON, one object per vacancy.
+ * The objects are written with a streaming generator, which encodes into its own reused buffer.
+ */
+@Component
+@RequiredArgsConstructor
+public class NdjsonVacancyReportWriter implements VacancyReportWriter {
+
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public ReportFormat getFormat() {
+        return ReportFormat.NDJSON;
+    }
+
+    @Override
+    public void write(Stream<VacancyReportRow> rows, OutputStream outputStream) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setPrettyPrinter(new MinimalPrettyPrinter(""));
+
+            Iterator<VacancyReportRow> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                VacancyReportRow row = iterator.next();
+
+                generator.writeStartObject();
+                generator.writeNumberField("vacancy_id", row.vacancyId());
+                generator.writeStringField("position", row.position());
+                if (row.salary() != null) {
+                    generator.writeNumberField("salary", row.salary());
+                }
+                generator.writeArrayFieldStart("technology_stack");
+                for (String technology : row.technologyStack()) {
+                    generator.writeString(technology);
+                }
+                generator.writeEndArray();
+                generator.writeStringField("company_name", row.companyName());
+                generator.writeStringField("created_at", row.createdAt().toString());
+                generator.writeNumberField("recruiter_id", row.recruiterId());
+                generator.writeStringField("recruiter_first_name", row.recruiterFirstName());
+                generator.writeStringField("recruiter_last_name", row.recruiterLastName());
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+            }
+            generator.flush();
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package org.prof.it.soft.service.report;
+
+import org.springframework.core.io.Resource;
+import org.springframework.http.MediaType;
+
+/**
+ * A generated report ready to be downloaded.
+ *
+ * @param resource  the content of the report
+ * @param fileName  the file name suggested to the client
+ * @param mediaType the content type of the report
+ */
+public record ReportFile(Resource resource, String fileName, MediaType mediaType) {
+}
@@ -0,0 +1,78 @@
+package org.prof.it.soft.service.report;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * The formats of the vacancy report.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum ReportFormat {
+
+    XLSX("xlsx", MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet")),
+    CSV("csv", MediaType.parseMediaType("text/csv")),
+    NDJSON("ndjson", MediaType.APPLICATION_NDJSON);
+
+    /**
+     * The extension of the report file.
+     */
+    private final String extension;
+
+    /**
+     * The content type of the report.
+     */
+    private final MediaType mediaType;
+
+    /**
+     * Selects the format by the Accept header.
+     * The media types are tried in the order of their quality,
+     * XLSX is used when the header is absent or no format is acceptable,
+     * so clients that accept anything keep getting the Excel report.
+     *
+     * @param accept the value of the Accept header, may be null
+     * @return the format of the report
+     */
+    public static ReportFormat fromAcceptHeader(String accept) {
+        if (!StringUtils.hasText(accept)) {
+            return XLSX;
+        }
+
+        List<MediaType> acceptedMediaTypes = new ArrayList<>(MediaType.parseMediaTypes(accept));
+        acceptedMediaTypes.sort(Comparator.comparingDouble(MediaType::getQualityValue).reversed());
+
+        for (MediaType acceptedMediaType : acceptedMediaTypes) {
+            if (acceptedMediaType.equalsTypeAndSubtype(MediaType.APPLICATION_OCTET_STREAM)) {
+                return XLSX;
+            }
+            for (ReportFormat format : values()) {
+                if (acceptedMediaType.includes(format.getMediaType())) {
+                    return format;
+                }
+            }
+        }
+        return XLSX;
+    }
+
+    /**
+     * Selects the format by the extension of a file name, XLSX is used for other extensions.
+     *
+     * @param fileName the name of the file, may be null
+     * @return the format of the file
+     */
+    public static ReportFormat fromFileName(String fileName) {
+        String extension = StringUtils.getFilenameExtension(fileName);
+        for (ReportFormat format : values()) {
+            if (format.getExtension().equalsIgnoreCase(extension)) {
+                return format;
+            }
+        }
+        return XLSX;
+    }
+}
@@ -0,0 +1,60 @@
+package org.prof.it.soft.service.report;
+
+import lombok.Getter;
+import org.prof.it.soft.spec.VacancyFilterKey;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * An asynchronous report job kept in memory by the report job service.
+ * The state is changed by the report worker and read by request threads.
+ */
+@Getter
+public class ReportJob {
+
+    private final UUID id;
+    private final Key key;
+    private final Path file;
+    private final Instant createdAt;
+
+    private volatile ReportJobStatus status = ReportJobStatus.PENDING;
+    private volatile Instant finishedAt;
+    private volatile String error;
+
+    public ReportJob(UUID id, Key key, Path file, Instant createdAt) {
+        this.id = id;
+        this.key = key;
+        this.file = file;
+        this.createdAt = createdAt;
+    }
+
+    public ReportFormat getFormat() {
+        return key.format();
+    }
+
+    public void markRunning() {
+        this.status = ReportJobStatus.RUNNING;
+    }
+
+    public void markDone(Instant finishedAt) {
+        this.finishedAt = finishedAt;
+        this.status = ReportJobStatus.DONE;
+    }
+
+    public void markFailed(Instant finishedAt, String error) {
+        this.finishedAt = finishedAt;
+        this.error = error;
+        this.status = ReportJobStatus.FAILED;
+    }
+
+    /**
+     * Identical reports share one job, the key identifies the report by its filter and format.
+     *
+     * @param filter the normalized filter of the report
+     * @param format the format of the report
+     */
+    public record Key(VacancyFilterKey filter, ReportFormat format) {
+    }
+}
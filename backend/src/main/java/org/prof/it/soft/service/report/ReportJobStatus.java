@@ -0,0 +1,30 @@
+package org.prof.it.soft.service.report;
+
+/**
+ * The states of an asynchronous report job.
+ */
+public enum ReportJobStatus {
+    /**
+     * The job waits for a free report worker.
+     */
+    PENDING,
+    /**
+     * The report is being generated.
+     */
+    RUNNING,
+    /**
+     * The report is ready to be downloaded until the job expires.
+     */
+    DONE,
+    /**
+     * The report could not be generated.
+     */
+    FAILED;
+
+    /**
+     * @return true if the job will not change its state anymore
+     */
+    public boolean isFinished() {
+        return this == DONE || this == FAILED;
+    }
+}
@@ -0,0 +1,35 @@
+package org.prof.it.soft.service.report;
+
+import org.prof.it.soft.dto.report.VacancyReportRow;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Writes the vacancy report in one format.
+ * The rows are written as they are read from the stream, so the whole report is never kept in memory.
+ */
+public interface VacancyReportWriter {
+
+    /**
+     * The columns of the report, every format writes the same columns in this order.
+     */
+    List<String> COLUMNS = List.of("Vacancy ID", "Position", "Salary", "Technology Stack", "Company Name",
+            "Created At", "Recruiter_id", "Recruiter First Name", "Recruiter Last Name", "Recruiter company");
+
+    /**
+     * @return the format written by the writer
+     */
+    ReportFormat getFormat();
+
+    /**
+     * Writes the report.
+     *
+     * @param rows         the rows of the report
+     * @param outputStream the stream to write the report to, it is flushed but not closed
+     * @throws IOException if the report cannot be written
+     */
+    void write(Stream<VacancyReportRow> rows, OutputStream outputStream) throws IOException;
+}
@@ -0,0 +1,75 @@
+package org.prof.it.soft.service.report;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.prof.it.soft.dto.report.VacancyReportRow;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes the vacancy report as an Excel workbook.
+ */
+@Component
+public class XlsxVacancyReportWriter implements VacancyReportWriter {
+
+    /**
+     * The number of report rows kept in memory before they are flushed to a temporary file.
+     */
+    private static final int ROW_ACCESS_WINDOW_SIZE = 100;
+
+    @Override
+    public ReportFormat getFormat() {
+        return ReportFormat.XLSX;
+    }
+
+    @Override
+    public void write(Stream<VacancyReportRow> rows, OutputStream outputStream) throws IOException {
+        // only a window of rows is kept in memory, flushed rows go to a compressed temporary file
+        SXSSFWorkbook workbook = new SXSSFWorkbook(ROW_ACCESS_WINDOW_SIZE);
+        workbook.setCompressTempFiles(true);
+
+        try (workbook) {
+            // create a sheet for vacancies
+            SXSSFSheet vacanciesSheet = workbook.createSheet("Vacancies");
+
+            int rowNum = 0;
+
+            // create header row
+            Row headerRow = vacanciesSheet.createRow(rowNum++);
+            for (int i = 0; i < COLUMNS.size(); i++) {
+                headerRow.createCell(i).setCellValue(COLUMNS.get(i));
+            }
+
+            // create data rows for all filtered vacancies
+            Iterator<VacancyReportRow> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                VacancyReportRow row = iterator.next();
+                Row sheetRow = vacanciesSheet.createRow(rowNum++);
+                sheetRow.createCell(0).setCellValue(row.vacancyId());
+                sheetRow.createCell(1).setCellValue(row.position());
+                if (row.salary() != null) {
+                    sheetRow.createCell(2).setCellValue(row.salary());
+                }
+                sheetRow.createCell(3).setCellValue(String.join(", ", row.technologyStack()));
+                sheetRow.createCell(4).setCellValue(row.companyName());
+                sheetRow.createCell(5).setCellValue(row.createdAt().toString());
+                sheetRow.createCell(6).setCellValue(row.recruiterId());
+                sheetRow.createCell(7).setCellValue(row.recruiterFirstName());
+                sheetRow.createCell(8).setCellValue(row.recruiterLastName());
+                if (row.companyName() != null) {
+                    sheetRow.createCell(9).setCellValue(row.companyName());
+                }
+            }
+            workbook.write(outputStream);
+            outputStream.flush();
+        } finally {
+            // delete the temporary files of the flushed rows
+            workbook.dispose();
+        }
+    }
+}
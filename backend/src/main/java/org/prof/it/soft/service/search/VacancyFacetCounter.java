@@ -0,0 +1,54 @@
+package org.prof.it.soft.service.search;
+
+import lombok.RequiredArgsConstructor;
+import org.prof.it.soft.dto.filter.VacancyFilterDto;
+import org.prof.it.soft.dto.response.VacancyFacetsDto;
+import org.prof.it.soft.repo.VacancyRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.BitSet;
+
+/**
+ * Counts the matching vacancies per technology, company, salary range and month of creation,
+ * either by a single grouped query or from the bitsets of the in-memory index.
+ */
+@Component
+@RequiredArgsConstructor
+public class VacancyFacetCounter {
+
+    private final VacancyRepository vacancyRepository;
+
+    /**
+     * The width of the salary ranges.
+     */
+    @Value("${vacancy.facets.salary-bucket-width:1000}")
+    private float salaryBucketWidth;
+
+    /**
+     * The maximum number of technologies and companies, the most frequent ones are kept.
+     */
+    @Value("${vacancy.facets.max-values:20}")
+    private int maxValues;
+
+    /**
+     * Counts the facets of the vacancies that match the filter in the database.
+     *
+     * @param vacancyFilterDto the filter of the vacancies
+     * @return the facets of the matching vacancies
+     */
+    public VacancyFacetsDto count(VacancyFilterDto vacancyFilterDto) {
+        return vacancyRepository.countFacets(vacancyFilterDto, salaryBucketWidth, maxValues);
+    }
+
+    /**
+     * Counts the facets of the matching vacancies of the in-memory index.
+     *
+     * @param index   the index
+     * @param matches the positions of the matching vacancies in the index
+     * @return the facets of the matching vacancies
+     */
+    public VacancyFacetsDto count(VacancySearchIndex index, BitSet matches) {
+        return index.countFacets(matches, salaryBucketWidth, maxValues);
+    }
+}
@@ -0,0 +1,366 @@
+package org.prof.it.soft.service.search;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.prof.it.soft.dto.filter.VacancyFilterDto;
+import org.prof.it.soft.dto.response.VacancyPageResponseDto;
+import org.prof.it.soft.dto.response.VacancyResponseDto;
+import org.prof.it.soft.mapper.VacancyMapper;
+import org.prof.it.soft.repo.VacancyRepository;
+import org.prof.it.soft.spec.VacancyCursor;
+import org.prof.it.soft.spec.VacancySearchQuery;
+import org.prof.it.soft.spec.VacancySpecification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Serves the vacancy list from a {@link VacancySearchIndex} kept in memory instead of the database.
+ * The index is built from the database when the application is ready and is rebuilt periodically
+ * to pick up changes made outside of the vacancy service, such as a new company name of a recruiter.
+ * The vacancies saved, updated or deleted by the vacancy service are applied to the index
+ * once their transaction is committed. The committing thread only records the id of the vacancy,
+ * a background worker reads the recorded vacancies together and publishes one new index for all of them,
+ * so neither the writers nor the searches wait for the index to be built. A search right after a change
+ * may not see it yet.
+ * The search query is not indexed, the filters with a query are left to the database.
+ */
+@Slf4j
+@Component
+public class VacancySearchEngine {
+
+    /**
+     * The number of vacancies read from the database in one transaction when the index is rebuilt.
+     */
+    private static final int LOAD_BATCH_SIZE = 1000;
+
+    private final VacancyRepository vacancyRepository;
+    private final VacancyFacetCounter vacancyFacetCounter;
+    private final VacancyMapper vacancyMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${vacancy.search.in-memory.enabled:false}")
+    private boolean enabled;
+
+    /**
+     * The indexed vacancies by id.
+     */
+    private final Map<Long, VacancyResponseDto> vacancies = new HashMap<>();
+
+    /**
+     * The ids of the vacancies changed while the index is rebuilt, null if it is not being rebuilt.
+     */
+    private Set<Long> changedDuringRebuild;
+
+    /**
+     * The ids of the changed vacancies not yet read by the worker.
+     */
+    private Set<Long> pendingChanges = new HashSet<>();
+
+    /**
+     * Whether the worker is reading the pending changes or is about to, a new change is then picked up by it.
+     */
+    private boolean workerScheduled;
+
+    /**
+     * The number of changes of {@link #vacancies}, it orders the indexes built from them.
+     */
+    private long version;
+
+    /**
+     * The version of the published {@link #index}.
+     */
+    private long publishedVersion;
+
+    /**
+     * Whether the vacancies have been loaded from the database.
+     */
+    private volatile boolean loaded;
+
+    /**
+     * The index of the latest published version of {@link #vacancies}.
+     */
+    private volatile VacancySearchIndex index = VacancySearchIndex.empty();
+
+    /**
+     * Applies the changes of the vacancies, one at a time.
+     */
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(new CustomizableThreadFactory("vacancy-search-"));
+
+    public VacancySearchEngine(VacancyRepository vacancyRepository, VacancyFacetCounter vacancyFacetCounter,
+                               VacancyMapper vacancyMapper, PlatformTransactionManager transactionManager) {
+        this.vacancyRepository = vacancyRepository;
+        this.vacancyFacetCounter = vacancyFacetCounter;
+        this.vacancyMapper = vacancyMapper;
+        // the vacancies are read in their own transaction, also after the transaction of a change is committed
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * Checks whether the filter can be evaluated by the in-memory index.
+     *
+     * @param vacancyFilterDto the filter of the vacancies
+     * @return true if the index is enabled, loaded and the filter has no search query
+     */
+    public boolean supports(VacancyFilterDto vacancyFilterDto) {
+        return enabled && loaded && VacancySearchQuery.normalize(vacancyFilterDto.getQuery()) == null;
+    }
+
+    /**
+     * Finds a page of the vacancies that match the filter in the order of their ids.
+     * The total is always exact, since all matching vacancies are known,
+     * the facets are counted from the same matches if the filter requests them.
+     *
+     * @param vacancyFilterDto the filter of the vacancies, see {@link #supports}
+     * @param pageable         the requested page
+     * @return the page of the vacancies, they can be modified by the caller
+     */
+    public VacancyPageResponseDto search(VacancyFilterDto vacancyFilterDto, Pageable pageable) {
+        VacancySearchIndex currentIndex = index;
+        BitSet matches = currentIndex.match(vacancyFilterDto, null);
+
+        List<VacancyResponseDto> content = copy(currentIndex.get(matches, pageable.getOffset(), pageable.getPageSize()));
+        VacancyPageResponseDto page = new VacancyPageResponseDto(content, pageable, matches.cardinality(), true);
+        if (vacancyFilterDto.isFacets()) {
+            page.setFacets(vacancyFacetCounter.count(currentIndex, matches));
+        }
+        return page;
+    }
+
+    /**
+     * Finds the vacancies that match the filter after its cursor in the order of their ids.
+     *
+     * @param vacancyFilterDto the filter of the vacancies with the optional cursor, see {@link #supports}
+     * @param limit            the maximum number of vacancies to return
+     * @return the vacancies, they can be modified by the caller
+     */
+    public List<VacancyResponseDto> slice(VacancyFilterDto vacancyFilterDto, int limit) {
+        Long afterId = vacancyFilterDto.getAfter() == null ? null : VacancyCursor.decode(vacancyFilterDto.getAfter());
+
+        VacancySearchIndex currentIndex = index;
+        return copy(currentIndex.get(currentIndex.match(vacancyFilterDto, afterId), 0, limit));
+    }
+
+    /**
+     * Re-reads the vacancy into the index once the current transaction is committed.
+     *
+     * @param vacancyId the id of the saved or updated vacancy
+     */
+    public void vacancyChanged(Long vacancyId) {
+        afterCommit(() -> submit(vacancyId));
+    }
+
+    /**
+     * Removes the vacancy from the index once the current transaction is committed.
+     *
+     * @param vacancyId the id of the deleted vacancy
+     */
+    public void vacancyDeleted(Long vacancyId) {
+        // a deleted vacancy is not found by the worker and is removed
+        afterCommit(() -> submit(vacancyId));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        worker.shutdownNow();
+    }
+
+    /**
+     * Rebuilds the index from the database.
+     * The vacancies are read without blocking the searches, the changes applied meanwhile are re-read afterwards.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${vacancy.search.in-memory.rebuild-interval:PT10M}",
+            fixedDelayString = "${vacancy.search.in-memory.rebuild-interval:PT10M}")
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+
+        synchronized (this) {
+            changedDuringRebuild = new HashSet<>();
+        }
+
+        long start = System.nanoTime();
+        Map<Long, VacancyResponseDto> loadedVacancies = new HashMap<>();
+        try {
+            List<Long> ids = transactionTemplate.execute(status ->
+                    vacancyRepository.findIds(VacancySpecification.of(null), Pageable.unpaged(Sort.by("id"))));
+            for (int from = 0; from < ids.size(); from += LOAD_BATCH_SIZE) {
+                List<Long> batch = ids.subList(from, Math.min(from + LOAD_BATCH_SIZE, ids.size()));
+                load(batch).forEach(vacancy -> loadedVacancies.put(vacancy.getId(), vacancy));
+            }
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                changedDuringRebuild = null;
+            }
+            log.error("Vacancy search index was not rebuilt, the previous one is kept", e);
+            return;
+        }
+
+        Set<Long> changed;
+        List<VacancyResponseDto> snapshot;
+        long snapshotVersion;
+        synchronized (this) {
+            changed = changedDuringRebuild;
+            changedDuringRebuild = null;
+            vacancies.clear();
+            vacancies.putAll(loadedVacancies);
+            snapshot = List.copyOf(vacancies.values());
+            snapshotVersion = ++version;
+        }
+        publish(snapshot, snapshotVersion);
+        loaded = true;
+        // the changes committed while the vacancies were read may be missing from them
+        changed.forEach(this::submit);
+
+        log.info("Vacancy search index rebuilt with {} vacancies in {} ms",
+                loadedVacancies.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Records the change of the vacancy for the worker, the changes recorded while it is busy are read together.
+     */
+    private synchronized void submit(Long vacancyId) {
+        if (changedDuringRebuild != null) {
+            changedDuringRebuild.add(vacancyId);
+        }
+
+        pendingChanges.add(vacancyId);
+        if (!workerScheduled) {
+            // the worker takes the lock before it reads the flag, so it is set before the worker can clear it
+            worker.execute(this::applyPendingChanges);
+            workerScheduled = true;
+        }
+    }
+
+    /**
+     * Reads the changed vacancies, applies them and publishes a new index, until no change is pending.
+     * A vacancy changed again while it is read stays pending and is read once more.
+     */
+    private void applyPendingChanges() {
+        while (true) {
+            Set<Long> changed;
+            synchronized (this) {
+                if (pendingChanges.isEmpty()) {
+                    workerScheduled = false;
+                    return;
+                }
+                changed = pendingChanges;
+                pendingChanges = new HashSet<>();
+            }
+
+            Map<Long, VacancyResponseDto> found = new HashMap<>();
+            try {
+                List<Long> ids = new ArrayList<>(changed);
+                for (int from = 0; from < ids.size(); from += LOAD_BATCH_SIZE) {
+                    load(ids.subList(from, Math.min(from + LOAD_BATCH_SIZE, ids.size())))
+                            .forEach(vacancy -> found.put(vacancy.getId(), vacancy));
+                }
+            } catch (RuntimeException e) {
+                log.warn("Vacancy search index was not updated, it will be rebuilt later", e);
+                continue;
+            }
+
+            List<VacancyResponseDto> snapshot;
+            long snapshotVersion;
+            synchronized (this) {
+                for (Long vacancyId : changed) {
+                    VacancyResponseDto vacancy = found.get(vacancyId);
+                    if (vacancy == null) {
+                        vacancies.remove(vacancyId);
+                    } else {
+                        vacancies.put(vacancyId, vacancy);
+                    }
+                }
+                snapshot = List.copyOf(vacancies.values());
+                snapshotVersion = ++version;
+            }
+            publish(snapshot, snapshotVersion);
+        }
+    }
+
+    /**
+     * Builds the index of the vacancies and publishes it, unless an index of a later version is already published.
+     */
+    private void publish(List<VacancyResponseDto> snapshot, long snapshotVersion) {
+        VacancySearchIndex builtIndex = VacancySearchIndex.of(snapshot);
+        synchronized (this) {
+            if (snapshotVersion > publishedVersion) {
+                publishedVersion = snapshotVersion;
+                index = builtIndex;
+            }
+        }
+    }
+
+    /**
+     * Reads the vacancies with their recruiters and technology stacks as they are returned by the vacancy list.
+     */
+    private List<VacancyResponseDto> load(List<Long> ids) {
+        return Objects.requireNonNull(transactionTemplate.execute(status ->
+                vacancyRepository.findAllWithRecruiterAndTechnologyStackByIdIn(ids).stream()
+                        .map(vacancyMapper::toResponseDto)
+                        .toList()));
+    }
+
+    /**
+     * Runs the action after the current transaction is committed, or immediately if there is no transaction.
+     * A failure is logged and does not affect the committed change, the index catches up with the next rebuild.
+     */
+    private void afterCommit(Runnable action) {
+        if (!enabled) {
+            return;
+        }
+
+        Runnable safeAction = () -> {
+            try {
+                action.run();
+            } catch (RuntimeException e) {
+                log.warn("Vacancy search index was not updated, it will be rebuilt later", e);
+            }
+        };
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    safeAction.run();
+                }
+            });
+        } else {
+            safeAction.run();
+        }
+    }
+
+    /**
+     * Copies the shared vacancies, so the caller can mark the ones applied by the current user.
+     */
+    private static List<VacancyResponseDto> copy(List<VacancyResponseDto> vacancies) {
+        return vacancies.stream()
+                .map(vacancy -> vacancy.toBuilder().build())
+                .toList();
+    }
+}
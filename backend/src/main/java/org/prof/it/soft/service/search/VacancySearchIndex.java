@@ -0,0 +1,268 @@
+package org.prof.it.soft.service.search;
+
+import org.prof.it.soft.dto.filter.VacancyFilterDto;
+import org.prof.it.soft.dto.response.VacancyFacetsDto;
+import org.prof.it.soft.dto.response.VacancyResponseDto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * An immutable in-memory index of the vacancies.
+ * The vacancies are kept in the order of their ids, the n-th bit of a bitset refers to the n-th vacancy.
+ * The salary, the creation date and the recruiter are kept in primitive columns and are scanned,
+ * the position, the company and every technology have a posting list, so a filter is evaluated
+ * by the intersection of bitsets and the matching vacancies are paged in the order of their ids.
+ * The conditions must be kept in sync with {@link org.prof.it.soft.spec.VacancySpecification#toPredicate},
+ * {@code VacancyFilterParityTest} compares their matches for every combination of the conditions.
+ */
+public final class VacancySearchIndex {
+
+    private static final VacancySearchIndex EMPTY = of(List.of());
+
+    private final long[] ids;
+    private final float[] salaries;
+    private final long[] createdAts;
+    private final long[] recruiterIds;
+
+    private final Map<String, BitSet> positions;
+    private final Map<String, BitSet> companies;
+    private final Map<String, BitSet> technologies;
+
+    /**
+     * The vacancies in the order of {@link #ids}, they are shared and must not be modified.
+     */
+    private final VacancyResponseDto[] vacancies;
+
+    private VacancySearchIndex(VacancyResponseDto[] vacancies) {
+        int size = vacancies.length;
+        this.vacancies = vacancies;
+        this.ids = new long[size];
+        this.salaries = new float[size];
+        this.createdAts = new long[size];
+        this.recruiterIds = new long[size];
+        this.positions = new HashMap<>();
+        this.companies = new HashMap<>();
+        this.technologies = new HashMap<>();
+
+        for (int i = 0; i < size; i++) {
+            VacancyResponseDto vacancy = vacancies[i];
+            ids[i] = vacancy.getId();
+            // NaN fails every comparison, as NULL does in SQL
+            salaries[i] = vacancy.getSalary() == null ? Float.NaN : vacancy.getSalary();
+            createdAts[i] = toEpochNanos(vacancy.getCreatedAt());
+            recruiterIds[i] = vacancy.getRecruiter() == null ? 0L : vacancy.getRecruiter().getId();
+
+            post(positions, vacancy.getPosition(), i);
+            if (vacancy.getRecruiter() != null) {
+                post(companies, vacancy.getRecruiter().getCompanyName(), i);
+            }
+            if (vacancy.getTechnologyStack() != null) {
+                for (String technology : vacancy.getTechnologyStack()) {
+                    post(technologies, technology, i);
+                }
+            }
+        }
+    }
+
+    /**
+     * Builds the index of the vacancies.
+     *
+     * @param vacancies the vacancies with their recruiters and technology stacks
+     * @return the index
+     */
+    public static VacancySearchIndex of(Collection<VacancyResponseDto> vacancies) {
+        VacancyResponseDto[] sorted = vacancies.toArray(VacancyResponseDto[]::new);
+        Arrays.sort(sorted, Comparator.comparing(VacancyResponseDto::getId));
+        return new VacancySearchIndex(sorted);
+    }
+
+    /**
+     * @return the index without vacancies
+     */
+    public static VacancySearchIndex empty() {
+        return EMPTY;
+    }
+
+    /**
+     * @return the number of indexed vacancies
+     */
+    public int size() {
+        return ids.length;
+    }
+
+    /**
+     * Finds the vacancies that match the filter.
+     * The search query is not supported and must be handled by the caller.
+     *
+     * @param vacancyFilterDto the filter of the vacancies, may be null
+     * @param afterId          the id after which the vacancies are matched, null to match from the first one
+     * @return the bitset of the positions of the matching vacancies
+     */
+    public BitSet match(VacancyFilterDto vacancyFilterDto, Long afterId) {
+        BitSet matches = new BitSet(ids.length);
+        matches.set(afterId == null ? 0 : indexAfter(afterId), ids.length);
+        if (vacancyFilterDto == null) {
+            return matches;
+        }
+
+        // the posting lists shrink the candidates before the columns are scanned
+        if (vacancyFilterDto.getPosition() != null) {
+            intersect(matches, positions.get(vacancyFilterDto.getPosition()));
+        }
+
+        if (vacancyFilterDto.getCompanyName() != null) {
+            intersect(matches, companies.get(vacancyFilterDto.getCompanyName()));
+        }
+
+        if (vacancyFilterDto.getTechnologyStack() != null) {
+            for (String technology : vacancyFilterDto.getTechnologyStack()) {
+                intersect(matches, technologies.get(technology));
+            }
+        }
+
+        Long recruiterId = vacancyFilterDto.getRecruiterId();
+        Float minSalary = vacancyFilterDto.getMinSalary();
+        Float maxSalary = vacancyFilterDto.getMaxSalary();
+        Long createdAtMin = vacancyFilterDto.getCreatedAtMin() == null ? null : toEpochNanos(vacancyFilterDto.getCreatedAtMin());
+        Long createdAtMax = vacancyFilterDto.getCreatedAtMax() == null ? null : toEpochNanos(vacancyFilterDto.getCreatedAtMax());
+        if (recruiterId == null && minSalary == null && maxSalary == null && createdAtMin == null && createdAtMax == null) {
+            return matches;
+        }
+
+        for (int i = matches.nextSetBit(0); i >= 0; i = matches.nextSetBit(i + 1)) {
+            boolean matched = (recruiterId == null || recruiterIds[i] == recruiterId)
+                    && (minSalary == null || salaries[i] >= minSalary)
+                    && (maxSalary == null || salaries[i] <= maxSalary)
+                    && (createdAtMin == null || createdAts[i] >= createdAtMin)
+                    && (createdAtMax == null || createdAts[i] <= createdAtMax);
+            if (!matched) {
+                matches.clear(i);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Gets the matching vacancies in the order of their ids.
+     *
+     * @param matches the positions of the matching vacancies, see {@link #match}
+     * @param offset  the number of matching vacancies to skip
+     * @param limit   the maximum number of vacancies to return
+     * @return the vacancies, they are shared and must be copied before they are modified
+     */
+    public List<VacancyResponseDto> get(BitSet matches, long offset, int limit) {
+        int i = matches.nextSetBit(0);
+        for (long skipped = 0; skipped < offset && i >= 0; skipped++) {
+            i = matches.nextSetBit(i + 1);
+        }
+
+        List<VacancyResponseDto> result = new ArrayList<>(Math.min(limit, ids.length));
+        for (; i >= 0 && result.size() < limit; i = matches.nextSetBit(i + 1)) {
+            result.add(vacancies[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Counts the matching vacancies per technology, company, salary range and month of creation.
+     * The technologies and the companies are counted by intersecting their posting lists with the matches.
+     * The counts are the same as {@link org.prof.it.soft.repo.VacancyRepositoryCustom#countFacets} returns.
+     *
+     * @param matches           the positions of the matching vacancies, see {@link #match}
+     * @param salaryBucketWidth the width of the salary ranges
+     * @param maxValues         the maximum number of technologies and companies, the most frequent ones are kept
+     * @return the facets of the matching vacancies
+     */
+    public VacancyFacetsDto countFacets(BitSet matches, float salaryBucketWidth, int maxValues) {
+        Map<Float, Long> salaries = new TreeMap<>();
+        Map<LocalDate, Long> months = new TreeMap<>();
+        for (int i = matches.nextSetBit(0); i >= 0; i = matches.nextSetBit(i + 1)) {
+            if (!Float.isNaN(this.salaries[i])) {
+                float from = (float) (Math.floor((double) this.salaries[i] / salaryBucketWidth) * salaryBucketWidth);
+                salaries.merge(from, 1L, Long::sum);
+            }
+            if (vacancies[i].getCreatedAt() != null) {
+                months.merge(vacancies[i].getCreatedAt().toLocalDate().withDayOfMonth(1), 1L, Long::sum);
+            }
+        }
+
+        return VacancyFacetsDto.builder()
+                .technologyStack(countPostings(technologies, matches, maxValues))
+                .companyName(countPostings(companies, matches, maxValues))
+                .salary(salaries.entrySet().stream()
+                        .map(bucket -> new VacancyFacetsDto.Bucket<>(bucket.getKey(),
+                                bucket.getKey() + salaryBucketWidth, bucket.getValue()))
+                        .toList())
+                .createdAt(months.entrySet().stream()
+                        .map(bucket -> new VacancyFacetsDto.Bucket<>(bucket.getKey(),
+                                bucket.getKey().plusMonths(1), bucket.getValue()))
+                        .toList())
+                .build();
+    }
+
+    /**
+     * @return the vacancies in the order of their ids, they are shared and must not be modified
+     */
+    public List<VacancyResponseDto> getVacancies() {
+        return Arrays.asList(vacancies);
+    }
+
+    /**
+     * Finds the position of the first vacancy with an id greater than the given one.
+     */
+    private int indexAfter(long afterId) {
+        int index = Arrays.binarySearch(ids, afterId);
+        return index >= 0 ? index + 1 : -index - 1;
+    }
+
+    /**
+     * Counts the matches in every posting list and keeps the most frequent terms, ties are ordered by the term.
+     */
+    private static Map<String, Long> countPostings(Map<String, BitSet> postings, BitSet matches, int maxValues) {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        postings.entrySet().stream()
+                .map(posting -> {
+                    BitSet matchingPostings = (BitSet) posting.getValue().clone();
+                    matchingPostings.and(matches);
+                    return Map.entry(posting.getKey(), (long) matchingPostings.cardinality());
+                })
+                .filter(count -> count.getValue() > 0)
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .limit(maxValues)
+                .forEach(count -> counts.put(count.getKey(), count.getValue()));
+        return counts;
+    }
+
+    private static void intersect(BitSet matches, BitSet postings) {
+        if (postings == null) {
+            matches.clear();
+        } else {
+            matches.and(postings);
+        }
+    }
+
+    private static void post(Map<String, BitSet> postings, String term, int index) {
+        if (term != null) {
+            postings.computeIfAbsent(term, key -> new BitSet()).set(index);
+        }
+    }
+
+    private static long toEpochNanos(LocalDateTime dateTime) {
+        if (dateTime == null) {
+            return Long.MIN_VALUE;
+        }
+        return dateTime.toEpochSecond(ZoneOffset.UTC) * 1_000_000_000L + dateTime.getNano();
+    }
+}
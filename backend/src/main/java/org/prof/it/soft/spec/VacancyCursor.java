@@ -0,0 +1,49 @@
+package org.prof.it.soft.spec;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.prof.it.soft.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque cursor of the vacancy keyset pagination.
+ * The vacancies are sorted by id, so the cursor holds the id of the last vacancy of a slice,
+ * prefixed with a version to keep old cursors decodable if the sort key changes.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class VacancyCursor {
+
+    private static final String VERSION_PREFIX = "v1:";
+
+    /**
+     * Encodes the id of the last vacancy of a slice.
+     *
+     * @param lastVacancyId the id of the last vacancy
+     * @return the URL-safe cursor
+     */
+    public static String encode(Long lastVacancyId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((VERSION_PREFIX + lastVacancyId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes the id of the last vacancy of the previous slice.
+     *
+     * @param cursor the cursor returned by {@link #encode(Long)}
+     * @return the id of the last vacancy
+     * @throws InvalidCursorException if the cursor is malformed
+     */
+    public static Long decode(String cursor) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!decoded.startsWith(VERSION_PREFIX)) {
+                throw new InvalidCursorException("Cursor is invalid");
+            }
+            return Long.valueOf(decoded.substring(VERSION_PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Cursor is invalid");
+        }
+    }
+}
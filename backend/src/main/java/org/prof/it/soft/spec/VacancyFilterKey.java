@@ -0,0 +1,51 @@
+package org.prof.it.soft.spec;
+
+import org.prof.it.soft.dto.filter.VacancyFilterDto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The filter conditions of a {@link VacancyFilterDto} without paging,
+ * normalized so that filters selecting the same vacancies are equal.
+ * The technology stack is sorted and deduplicated because
+ * the order and repetitions of technologies do not change the result.
+ * It is used as a key to share work between identical filters.
+ */
+public record VacancyFilterKey(Long recruiterId, String position, Float minSalary, Float maxSalary,
+                               String companyName, List<String> technologyStack,
+                               LocalDateTime createdAtMin, LocalDateTime createdAtMax, String query) {
+
+    /**
+     * Creates the key of the filter.
+     *
+     * @param vacancyFilterDto the filter, may be null
+     * @return the normalized key of the filter
+     */
+    public static VacancyFilterKey of(VacancyFilterDto vacancyFilterDto) {
+        if (vacancyFilterDto == null) {
+            return new VacancyFilterKey(null, null, null, null, null, List.of(), null, null, null);
+        }
+
+        List<String> technologyStack = vacancyFilterDto.getTechnologyStack() == null
+                ? List.of()
+                : vacancyFilterDto.getTechnologyStack().stream()
+                    .filter(Objects::nonNull)
+                    .distinct()
+                    .sorted()
+                    .toList();
+
+        return new VacancyFilterKey(
+                vacancyFilterDto.getRecruiterId(),
+                vacancyFilterDto.getPosition(),
+                vacancyFilterDto.getMinSalary(),
+                vacancyFilterDto.getMaxSalary(),
+                vacancyFilterDto.getCompanyName(),
+                technologyStack,
+                vacancyFilterDto.getCreatedAtMin(),
+                vacancyFilterDto.getCreatedAtMax(),
+                VacancySearchQuery.normalize(vacancyFilterDto.getQuery())
+        );
+    }
+}
@@ -0,0 +1,125 @@
+package org.prof.it.soft.spec;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.prof.it.soft.dto.filter.VacancyFilterDto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Native SQL counterpart of {@link VacancySpecification}.
+ * It is used where the query has to be passed to PostgreSQL as plain SQL,
+ * for example to ask the planner for a row estimate or to read the flat report rows.
+ * The conditions must be kept in sync with {@link VacancySpecification#toPredicate},
+ * {@code VacancyFilterParityTest} compares their matches for every combination of the conditions.
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class VacancyFilterSql {
+
+    /**
+     * The {@code WHERE} clause with {@code ?} placeholders, or an empty string if there are no conditions.
+     * It refers to the vacancies as {@code v} and, if {@link #recruiterJoinRequired}, to the recruiters as {@code r}.
+     */
+    private final String whereClause;
+
+    /**
+     * Whether the conditions refer to the recruiters, which must then be joined as {@code r}.
+     */
+    private final boolean recruiterJoinRequired;
+
+    /**
+     * The values of the placeholders in order.
+     */
+    private final List<Object> parameters;
+
+    /**
+     * Builds the SQL for the filter.
+     *
+     * @param vacancyFilterDto the DTO with the filter parameters, may be null
+     * @return the SQL with its parameters
+     */
+    public static VacancyFilterSql of(VacancyFilterDto vacancyFilterDto) {
+        List<String> conditions = new ArrayList<>();
+        List<Object> parameters = new ArrayList<>();
+        boolean recruiterJoinRequired = false;
+
+        if (vacancyFilterDto != null) {
+            if (vacancyFilterDto.getCompanyName() != null) {
+                recruiterJoinRequired = true;
+                conditions.add("r.company_name = ?");
+                parameters.add(vacancyFilterDto.getCompanyName());
+            }
+
+            if (vacancyFilterDto.getPosition() != null) {
+                conditions.add("v.position = ?");
+                parameters.add(vacancyFilterDto.getPosition());
+            }
+
+            if (vacancyFilterDto.getMinSalary() != null) {
+                conditions.add("v.salary >= ?");
+                parameters.add(vacancyFilterDto.getMinSalary());
+            }
+
+            if (vacancyFilterDto.getMaxSalary() != null) {
+                conditions.add("v.salary <= ?");
+                parameters.add(vacancyFilterDto.getMaxSalary());
+            }
+
+            if (vacancyFilterDto.getRecruiterId() != null) {
+                conditions.add("v.recruiter_id = ?");
+                parameters.add(vacancyFilterDto.getRecruiterId());
+            }
+
+            if (vacancyFilterDto.getTechnologyStack() != null && !vacancyFilterDto.getTechnologyStack().isEmpty()) {
+                conditions.add("v.technologies @> CAST(? AS varchar[])");
+                parameters.add(vacancyFilterDto.getTechnologyStack().toArray(String[]::new));
+            }
+
+            String query = VacancySearchQuery.normalize(vacancyFilterDto.getQuery());
+            if (query != null) {
+                conditions.add("(v.search_vector @@ websearch_to_tsquery('simple', ?)"
+                        + " OR ? <% v.position"
+                        + " OR v.recruiter_id = ANY(ARRAY(SELECT sr.id FROM recruiters sr WHERE ? <% sr.company_name))"
+                        + " OR v.id = ANY(ARRAY(SELECT sts.vacancy_id FROM technology_stacks sts WHERE ? <% sts.name)))");
+                parameters.addAll(List.of(query, query, query, query));
+            }
+
+            if (vacancyFilterDto.getCreatedAtMin() != null) {
+                conditions.add("v.created_at >= ?");
+                parameters.add(vacancyFilterDto.getCreatedAtMin());
+            }
+
+            if (vacancyFilterDto.getCreatedAtMax() != null) {
+                conditions.add("v.created_at <= ?");
+                parameters.add(vacancyFilterDto.getCreatedAtMax());
+            }
+        }
+
+        String whereClause = conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions);
+        return new VacancyFilterSql(whereClause, recruiterJoinRequired, List.copyOf(parameters));
+    }
+
+    /**
+     * @return the select of the ids of the matching vacancies
+     */
+    public String selectIds() {
+        return "SELECT v.id FROM vacancies v" + recruiterJoin() + whereClause;
+    }
+
+    /**
+     * The count of the matching vacancies up to a limit, which is bound to an extra placeholder after the parameters.
+     * The vacancies are not ordered, so the database stops scanning once the limit is reached.
+     *
+     * @return the count of the matching vacancies up to the limit
+     */
+    public String countUpToLimit() {
+        return "SELECT count(*) FROM (SELECT 1 FROM vacancies v" + recruiterJoin() + whereClause + " LIMIT ?) limited";
+    }
+
+    private String recruiterJoin() {
+        return recruiterJoinRequired ? " JOIN recruiters r ON r.id = v.recruiter_id" : "";
+    }
+}
@@ -0,0 +1,70 @@
+package org.prof.it.soft.spec;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.query.sqm.function.SqmFunctionRegistry;
+import org.hibernate.type.BasicType;
+import org.hibernate.type.BasicTypeRegistry;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Registers the PostgreSQL search operators of the vacancy search as query functions,
+ * so that {@link VacancySpecification} renders the operators backed by the search indexes.
+ * The functions are registered through {@code META-INF/services}.
+ */
+public class VacancySearchFunctions implements FunctionContributor {
+
+    /**
+     * {@code vacancy_text_match(searchVector, query)}, the full-text match of the search document.
+     */
+    public static final String TEXT_MATCH = "vacancy_text_match";
+
+    /**
+     * {@code vacancy_text_rank(searchVector, query)}, the relevance of the search document to the query.
+     */
+    public static final String TEXT_RANK = "vacancy_text_rank";
+
+    /**
+     * {@code vacancy_similar(query, text)}, whether the query is similar to a word of the text.
+     */
+    public static final String SIMILAR = "vacancy_similar";
+
+    /**
+     * {@code vacancy_company_similar(recruiterId, query)}, whether the company of the recruiter is similar to the query.
+     */
+    public static final String COMPANY_SIMILAR = "vacancy_company_similar";
+
+    /**
+     * {@code vacancy_technology_similar(vacancyId, query)}, whether a technology of the vacancy is similar to the query.
+     */
+    public static final String TECHNOLOGY_SIMILAR = "vacancy_technology_similar";
+
+    /**
+     * {@code vacancy_technologies_contain(technologies, technologyStack)}, whether the technologies contain the whole stack.
+     */
+    public static final String TECHNOLOGIES_CONTAIN = "vacancy_technologies_contain";
+
+    /**
+     * The text search configuration of the search document, see changeset 011.
+     */
+    private static final String TEXT_SEARCH_QUERY = "websearch_to_tsquery('simple', ?2)";
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        BasicTypeRegistry basicTypeRegistry = functionContributions.getTypeConfiguration().getBasicTypeRegistry();
+        BasicType<Boolean> booleanType = basicTypeRegistry.resolve(StandardBasicTypes.BOOLEAN);
+        BasicType<Double> doubleType = basicTypeRegistry.resolve(StandardBasicTypes.DOUBLE);
+        SqmFunctionRegistry functionRegistry = functionContributions.getFunctionRegistry();
+
+        functionRegistry.registerPattern(TEXT_MATCH, "(?1 @@ " + TEXT_SEARCH_QUERY + ")", booleanType);
+        functionRegistry.registerPattern(TEXT_RANK, "ts_rank(?1, " + TEXT_SEARCH_QUERY + ")", doubleType);
+        functionRegistry.registerPattern(SIMILAR, "(?1 <% ?2)", booleanType);
+        functionRegistry.registerPattern(TECHNOLOGIES_CONTAIN, "(?1 @> ?2)", booleanType);
+
+        // the related ids are collected into an array, so that the match is an index condition on the vacancies
+        functionRegistry.registerPattern(COMPANY_SIMILAR,
+                "(?1 = ANY(ARRAY(SELECT r.id FROM recruiters r WHERE ?2 <% r.company_name)))", booleanType);
+        functionRegistry.registerPattern(TECHNOLOGY_SIMILAR,
+                "(?1 = ANY(ARRAY(SELECT ts.vacancy_id FROM technology_stacks ts WHERE ?2 <% ts.name)))", booleanType);
+    }
+}
@@ -0,0 +1,24 @@
+package org.prof.it.soft.spec;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * Normalization of the search query of the vacancy filter.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class VacancySearchQuery {
+
+    /**
+     * Trims the search query, a blank query does not filter the vacancies.
+     *
+     * @param query the search query, may be null
+     * @return the trimmed query, or null if it is blank
+     */
+    public static String normalize(String query) {
+        if (query == null || query.isBlank()) {
+            return null;
+        }
+        return query.strip();
+    }
+}
@@ -2,10 +2,13 @@ package org.prof.it.soft.spec;
 
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Order;
 import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
 import org.prof.it.soft.dto.filter.VacancyFilterDto;
 import org.prof.it.soft.entity.Vacancy;
 import org.springframework.data.jpa.domain.Specification;
@@ -16,7 +19,8 @@ import java.util.List;
 /**
  * Specification for filtering vacancies.
  * It supports filtering by position, salary, recruiter,
- * company name, technology stack and creation date.
+ * company name, technology stack, creation date and a search query.
+ * In the cursor pagination mode it also seeks past the id of the previous slice.
  */
 @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
 public class VacancySpecification implements Specification<Vacancy> {
@@ -30,6 +34,22 @@ public class VacancySpecification implements Specification<Vacancy> {
     private final LocalDateTime createdAtMin;
     private final LocalDateTime createdAtMax;
 
+    /**
+     * The search query, it is matched by the full-text search or by the similarity of words.
+     */
+    private final String query;
+
+    /**
+     * Whether the vacancies are ordered by the relevance to the search query,
+     * they are not in the cursor pagination mode, which seeks by id.
+     */
+    private final boolean rankedByRelevance;
+
+    /**
+     * The id of the last vacancy of the previous slice in the cursor pagination mode.
+     */
+    private final Long afterId;
+
     /**
      * Creates a new instance of the {@link VacancySpecification} class.
      *
@@ -46,10 +66,15 @@ public class VacancySpecification implements Specification<Vacancy> {
                     null,
                     null,
                     null,
+                    null,
+                    null,
+                    false,
                     null
             );
         }
 
+        String query = VacancySearchQuery.normalize(vacancyFilterDto.getQuery());
+
         return new VacancySpecification(
                 vacancyFilterDto.getPosition(),
                 vacancyFilterDto.getMinSalary(),
@@ -58,7 +83,10 @@ public class VacancySpecification implements Specification<Vacancy> {
                 vacancyFilterDto.getCompanyName(),
                 vacancyFilterDto.getTechnologyStack(),
                 vacancyFilterDto.getCreatedAtMin(),
-                vacancyFilterDto.getCreatedAtMax()
+                vacancyFilterDto.getCreatedAtMax(),
+                query,
+                query != null && !vacancyFilterDto.isCursorPagination(),
+                vacancyFilterDto.getAfter() == null ? null : VacancyCursor.decode(vacancyFilterDto.getAfter())
         );
     }
 
@@ -87,13 +115,13 @@ public class VacancySpecification implements Specification<Vacancy> {
         }
 
         if (technologyStack != null && !technologyStack.isEmpty()) {
-            Predicate technologyStackPredicate = criteriaBuilder.conjunction();
+            // rendered as the array containment (technologies @> ?), which is answered by the GIN index,
+            // the technologies are bound as a parameter, a literal would be inlined into the SQL
+            Expression<String[]> technologies = ((HibernateCriteriaBuilder) criteriaBuilder).value(technologyStack.toArray(String[]::new));
+            Expression<Boolean> containsTechnologyStack = criteriaBuilder.function(VacancySearchFunctions.TECHNOLOGIES_CONTAIN, Boolean.class,
+                    root.get("technologies"), technologies);
 
-            for (String technology : technologyStack) {
-                technologyStackPredicate = criteriaBuilder.and(technologyStackPredicate, criteriaBuilder.isMember(technology, root.get("technologyStack")));
-            }
-
-            predicate = criteriaBuilder.and(predicate, technologyStackPredicate);
+            predicate = criteriaBuilder.and(predicate, criteriaBuilder.isTrue(containsTechnologyStack));
         }
 
         if (createdAtMin != null) {
@@ -104,8 +132,63 @@ public class VacancySpecification implements Specification<Vacancy> {
             predicate = criteriaBuilder.and(predicate, criteriaBuilder.lessThanOrEqualTo(root.get("createdAt"), createdAtMax));
         }
 
+        if (query != null) {
+            predicate = criteriaBuilder.and(predicate, toSearchPredicate(root, criteriaBuilder));
+        }
+
+        // seek predicate of the cursor pagination, it is backed by the primary key index
+        if (afterId != null) {
+            predicate = criteriaBuilder.and(predicate, criteriaBuilder.greaterThan(root.get("id"), afterId));
+        }
+
         return predicate;
     }
 
+    /**
+     * Orders the vacancies by the relevance to the search query, the most relevant first.
+     *
+     * @param root            the root of the query
+     * @param criteriaBuilder the criteria builder
+     * @return the relevance order, or an empty list if the vacancies are not ranked
+     */
+    public List<Order> toRelevanceOrder(Root<Vacancy> root, CriteriaBuilder criteriaBuilder) {
+        if (!rankedByRelevance) {
+            return List.of();
+        }
+
+        Expression<Double> rank = criteriaBuilder.function(VacancySearchFunctions.TEXT_RANK, Double.class,
+                root.get("searchVector"), queryParameter(criteriaBuilder));
+        return List.of(criteriaBuilder.desc(rank));
+    }
+
+    /**
+     * Matches the search query by the full-text search over the position and the technologies,
+     * or by the similarity of words of the position, the company name or a technology, which tolerates typos.
+     * Every alternative is backed by an index, so the database can combine them with a bitmap OR.
+     *
+     * @param root            the root of the query
+     * @param criteriaBuilder the criteria builder
+     * @return the search predicate
+     */
+    private Predicate toSearchPredicate(Root<Vacancy> root, CriteriaBuilder criteriaBuilder) {
+        Expression<String> queryParameter = queryParameter(criteriaBuilder);
+
+        return criteriaBuilder.or(
+                criteriaBuilder.isTrue(criteriaBuilder.function(VacancySearchFunctions.TEXT_MATCH, Boolean.class,
+                        root.get("searchVector"), queryParameter)),
+                criteriaBuilder.isTrue(criteriaBuilder.function(VacancySearchFunctions.SIMILAR, Boolean.class,
+                        queryParameter, root.get("position"))),
+                criteriaBuilder.isTrue(criteriaBuilder.function(VacancySearchFunctions.COMPANY_SIMILAR, Boolean.class,
+                        root.get("recruiter").get("id"), queryParameter)),
+                criteriaBuilder.isTrue(criteriaBuilder.function(VacancySearchFunctions.TECHNOLOGY_SIMILAR, Boolean.class,
+                        root.get("id"), queryParameter))
+        );
+    }
 
+    /**
+     * @return the search query bound as a parameter, a literal would be inlined into the SQL
+     */
+    private Expression<String> queryParameter(CriteriaBuilder criteriaBuilder) {
+        return ((HibernateCriteriaBuilder) criteriaBuilder).value(query);
+    }
 }
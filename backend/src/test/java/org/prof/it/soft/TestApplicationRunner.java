@@ -1,7 +1,26 @@
 package org.prof.it.soft;
 
 import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @TestConfiguration
 public class TestApplicationRunner {
+
+    /**
+     * Runs streaming responses on the test thread,
+     * so they see the data of the test transaction and are complete when MockMvc returns.
+     */
+    @Bean
+    public WebMvcConfigurer synchronousAsyncSupportConfigurer() {
+        return new WebMvcConfigurer() {
+            @Override
+            public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+                configurer.setTaskExecutor(new TaskExecutorAdapter(new SyncTaskExecutor()));
+            }
+        };
+    }
 }
@@ -0,0 +1,141 @@
+package org.prof.it.soft.integration.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The timings of one benchmark run, written as JSON for the comparison with later runs
+ * and as a Markdown table for reading. The report records the data set specification,
+ * runs are comparable only when their specifications are equal.
+ */
+public class BenchmarkReport {
+
+    private final LocalDateTime startedAt = LocalDateTime.now();
+    private final SyntheticDataSpec spec;
+    private final String databaseVersion;
+    private final int warmupIterations;
+    private final int measurementIterations;
+    private final List<Result> results = new ArrayList<>();
+
+    public BenchmarkReport(SyntheticDataSpec spec, String databaseVersion, int warmupIterations, int measurementIterations) {
+        this.spec = spec;
+        this.databaseVersion = databaseVersion;
+        this.warmupIterations = warmupIterations;
+        this.measurementIterations = measurementIterations;
+    }
+
+    /**
+     * Adds the timings of a query.
+     *
+     * @param layer       the layer the query is called through: repository, service or rest
+     * @param name        the name of the query, unique within the layer
+     * @param nanos       the durations of the measured iterations in nanoseconds
+     */
+    public void add(String layer, String name, long[] nanos) {
+        long[] sorted = nanos.clone();
+        Arrays.sort(sorted);
+        results.add(new Result(layer, name, sorted.length,
+                millis(sorted[0]),
+                millis(percentile(sorted, 50)),
+                millis(percentile(sorted, 95)),
+                millis(sorted[sorted.length - 1]),
+                millis(Arrays.stream(sorted).sum() / sorted.length)));
+    }
+
+    public List<Result> getResults() {
+        return List.copyOf(results);
+    }
+
+    /**
+     * Writes {@code report-<timestamp>.json} and {@code report-<timestamp>.md} to the directory.
+     * If a baseline report is given, the Markdown table shows the change of the median of every query.
+     *
+     * @param directory    the directory of the reports, it is created if it does not exist
+     * @param baseline     the JSON report of a previous run, may be null
+     * @param objectMapper the object mapper
+     * @return the path of the JSON report
+     * @throws IOException if the report cannot be written
+     */
+    public Path write(Path directory, Path baseline, ObjectMapper objectMapper) throws IOException {
+        Files.createDirectories(directory);
+        String name = "report-" + startedAt.format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+
+        Map<String, Object> json = new HashMap<>();
+        json.put("started_at", startedAt.toString());
+        json.put("spec", spec);
+        json.put("database_version", databaseVersion);
+        json.put("warmup_iterations", warmupIterations);
+        json.put("measurement_iterations", measurementIterations);
+        json.put("results", results);
+        Path jsonPath = directory.resolve(name + ".json");
+        objectMapper.copy().enable(SerializationFeature.INDENT_OUTPUT).writeValue(jsonPath.toFile(), json);
+
+        Files.writeString(directory.resolve(name + ".md"), toMarkdown(baseline == null ? null : objectMapper.readTree(baseline.toFile())));
+        return jsonPath;
+    }
+
+    private String toMarkdown(JsonNode baseline) {
+        Map<String, Double> baselineMedians = new HashMap<>();
+        if (baseline != null) {
+            if (!spec.equals(new ObjectMapper().convertValue(baseline.get("spec"), SyntheticDataSpec.class))) {
+                throw new IllegalArgumentException("The baseline was measured on a different data set: " + baseline.get("spec"));
+            }
+            for (JsonNode result : baseline.path("results")) {
+                baselineMedians.put(result.get("layer").asText() + " " + result.get("name").asText(), result.get("p50").asDouble());
+            }
+        }
+
+        StringBuilder markdown = new StringBuilder();
+        markdown.append("# Database benchmark ").append(startedAt).append("\n\n");
+        markdown.append("- data set: ").append(spec).append('\n');
+        markdown.append("- database: ").append(databaseVersion).append('\n');
+        markdown.append("- iterations: ").append(warmupIterations).append(" warmup, ")
+                .append(measurementIterations).append(" measured\n\n");
+
+        markdown.append("| layer | query | min ms | p50 ms | p95 ms | max ms | mean ms |")
+                .append(baseline == null ? "" : " baseline p50 ms | change |").append('\n');
+        markdown.append("|---|---|---:|---:|---:|---:|---:|").append(baseline == null ? "" : "---:|---:|").append('\n');
+        for (Result result : results) {
+            markdown.append(String.format(Locale.ROOT, "| %s | %s | %.3f | %.3f | %.3f | %.3f | %.3f |",
+                    result.layer(), result.name(), result.min(), result.p50(), result.p95(), result.max(), result.mean()));
+            if (baseline != null) {
+                Double baselineMedian = baselineMedians.get(result.layer() + " " + result.name());
+                markdown.append(baselineMedian == null
+                        ? " | |"
+                        : String.format(Locale.ROOT, " %.3f | %+.1f%% |", baselineMedian,
+                        (result.p50() - baselineMedian) / baselineMedian * 100));
+            }
+            markdown.append('\n');
+        }
+        return markdown.toString();
+    }
+
+    private static long percentile(long[] sorted, int percentile) {
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    /**
+     * The timings of a query in milliseconds.
+     */
+    public record Result(String layer, String name, int iterations, double min, double p50, double p95, double max,
+                         double mean) {
+    }
+}
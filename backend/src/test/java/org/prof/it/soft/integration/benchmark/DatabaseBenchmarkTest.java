@@ -0,0 +1,389 @@
+package org.prof.it.soft.integration.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.prof.it.soft.TestApplicationRunner;
+import org.prof.it.soft.dto.filter.VacancyFilterDto;
+import org.prof.it.soft.entity.Recruiter;
+import org.prof.it.soft.entity.Vacancy;
+import org.prof.it.soft.entity.security.User;
+import org.prof.it.soft.integration.container.BenchmarkPostgresqlContainer;
+import org.prof.it.soft.repo.CandidateApplicationRepository;
+import org.prof.it.soft.repo.RecruiterRepository;
+import org.prof.it.soft.repo.VacancyRepository;
+import org.prof.it.soft.service.CandidateApplicationService;
+import org.prof.it.soft.service.VacancyService;
+import org.prof.it.soft.service.report.ReportFormat;
+import org.prof.it.soft.spec.VacancySpecification;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Times the repository queries, the service methods and the REST endpoints of the vacancies and the applications
+ * against a generated data set, see {@link SyntheticDataGenerator}, and the inserts of vacancies with and without
+ * JDBC batching. The inserted vacancies are rolled back, so the data set is the same for every run.
+ * It is skipped unless {@code -Dbenchmark.db=true} is given, the data set is sized by the
+ * {@code benchmark.db.*} properties of {@link SyntheticDataSpec}:
+ * <pre>
+ * mvn test -Dtest=DatabaseBenchmarkTest -Dbenchmark.db=true -Dbenchmark.db.vacancies=1000000
+ * </pre>
+ * Every query is run {@code benchmark.db.warmup} times (5 by default) and then timed
+ * {@code benchmark.db.iterations} times (20 by default). The report is written to {@code target/db-benchmarks},
+ * a previous JSON report given by {@code -Dbenchmark.db.baseline=<path>} is compared with the run.
+ */
+@Slf4j
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.MOCK,
+        classes = TestApplicationRunner.class
+)
+@ActiveProfiles("test")
+@AutoConfigureMockMvc(addFilters = false)
+@Testcontainers
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@EnabledIfSystemProperty(named = "benchmark.db", matches = "true")
+class DatabaseBenchmarkTest {
+
+    private static final int PAGE_SIZE = 20;
+    private static final int INSERTED_VACANCIES = 500;
+    private static final List<String> INSERTED_TECHNOLOGIES = IntStream.range(0, 10)
+            .mapToObj(i -> "Technology " + i)
+            .toList();
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private VacancyRepository vacancyRepository;
+
+    @Autowired
+    private CandidateApplicationRepository candidateApplicationRepository;
+
+    @Autowired
+    private RecruiterRepository recruiterRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private VacancyService vacancyService;
+
+    @Autowired
+    private CandidateApplicationService candidateApplicationService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final int warmupIterations = Integer.getInteger("benchmark.db.warmup", 5);
+    private final int measurementIterations = Integer.getInteger("benchmark.db.iterations", 20);
+
+    private SyntheticDataSpec spec;
+    private SyntheticData data;
+    private BenchmarkReport report;
+    private TransactionTemplate readOnlyTransaction;
+
+    /**
+     * The results of the queries are kept, so they cannot be optimized away.
+     */
+    private Object lastResult;
+
+    @DynamicPropertySource
+    static void datasourceProperties(DynamicPropertyRegistry registry) {
+        BenchmarkPostgresqlContainer container = BenchmarkPostgresqlContainer.getInstance();
+        registry.add("spring.datasource.url", container::getJdbcUrl);
+        registry.add("spring.datasource.username", container::getUsername);
+        registry.add("spring.datasource.password", container::getPassword);
+    }
+
+    @BeforeAll
+    void generateData() throws Exception {
+        spec = SyntheticDataSpec.fromSystemProperties();
+        data = new SyntheticDataGenerator(dataSource).generate(spec);
+        report = new BenchmarkReport(spec, jdbcTemplate.queryForObject("SELECT version()", String.class),
+                warmupIterations, measurementIterations);
+
+        // the services are called as by a request, whose session stays open until the response is written
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    @Test
+    void runBenchmarks() throws Exception {
+        benchmarkRepositories();
+        benchmarkServices();
+        benchmarkEndpoints();
+        benchmarkInserts();
+
+        String baseline = System.getProperty("benchmark.db.baseline");
+        Path reportPath = report.write(Path.of("target", "db-benchmarks"), baseline == null ? null : Path.of(baseline), objectMapper);
+        log.info("Database benchmark report written to {}", reportPath.toAbsolutePath());
+
+        assertThat(report.getResults()).isNotEmpty();
+        assertThat(Files.exists(reportPath)).isTrue();
+    }
+
+    private void benchmarkRepositories() throws Exception {
+        Pageable firstPage = PageRequest.of(0, PAGE_SIZE, Sort.by(Sort.Direction.ASC, "id"));
+        Pageable deepPage = PageRequest.of(spec.vacancies() / PAGE_SIZE / 2, PAGE_SIZE, Sort.by(Sort.Direction.ASC, "id"));
+
+        for (NamedFilter filter : filters()) {
+            VacancySpecification specification = VacancySpecification.of(filter.filter());
+            time("repository", "findIds, " + filter.name(), () -> vacancyRepository.findIds(specification, firstPage));
+            time("repository", "count, " + filter.name(), () -> vacancyRepository.count(specification));
+        }
+        VacancySpecification noFilter = VacancySpecification.of(null);
+        time("repository", "findIds, no filter, middle page", () -> vacancyRepository.findIds(noFilter, deepPage));
+
+        List<Long> pageIds = vacancyRepository.findIds(noFilter, deepPage);
+        time("repository", "findAllWithRecruiterAndTechnologyStackByIdIn, page",
+                () -> vacancyRepository.findAllWithRecruiterAndTechnologyStackByIdIn(pageIds));
+        time("repository", "findAllByRecruiterId, largest recruiter",
+                () -> vacancyRepository.findAllByRecruiterId(data.largestRecruiterId(), firstPage).getContent());
+        time("repository", "findVacancyIdsAppliedByCandidate, most active candidate, page",
+                () -> vacancyRepository.findVacancyIdsAppliedByCandidate(data.mostActiveCandidateId(), pageIds));
+        time("repository", "findVacancyIdsAppliedByCandidate, most active candidate, single vacancy",
+                () -> vacancyRepository.findVacancyIdsAppliedByCandidate(data.mostActiveCandidateId(),
+                        List.of(data.mostAppliedVacancyId())));
+        time("repository", "countFacets, no filter",
+                () -> vacancyRepository.countFacets(filter(null, null, null, null, null), 1000, 20));
+        time("repository", "streamReportRows, largest recruiter", () -> readOnlyTransaction.execute(status -> {
+            try (Stream<?> rows = vacancyRepository.streamReportRows(filter(data.largestRecruiterId(), null, null, null, null))) {
+                return rows.count();
+            }
+        }));
+
+        time("repository", "findByVacancyId, most applied vacancy",
+                () -> candidateApplicationRepository.findByVacancyId(data.mostAppliedVacancyId(), firstPage).getTotalElements());
+        time("repository", "findByVacancyId, typical vacancy",
+                () -> candidateApplicationRepository.findByVacancyId(data.typicalVacancyId(), firstPage).getTotalElements());
+        time("repository", "findByPersonId, most active candidate",
+                () -> candidateApplicationRepository.findByPersonId(data.mostActiveCandidateId(), firstPage).getTotalElements());
+        time("repository", "findByPersonId, typical candidate",
+                () -> candidateApplicationRepository.findByPersonId(data.typicalCandidateId(), firstPage).getTotalElements());
+        time("repository", "findByRecruiterId, largest recruiter",
+                () -> candidateApplicationRepository.findByRecruiterId(data.largestRecruiterId(), firstPage).getTotalElements());
+        time("repository", "findByRecruiterId, typical recruiter",
+                () -> candidateApplicationRepository.findByRecruiterId(data.typicalRecruiterId(), firstPage).getTotalElements());
+        time("repository", "existsByPersonIdAndVacancyId",
+                () -> candidateApplicationRepository.existsByPersonIdAndVacancyId(data.mostActiveCandidateId(), data.mostAppliedVacancyId()));
+    }
+
+    private void benchmarkServices() throws Exception {
+        User candidate = User.builder().id(data.mostActiveCandidateId()).username("candidate").build();
+
+        for (NamedFilter filter : filters()) {
+            time("service", "getFilteredVacancies, " + filter.name(),
+                    () -> inTransaction(() -> vacancyService.getFilteredVacancies(filter.filter())));
+        }
+        time("service", "getFilteredVacancies, no filter, most active candidate",
+                () -> inTransaction(() -> vacancyService.getFilteredVacancies(filter(null, null, null, null, null), candidate)));
+
+        VacancyFilterDto cursorFilter = filter(null, null, null, null, null);
+        cursorFilter.setPagination(VacancyFilterDto.PaginationMode.CURSOR);
+        time("service", "getVacancySlice, no filter",
+                () -> inTransaction(() -> vacancyService.getVacancySlice(cursorFilter, null)));
+
+        VacancyFilterDto facetsFilter = filter(null, null, null, List.of(data.mostCommonTechnology()), null);
+        facetsFilter.setFacets(true);
+        time("service", "getFilteredVacancies, most common technology with facets",
+                () -> inTransaction(() -> vacancyService.getFilteredVacancies(facetsFilter)));
+
+        time("service", "getResponseVacancyDtoById, most active candidate",
+                () -> inTransaction(() -> vacancyService.getResponseVacancyDtoById(data.mostAppliedVacancyId(), candidate)));
+        time("service", "getVacanciesByRecruiterId, largest recruiter",
+                () -> inTransaction(() -> vacancyService.getVacanciesByRecruiterId(data.largestRecruiterId(), 0L)));
+        time("service", "getCandidateApplicationsByVacancyId, most applied vacancy",
+                () -> inTransaction(() -> candidateApplicationService.getCandidateApplicationsByVacancyId(data.mostAppliedVacancyId(), 0L)));
+        time("service", "getCandidateApplicationsByPersonId, most active candidate",
+                () -> inTransaction(() -> candidateApplicationService.getCandidateApplicationsByPersonId(data.mostActiveCandidateId(), 0L)));
+        time("service", "getCandidateApplicationsByRecruiterId, largest recruiter",
+                () -> inTransaction(() -> candidateApplicationService.getCandidateApplicationsByRecruiterId(data.largestRecruiterId(), 0L)));
+        time("service", "generateReport CSV, largest recruiter", () -> {
+            vacancyService.generateReport(filter(data.largestRecruiterId(), null, null, null, null), ReportFormat.CSV,
+                    OutputStream.nullOutputStream());
+            return null;
+        });
+    }
+
+    private void benchmarkEndpoints() throws Exception {
+        for (NamedFilter filter : filters()) {
+            String content = objectMapper.writeValueAsString(filter.filter());
+            time("rest", "POST /api/v1/vacancy/_list, " + filter.name(), () -> perform(post("/api/v1/vacancy/_list")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(content)));
+        }
+
+        time("rest", "GET /api/v1/vacancy/{id}", () -> perform(get("/api/v1/vacancy/{id}", data.mostAppliedVacancyId())));
+        time("rest", "GET /api/v1/vacancy/{id}/applications, most applied vacancy",
+                () -> perform(get("/api/v1/vacancy/{id}/applications", data.mostAppliedVacancyId())
+                        .param("pageNum", "1")));
+        time("rest", "GET /api/v1/vacancy/person/{id}/applications, most active candidate",
+                () -> perform(get("/api/v1/vacancy/person/{id}/applications", data.mostActiveCandidateId())
+                        .param("pageNum", "0")));
+
+        String reportFilter = objectMapper.writeValueAsString(filter(data.largestRecruiterId(), null, null, null, null));
+        for (ReportFormat format : ReportFormat.values()) {
+            time("rest", "POST /api/v1/vacancy/_report " + format + ", largest recruiter",
+                    () -> perform(post("/api/v1/vacancy/_report")
+                            .param("format", format.name())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(reportFilter)));
+        }
+    }
+
+    private void benchmarkInserts() throws Exception {
+        for (boolean batched : new boolean[]{false, true}) {
+            String name = "saveAllAndFlush " + INSERTED_VACANCIES + " vacancies with 10 technologies, "
+                    + (batched ? "JDBC batches" : "one statement per row");
+            time("insert", name, () -> insertVacancies(batched));
+
+            List<BenchmarkReport.Result> results = report.getResults();
+            double medianSeconds = results.get(results.size() - 1).p50() / 1000;
+            log.info("{}: {} vacancies per second", name, Math.round(INSERTED_VACANCIES / medianSeconds));
+        }
+    }
+
+    /**
+     * Inserts the vacancies of a typical recruiter and rolls them back.
+     *
+     * @param batched whether the configured JDBC batch size is used, otherwise every row is a statement of its own
+     * @return the number of inserted vacancies
+     */
+    private Integer insertVacancies(boolean batched) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        return transaction.execute(status -> {
+            if (!batched) {
+                entityManager.unwrap(Session.class).setJdbcBatchSize(1);
+            }
+            Recruiter recruiter = recruiterRepository.getReferenceById(data.typicalRecruiterId());
+            List<Vacancy> vacancies = vacancyRepository.saveAllAndFlush(IntStream.range(0, INSERTED_VACANCIES)
+                    .mapToObj(i -> Vacancy.builder()
+                            .position("Benchmark Developer " + i)
+                            .salary(1000f + i)
+                            .technologyStack(new ArrayList<>(INSERTED_TECHNOLOGIES))
+                            .recruiter(recruiter)
+                            .build())
+                    .toList());
+            status.setRollbackOnly();
+            return vacancies.size();
+        });
+    }
+
+    /**
+     * The filters of the vacancy list, from the most to the least selective.
+     */
+    private List<NamedFilter> filters() {
+        LocalDateTime newest = data.newestVacancyCreatedAt();
+        return List.of(
+                new NamedFilter("no filter", filter(null, null, null, null, null)),
+                new NamedFilter("largest recruiter", filter(data.largestRecruiterId(), null, null, null, null)),
+                new NamedFilter("typical recruiter", filter(data.typicalRecruiterId(), null, null, null, null)),
+                new NamedFilter("common position", filter(null, data.commonPosition(), null, null, null)),
+                new NamedFilter("salary range", filter(null, null, 2000F, null, null)),
+                new NamedFilter("most common technology", filter(null, null, null, List.of(data.mostCommonTechnology()), null)),
+                new NamedFilter("two common technologies", filter(null, null, null,
+                        List.of(data.mostCommonTechnology(), data.secondCommonTechnology()), null)),
+                new NamedFilter("rarest technology", filter(null, null, null, List.of(data.rarestTechnology()), null)),
+                new NamedFilter("last week", firstPage(new VacancyFilterDto(null, null, null, null, null, null,
+                        newest.minusWeeks(1), newest, null))),
+                new NamedFilter("largest company", firstPage(new VacancyFilterDto(null, null, null, null,
+                        data.largestCompanyName(), null, null, null, null))),
+                new NamedFilter("search query", filter(null, null, null, null, "java develper"))
+        );
+    }
+
+    private static VacancyFilterDto filter(Long recruiterId, String position, Float minSalary,
+                                           List<String> technologyStack, String query) {
+        return firstPage(new VacancyFilterDto(recruiterId, position, minSalary, null, null,
+                technologyStack, null, null, query));
+    }
+
+    private static VacancyFilterDto firstPage(VacancyFilterDto vacancyFilterDto) {
+        vacancyFilterDto.setPage(0);
+        vacancyFilterDto.setSize(PAGE_SIZE);
+        return vacancyFilterDto;
+    }
+
+    private <T> T inTransaction(Callable<T> call) {
+        return readOnlyTransaction.execute(status -> {
+            try {
+                return call.call();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    private MvcResult perform(RequestBuilder request) throws Exception {
+        MvcResult result = mockMvc.perform(request).andReturn();
+        // the report is streamed asynchronously
+        if (result.getRequest().isAsyncStarted()) {
+            result = mockMvc.perform(asyncDispatch(result)).andReturn();
+        }
+        status().isOk().match(result);
+        return result;
+    }
+
+    private void time(String layer, String name, Callable<?> query) throws Exception {
+        for (int i = 0; i < warmupIterations; i++) {
+            lastResult = query.call();
+        }
+
+        long[] nanos = new long[measurementIterations];
+        for (int i = 0; i < measurementIterations; i++) {
+            long startedAt = System.nanoTime();
+            lastResult = query.call();
+            nanos[i] = System.nanoTime() - startedAt;
+        }
+        report.add(layer, name, nanos);
+    }
+
+    private record NamedFilter(String name, VacancyFilterDto filter) {
+    }
+}
@@ -0,0 +1,34 @@
+package org.prof.it.soft.integration.benchmark;
+
+import java.time.LocalDateTime;
+
+/**
+ * The ids and values of the generated data set the benchmark queries are parameterized with.
+ * Every query is timed for a popular and for a typical entity, the skew makes their costs differ a lot.
+ *
+ * @param largestRecruiterId       the recruiter with the most vacancies
+ * @param typicalRecruiterId       a recruiter with a median number of vacancies
+ * @param largestCompanyName       the company of the largest recruiter
+ * @param mostActiveCandidateId    the candidate with the most applications
+ * @param typicalCandidateId       a candidate with a median number of applications
+ * @param mostAppliedVacancyId     the vacancy with the most applications
+ * @param typicalVacancyId         a vacancy with a median number of applications
+ * @param commonPosition           a position of many vacancies
+ * @param mostCommonTechnology     the technology of the most vacancies
+ * @param secondCommonTechnology   the technology of the second most vacancies
+ * @param rarestTechnology         the technology of the fewest vacancies
+ * @param newestVacancyCreatedAt   the creation date of the newest vacancy
+ */
+public record SyntheticData(long largestRecruiterId,
+                            long typicalRecruiterId,
+                            String largestCompanyName,
+                            long mostActiveCandidateId,
+                            long typicalCandidateId,
+                            long mostAppliedVacancyId,
+                            long typicalVacancyId,
+                            String commonPosition,
+                            String mostCommonTechnology,
+                            String secondCommonTechnology,
+                            String rarestTechnology,
+                            LocalDateTime newestVacancyCreatedAt) {
+}
@@ -0,0 +1,363 @@
+package org.prof.it.soft.integration.benchmark;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+import org.prof.it.soft.entity.security.Permission;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+/**
+ * Generates a deterministic data set of users, recruiters, vacancies, technology stacks and candidate applications
+ * and bulk-loads it with {@code COPY}, which is orders of magnitude faster than inserts through the repositories.
+ * <p>
+ * The popularity of recruiters, technologies, positions, candidates and vacancies follows Zipf distributions,
+ * so a few recruiters own most vacancies and a few vacancies get most applications, as on a real job board.
+ * The popular entities are spread over the ids instead of being the lowest ids.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class SyntheticDataGenerator {
+
+    /**
+     * The creation date of the newest vacancy, fixed so that the data does not depend on the day of the run.
+     */
+    private static final LocalDateTime NEWEST_VACANCY_CREATED_AT = LocalDateTime.of(2025, 1, 1, 12, 0);
+
+    /**
+     * The vacancies are created evenly over this number of minutes, a year.
+     */
+    private static final long VACANCY_PERIOD_MINUTES = 365L * 24 * 60;
+
+    private static final List<String> KNOWN_TECHNOLOGIES = List.of("Java", "Spring", "Hibernate", "PostgreSQL",
+            "Docker", "Kubernetes", "Kafka", "Redis", "React", "TypeScript", "JavaScript", "Python", "Django",
+            "Go", "Kotlin", "AWS", "GCP", "Azure", "Terraform", "MongoDB", "MySQL", "Elasticsearch", "GraphQL",
+            "Angular", "Vue", "Node.js", "C#", ".NET", "Rust", "Scala", "Spark", "Airflow", "Linux", "Git",
+            "Jenkins", "RabbitMQ", "gRPC", "Swift", "Android", "Flutter");
+
+    private static final List<String> ROLES = List.of("Java Developer", "Backend Developer", "Frontend Developer",
+            "Full Stack Developer", "DevOps Engineer", "QA Engineer", "Data Engineer", "Python Developer",
+            "Android Developer", "iOS Developer", "Go Developer", "Data Scientist", "Team Lead", "Architect",
+            "Site Reliability Engineer", "Machine Learning Engineer", "Product Manager", "Business Analyst");
+
+    private static final List<String> SENIORITIES = List.of("Junior", "Middle", "Senior", "Lead", "Principal");
+
+    private static final List<String> FIRST_NAMES = List.of("Anna", "Bob", "Olena", "Ivan", "Maria", "Taras",
+            "Iryna", "Dmytro", "Sofia", "Andrii", "Kateryna", "Oleh");
+
+    private static final List<String> LAST_NAMES = List.of("Petrov", "Ivanov", "Shevchenko", "Bondar", "Kovalenko",
+            "Melnyk", "Tkachenko", "Kravchenko", "Oliinyk", "Lysenko");
+
+    private final DataSource dataSource;
+
+    /**
+     * Generates the data set and loads it into the empty tables in one transaction, then analyzes the tables.
+     *
+     * @param spec the size and the seed of the data set
+     * @return the ids and values the benchmark queries are parameterized with
+     * @throws SQLException if the data cannot be loaded
+     */
+    public SyntheticData generate(SyntheticDataSpec spec) throws SQLException {
+        SplittableRandom random = new SplittableRandom(spec.seed());
+        long startedAt = System.nanoTime();
+
+        // recruiters get the user ids 1..recruiters, candidates the following ones
+        ZipfSampler recruiterSampler = new ZipfSampler(spec.recruiters(), spec.skew(), random);
+        ZipfSampler technologySampler = new ZipfSampler(spec.technologies(), spec.skew(), random);
+        ZipfSampler roleSampler = new ZipfSampler(ROLES.size(), spec.skew(), random);
+        ZipfSampler candidateSampler = new ZipfSampler(spec.candidates(), spec.skew(), random);
+        ZipfSampler vacancySampler = new ZipfSampler(spec.vacancies(), spec.skew(), random);
+        List<String> technologyNames = technologyNames(spec.technologies());
+
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+
+            try (Statement statement = connection.createStatement()) {
+                // the technologies of the vacancies are written directly, the sync triggers would only repeat it
+                statement.execute("ALTER TABLE technology_stacks DISABLE TRIGGER USER");
+            }
+
+            loadUsers(copyManager, spec, random);
+            loadVacanciesAndTechnologyStacks(connection, copyManager, spec, random, recruiterSampler, roleSampler,
+                    technologySampler, technologyNames);
+            loadCandidateApplications(copyManager, spec, random, candidateSampler, vacancySampler);
+
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("ALTER TABLE technology_stacks ENABLE TRIGGER USER");
+                statement.execute("SELECT setval('users_seq_id', (SELECT max(id) FROM users))");
+                statement.execute("SELECT setval('vacancies_seq_id', (SELECT max(id) FROM vacancies))");
+                statement.execute("SELECT setval('candidate_application_seq_id', " +
+                        "(SELECT coalesce(max(id), 1) FROM candidate_applications))");
+            }
+            connection.commit();
+
+            connection.setAutoCommit(true);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("VACUUM ANALYZE users, user_permissions, people, recruiters, vacancies, " +
+                        "technology_stacks, candidate_applications");
+            }
+        }
+
+        log.info("Generated {} in {} ms", spec, (System.nanoTime() - startedAt) / 1_000_000);
+
+        long largestRecruiterId = recruiterSampler.idOfRank(0);
+        return new SyntheticData(
+                largestRecruiterId,
+                recruiterSampler.idOfRank(spec.recruiters() / 2),
+                "Company " + largestRecruiterId,
+                spec.recruiters() + candidateSampler.idOfRank(0),
+                spec.recruiters() + candidateSampler.idOfRank(spec.candidates() / 2),
+                vacancySampler.idOfRank(0),
+                vacancySampler.idOfRank(spec.vacancies() / 2),
+                SENIORITIES.get(2) + " " + ROLES.get(roleSampler.idOfRank(0) - 1),
+                technologyNames.get(technologySampler.idOfRank(0) - 1),
+                technologyNames.get(technologySampler.idOfRank(Math.min(1, spec.technologies() - 1)) - 1),
+                technologyNames.get(technologySampler.idOfRank(spec.technologies() - 1) - 1),
+                NEWEST_VACANCY_CREATED_AT
+        );
+    }
+
+    private void loadUsers(CopyManager copyManager, SyntheticDataSpec spec, SplittableRandom random) throws SQLException {
+        int users = spec.recruiters() + spec.candidates();
+
+        try (CopyWriter usersCopy = new CopyWriter(copyManager, "COPY users (id, username, password, account_non_expired, " +
+                "account_non_locked, credentials_non_expired, enabled, created_at, updated_at) FROM STDIN")) {
+            for (long id = 1; id <= users; id++) {
+                LocalDateTime createdAt = NEWEST_VACANCY_CREATED_AT.minusMinutes(VACANCY_PERIOD_MINUTES + id);
+                usersCopy.row(id, (id <= spec.recruiters() ? "recruiter" : "candidate") + id, "password",
+                        true, true, true, true, createdAt, createdAt);
+            }
+        }
+
+        try (CopyWriter permissionsCopy = new CopyWriter(copyManager, "COPY user_permissions (user_id, permission_name) FROM STDIN")) {
+            for (long id = 1; id <= users; id++) {
+                Set<Permission> permissions = id <= spec.recruiters() ? Permission.RECRUITER_PERMISSIONS : Permission.USER_PERMISSIONS;
+                for (Permission permission : permissions) {
+                    permissionsCopy.row(id, permission.name());
+                }
+            }
+        }
+
+        try (CopyWriter peopleCopy = new CopyWriter(copyManager, "COPY people (id, first_name, last_name) FROM STDIN")) {
+            for (long id = 1; id <= users; id++) {
+                peopleCopy.row(id, FIRST_NAMES.get(random.nextInt(FIRST_NAMES.size())),
+                        LAST_NAMES.get(random.nextInt(LAST_NAMES.size())));
+            }
+        }
+
+        try (CopyWriter recruitersCopy = new CopyWriter(copyManager, "COPY recruiters (id, company_name) FROM STDIN")) {
+            for (long id = 1; id <= spec.recruiters(); id++) {
+                recruitersCopy.row(id, "Company " + id);
+            }
+        }
+    }
+
+    private void loadVacanciesAndTechnologyStacks(Connection connection, CopyManager copyManager, SyntheticDataSpec spec,
+                                                  SplittableRandom random, ZipfSampler recruiterSampler,
+                                                  ZipfSampler roleSampler, ZipfSampler technologySampler,
+                                                  List<String> technologyNames) throws SQLException {
+        int maxStackSize = Math.min(10, spec.technologies());
+
+        try (CopyWriter vacanciesCopy = new CopyWriter(copyManager, "COPY vacancies (id, position, salary, created_at, " +
+                "updated_at, recruiter_id, technologies) FROM STDIN")) {
+            for (long id = 1; id <= spec.vacancies(); id++) {
+                int seniority = random.nextInt(SENIORITIES.size());
+                String position = SENIORITIES.get(seniority) + " " + ROLES.get(roleSampler.sample() - 1);
+                Float salary = random.nextInt(10) == 0
+                        ? null
+                        : (float) (500 * (seniority + 1) + 50 * Math.round(random.nextDouble() * random.nextDouble() * 180));
+
+                int stackSize = 1 + random.nextInt(maxStackSize);
+                Set<String> technologies = new LinkedHashSet<>();
+                while (technologies.size() < stackSize) {
+                    technologies.add(technologyNames.get(technologySampler.sample() - 1));
+                }
+
+                LocalDateTime createdAt = vacancyCreatedAt(id, spec.vacancies());
+                vacanciesCopy.row(id, position, salary, createdAt, createdAt, recruiterSampler.sample(),
+                        technologies.toArray(String[]::new));
+            }
+        }
+
+        // only one copy can be in progress on a connection, the technology stacks are expanded from the vacancies
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("""
+                    INSERT INTO technology_stacks (name, vacancy_id)
+                    SELECT t.name, v.id
+                    FROM vacancies v, unnest(v.technologies) WITH ORDINALITY t(name, position)
+                    ORDER BY v.id, t.position
+                    """);
+        }
+    }
+
+    private void loadCandidateApplications(CopyManager copyManager, SyntheticDataSpec spec, SplittableRandom random,
+                                           ZipfSampler candidateSampler, ZipfSampler vacancySampler) throws SQLException {
+        Set<Long> appliedPairs = new HashSet<>(spec.applications() * 2);
+        long maxAttempts = 20L * spec.applications();
+        long attempts = 0;
+
+        try (CopyWriter applicationsCopy = new CopyWriter(copyManager,
+                "COPY candidate_applications (id, vacancy_id, person_id, created_at) FROM STDIN")) {
+            long id = 0;
+            while (id < spec.applications()) {
+                if (++attempts > maxAttempts) {
+                    throw new IllegalStateException(String.format("Only %d unique applications were generated for %s, " +
+                            "lower the skew or the number of applications", id, spec));
+                }
+
+                long candidateId = spec.recruiters() + candidateSampler.sample();
+                long vacancyId = vacancySampler.sample();
+                if (!appliedPairs.add(candidateId * (spec.vacancies() + 1L) + vacancyId)) {
+                    continue;
+                }
+
+                LocalDateTime createdAt = vacancyCreatedAt(vacancyId, spec.vacancies()).plusMinutes(random.nextInt(60 * 24 * 30));
+                applicationsCopy.row(++id, vacancyId, candidateId, createdAt);
+            }
+        }
+    }
+
+    /**
+     * The vacancies are created in the order of their ids, evenly over a year.
+     */
+    private static LocalDateTime vacancyCreatedAt(long vacancyId, int vacancies) {
+        return NEWEST_VACANCY_CREATED_AT.minusMinutes((vacancies - vacancyId) * VACANCY_PERIOD_MINUTES / vacancies);
+    }
+
+    private static List<String> technologyNames(int technologies) {
+        List<String> names = new ArrayList<>(KNOWN_TECHNOLOGIES.subList(0, Math.min(technologies, KNOWN_TECHNOLOGIES.size())));
+        IntStream.range(names.size(), technologies).forEach(i -> names.add("Technology " + i));
+        return names;
+    }
+
+    /**
+     * Samples ids 1..n, the probability of the id of rank k is proportional to {@code 1 / (k + 1)^skew}.
+     * The ranks are assigned to the ids by a random permutation.
+     */
+    static final class ZipfSampler {
+
+        private final double[] cumulativeProbabilities;
+        private final int[] idsByRank;
+        private final SplittableRandom random;
+
+        ZipfSampler(int n, double skew, SplittableRandom random) {
+            this.random = random;
+            this.cumulativeProbabilities = new double[n];
+            double sum = 0;
+            for (int rank = 0; rank < n; rank++) {
+                sum += 1 / Math.pow(rank + 1, skew);
+                cumulativeProbabilities[rank] = sum;
+            }
+            for (int rank = 0; rank < n; rank++) {
+                cumulativeProbabilities[rank] /= sum;
+            }
+
+            // Fisher-Yates shuffle of the ids
+            this.idsByRank = IntStream.rangeClosed(1, n).toArray();
+            for (int i = n - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                int id = idsByRank[i];
+                idsByRank[i] = idsByRank[j];
+                idsByRank[j] = id;
+            }
+        }
+
+        int sample() {
+            int rank = Arrays.binarySearch(cumulativeProbabilities, random.nextDouble());
+            // the insertion point is returned when the value is not found
+            rank = rank < 0 ? -rank - 1 : rank;
+            return idsByRank[Math.min(rank, idsByRank.length - 1)];
+        }
+
+        int idOfRank(int rank) {
+            return idsByRank[rank];
+        }
+    }
+
+    /**
+     * Writes rows in the text format of {@code COPY}, buffered into chunks.
+     */
+    private static final class CopyWriter implements AutoCloseable {
+
+        private static final int CHUNK_SIZE = 1 << 16;
+
+        private final CopyIn copyIn;
+        private final StringBuilder buffer = new StringBuilder(CHUNK_SIZE + 1024);
+
+        CopyWriter(CopyManager copyManager, String sql) throws SQLException {
+            this.copyIn = copyManager.copyIn(sql);
+        }
+
+        void row(Object... values) throws SQLException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    buffer.append('\t');
+                }
+                appendValue(values[i]);
+            }
+            buffer.append('\n');
+
+            if (buffer.length() >= CHUNK_SIZE) {
+                flush();
+            }
+        }
+
+        private void appendValue(Object value) {
+            if (value == null) {
+                buffer.append("\\N");
+            } else if (value instanceof Boolean bool) {
+                buffer.append(bool ? 't' : 'f');
+            } else if (value instanceof String[] array) {
+                buffer.append('{');
+                for (int i = 0; i < array.length; i++) {
+                    if (i > 0) {
+                        buffer.append(',');
+                    }
+                    // the elements are quoted, escaped quotes and backslashes are escaped again for the text format
+                    buffer.append('"').append(escape(array[i].replace("\\", "\\\\").replace("\"", "\\\""))).append('"');
+                }
+                buffer.append('}');
+            } else {
+                buffer.append(escape(value.toString()));
+            }
+        }
+
+        private static String escape(String value) {
+            return value.replace("\\", "\\\\").replace("\t", "\\t").replace("\n", "\\n").replace("\r", "\\r");
+        }
+
+        private void flush() throws SQLException {
+            byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+            copyIn.writeToCopy(bytes, 0, bytes.length);
+            buffer.setLength(0);
+        }
+
+        @Override
+        public void close() throws SQLException {
+            try {
+                flush();
+                copyIn.endCopy();
+            } finally {
+                if (copyIn.isActive()) {
+                    copyIn.cancelCopy();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package org.prof.it.soft.integration.benchmark;
+
+/**
+ * The size and the seed of the generated data set.
+ * The same specification always generates the same rows, so reports of runs with equal specifications are comparable.
+ *
+ * @param seed         the seed of the random generator
+ * @param candidates   the number of candidates, users that apply for vacancies
+ * @param recruiters   the number of recruiters
+ * @param vacancies    the number of vacancies
+ * @param technologies the number of distinct technologies
+ * @param applications the number of candidate applications
+ * @param skew         the exponent of the Zipf distributions, 0 spreads the rows evenly,
+ *                     1 gives a few recruiters most vacancies, a few technologies most stacks,
+ *                     a few candidates and vacancies most applications
+ */
+public record SyntheticDataSpec(long seed,
+                                int candidates,
+                                int recruiters,
+                                int vacancies,
+                                int technologies,
+                                int applications,
+                                double skew) {
+
+    /**
+     * The prefix of the system properties that override the defaults.
+     */
+    public static final String PROPERTY_PREFIX = "benchmark.db.";
+
+    public SyntheticDataSpec {
+        if (candidates < 1 || recruiters < 1 || vacancies < 1 || technologies < 1 || applications < 0) {
+            throw new IllegalArgumentException("The numbers of candidates, recruiters, vacancies and technologies must be positive");
+        }
+        if ((long) candidates * vacancies < applications) {
+            throw new IllegalArgumentException("A candidate applies for a vacancy at most once, there are too many applications");
+        }
+    }
+
+    /**
+     * Reads the specification from the system properties, for example {@code -Dbenchmark.db.vacancies=1000000}.
+     *
+     * @return the specification, the properties that are not set keep their defaults
+     */
+    public static SyntheticDataSpec fromSystemProperties() {
+        return new SyntheticDataSpec(
+                Long.getLong(PROPERTY_PREFIX + "seed", 42L),
+                Integer.getInteger(PROPERTY_PREFIX + "candidates", 20_000),
+                Integer.getInteger(PROPERTY_PREFIX + "recruiters", 500),
+                Integer.getInteger(PROPERTY_PREFIX + "vacancies", 100_000),
+                Integer.getInteger(PROPERTY_PREFIX + "technologies", 300),
+                Integer.getInteger(PROPERTY_PREFIX + "applications", 200_000),
+                Double.parseDouble(System.getProperty(PROPERTY_PREFIX + "skew", "1.0"))
+        );
+    }
+}
@@ -0,0 +1,32 @@
+package org.prof.it.soft.integration.container;
+
+import org.testcontainers.containers.PostgreSQLContainer;
+
+/**
+ * The database of the benchmarks, separate from {@link ControllerPostgresqlContainer},
+ * so the generated data never leaks into the integration tests. The port is chosen by Docker.
+ */
+public class BenchmarkPostgresqlContainer extends PostgreSQLContainer<BenchmarkPostgresqlContainer> {
+
+    private static final String IMAGE_VERSION = "postgres:16";
+    private static BenchmarkPostgresqlContainer container;
+
+    private BenchmarkPostgresqlContainer() {
+        super(IMAGE_VERSION);
+    }
+
+    public static BenchmarkPostgresqlContainer getInstance() {
+        if (container == null) {
+            container = new BenchmarkPostgresqlContainer()
+                    .withDatabaseName("benchmark_instance")
+                    .withUsername("test")
+                    .withPassword("test_password")
+                    // the data is generated for every run, durability is not needed
+                    .withCommand("postgres", "-c", "fsync=off", "-c", "synchronous_commit=off",
+                            "-c", "full_page_writes=off", "-c", "shared_buffers=256MB");
+            container.start();
+        }
+        return container;
+    }
+
+}
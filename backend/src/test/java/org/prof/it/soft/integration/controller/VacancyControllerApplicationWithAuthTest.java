@@ -555,6 +555,79 @@ public class VacancyControllerApplicationWithAuthTest {
                 .andExpect(jsonPath("$.content[3].is_applied_by_current_user").value(true));
     }
 
+    @Test
+    void getFilteredVacancies_shouldMarkOnlyVacanciesOfPage_whenUserAppliedVacanciesOnOtherPages() throws Exception {
+        // Given
+        Recruiter savedRecruiter = recruiterRepository.saveAndFlush(
+                Recruiter.builder()
+                        .username("recruiter")
+                        .password("recruiter")
+                        .companyName("Google")
+                        .firstName("Anna")
+                        .lastName("Petrov")
+                        .build()
+        );
+
+        List<Vacancy> savedVacancies = vacancyRepository.saveAllAndFlush(List.of(
+                Vacancy.builder()
+                        .position("Java Developer")
+                        .salary(1000.0f)
+                        .technologyStack(List.of("Java", "Spring"))
+                        .recruiter(savedRecruiter)
+                        .build(),
+                Vacancy.builder()
+                        .position("Python Developer")
+                        .salary(2000.0f)
+                        .technologyStack(List.of("Python", "Django"))
+                        .recruiter(savedRecruiter)
+                        .build(),
+                Vacancy.builder()
+                        .position("Sql Developer")
+                        .salary(3000.0f)
+                        .technologyStack(List.of("SQL", "PostgreSQL"))
+                        .recruiter(savedRecruiter)
+                        .build()
+        ));
+
+        User user = Person.builder()
+                .username("test")
+                .password("test")
+                .accountNonExpired(true)
+                .accountNonLocked(true)
+                .credentialsNonExpired(true)
+                .enabled(true)
+                .permissions(Set.of(Permission.APPLY_VACANCY))
+                .firstName("John")
+                .lastName("Doe")
+                .build();
+
+        User savedUser = userService.save(user);
+
+        candidateApplicationService.createCandidateApplication(savedVacancies.get(1).getId(), savedUser);
+        candidateApplicationService.createCandidateApplication(savedVacancies.get(2).getId(), savedUser);
+
+        String jwtToken = jwtService.generateToken(savedUser);
+
+        String request = """
+                {
+                    "page": 0,
+                    "size": 2
+                }
+                """;
+
+        // When and then
+        mockMvc.perform(post("/api/v1/vacancy/_list")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("Authorization", "Bearer %s".formatted(jwtToken))
+                        .content(request))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(2)))
+                .andExpect(jsonPath("$.content[0].vacancy_id").value(savedVacancies.get(0).getId()))
+                .andExpect(jsonPath("$.content[0].is_applied_by_current_user").value(false))
+                .andExpect(jsonPath("$.content[1].vacancy_id").value(savedVacancies.get(1).getId()))
+                .andExpect(jsonPath("$.content[1].is_applied_by_current_user").value(true));
+    }
+
     @Test
     void getFilteredVacancies_shouldReturnOk_whenOneUserAppliedTwoVacanciesAndAnotherAppliedTwoAnotherVacancies_butUserDoNotAuth() throws Exception {
         // Given
@@ -0,0 +1,143 @@
+package org.prof.it.soft.integration.controller;
+
+import org.junit.ClassRule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.prof.it.soft.entity.Recruiter;
+import org.prof.it.soft.entity.Vacancy;
+import org.prof.it.soft.integration.annotation.IT;
+import org.prof.it.soft.integration.container.ControllerPostgresqlContainer;
+import org.prof.it.soft.repo.RecruiterRepository;
+import org.prof.it.soft.repo.VacancyRepository;
+import org.prof.it.soft.service.VacancyService;
+import org.prof.it.soft.service.report.ReportFormat;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@IT
+@Testcontainers
+@AutoConfigureMockMvc(addFilters = false)
+class VacancyControllerImportTest {
+
+    @ClassRule
+    public static ControllerPostgresqlContainer controllerPostgresqlContainer = ControllerPostgresqlContainer.getInstance();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private RecruiterRepository recruiterRepository;
+
+    @Autowired
+    private VacancyRepository vacancyRepository;
+
+    @Autowired
+    private VacancyService vacancyService;
+
+    private Recruiter recruiter;
+
+    @BeforeEach
+    void setUp() {
+        vacancyRepository.deleteAll();
+        recruiterRepository.deleteAll();
+        recruiter = recruiterRepository.saveAndFlush(
+                Recruiter.builder()
+                        .username("anna")
+                        .password("password")
+                        .companyName("Google")
+                        .firstName("Anna")
+                        .lastName("Petrov")
+                        .build()
+        );
+    }
+
+    @Test
+    void importVacancies_shouldImportValidRowsAndReportInvalidOnes() throws Exception {
+        String csv = """
+                Position,Salary,Technology Stack,Recruiter_id
+                Java Developer,1000,"Java, Spring",%1$d
+                ,1000,Java,%1$d
+                Python Developer,much,Python,%1$d
+                Go Developer,2000,Go,%2$d
+                Tester,,,%1$d
+                """.formatted(recruiter.getId(), recruiter.getId() + 1000);
+
+        mockMvc.perform(multipart("/api/v1/vacancy/_import")
+                        .file(new MockMultipartFile("file", "vacancies.csv", "text/csv", csv.getBytes(StandardCharsets.UTF_8))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total_rows").value(5))
+                .andExpect(jsonPath("$.imported_rows").value(2))
+                .andExpect(jsonPath("$.failed_rows").value(3))
+                .andExpect(jsonPath("$.errors_truncated").value(false))
+                .andExpect(jsonPath("$.errors", hasSize(3)))
+                .andExpect(jsonPath("$.errors[0].row").value(3))
+                .andExpect(jsonPath("$.errors[0].errors[0]").value("Position is required"))
+                .andExpect(jsonPath("$.errors[1].row").value(4))
+                .andExpect(jsonPath("$.errors[1].errors[0]").value("Salary must be a number"))
+                .andExpect(jsonPath("$.errors[2].row").value(5))
+                .andExpect(jsonPath("$.errors[2].errors[0]").value("Recruiter with id %d not found".formatted(recruiter.getId() + 1000)));
+
+        List<Vacancy> vacancies = vacancyRepository.findAll().stream()
+                .sorted(Comparator.comparing(Vacancy::getPosition))
+                .toList();
+        assertThat(vacancies).extracting(Vacancy::getPosition).containsExactly("Java Developer", "Tester");
+        assertThat(vacancies.get(0).getSalary()).isEqualTo(1000f);
+        assertThat(vacancies.get(0).getTechnologyStack()).containsExactly("Java", "Spring");
+        assertThat(vacancies.get(1).getSalary()).isNull();
+    }
+
+    @Test
+    void importVacancies_shouldImportExcelReport() throws Exception {
+        vacancyRepository.saveAllAndFlush(List.of(
+                Vacancy.builder()
+                        .position("Java Developer")
+                        .salary(1000f)
+                        .technologyStack(List.of("Java", "Spring"))
+                        .recruiter(recruiter)
+                        .build(),
+                Vacancy.builder()
+                        .position("Python Developer")
+                        .salary(2000f)
+                        .technologyStack(List.of("Python"))
+                        .recruiter(recruiter)
+                        .build()
+        ));
+        ByteArrayOutputStream report = new ByteArrayOutputStream();
+        vacancyService.generateReport(null, ReportFormat.XLSX, report);
+
+        mockMvc.perform(multipart("/api/v1/vacancy/_import")
+                        .file(new MockMultipartFile("file", "vacancies.xlsx",
+                                ReportFormat.XLSX.getMediaType().toString(), report.toByteArray())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total_rows").value(2))
+                .andExpect(jsonPath("$.imported_rows").value(2))
+                .andExpect(jsonPath("$.failed_rows").value(0))
+                .andExpect(jsonPath("$.errors", hasSize(0)));
+
+        assertThat(vacancyRepository.count()).isEqualTo(4);
+    }
+
+    @Test
+    void importVacancies_shouldReturnBadRequest_whenHeaderIsMissing() throws Exception {
+        String csv = "Java Developer,1000,Java,1\n";
+
+        mockMvc.perform(multipart("/api/v1/vacancy/_import")
+                        .file(new MockMultipartFile("file", "vacancies.csv", "text/csv", csv.getBytes(StandardCharsets.UTF_8))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors[0]").value("The first row must be a header with the Position and Recruiter_id columns"));
+    }
+}
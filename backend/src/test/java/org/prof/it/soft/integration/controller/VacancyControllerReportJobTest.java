@@ -0,0 +1,168 @@
+package org.prof.it.soft.integration.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.ClassRule;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.prof.it.soft.TestApplicationRunner;
+import org.prof.it.soft.integration.container.ControllerPostgresqlContainer;
+import org.prof.it.soft.service.VacancyService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.awaitility.Awaitility.await;
+import static org.hamcrest.Matchers.endsWith;
+import static org.hamcrest.Matchers.oneOf;
+import static org.hamcrest.Matchers.startsWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Submits background report jobs, polls them and downloads their reports through the endpoints.
+ * The reports are generated by the report workers outside the test transaction, so the test is not transactional
+ * and only reads the data. The generation can be held back to observe a job which is not finished.
+ */
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.MOCK,
+        classes = TestApplicationRunner.class
+)
+@ActiveProfiles("test")
+@Testcontainers
+@AutoConfigureMockMvc(addFilters = false)
+class VacancyControllerReportJobTest {
+
+    @ClassRule
+    public static ControllerPostgresqlContainer controllerPostgresqlContainer = ControllerPostgresqlContainer.getInstance();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @SpyBean
+    private VacancyService vacancyService;
+
+    private CountDownLatch generationAllowed = new CountDownLatch(0);
+
+    @BeforeEach
+    void setUp() {
+        doAnswer(invocation -> {
+            generationAllowed.await(10, TimeUnit.SECONDS);
+            return invocation.callRealMethod();
+        }).when(vacancyService).generateReport(any(), any(), any());
+    }
+
+    @AfterEach
+    void tearDown() {
+        generationAllowed.countDown();
+    }
+
+    @Test
+    void submitReportJob_shouldGenerateReport_whichIsDownloadedWhenDone() throws Exception {
+        String jobId = submit("CSV");
+
+        await().atMost(10, TimeUnit.SECONDS).until(() -> "DONE".equals(getStatus(jobId)));
+
+        mockMvc.perform(get("/api/v1/vacancy/_report/jobs/{jobId}", jobId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.job_id").value(jobId))
+                .andExpect(jsonPath("$.status").value("DONE"))
+                .andExpect(jsonPath("$.format").value("CSV"))
+                .andExpect(jsonPath("$.finished_at").isNotEmpty())
+                .andExpect(jsonPath("$.expires_at").isNotEmpty())
+                .andExpect(jsonPath("$.download_url").value("/api/v1/vacancy/_report/jobs/" + jobId + "/file"));
+
+        mockMvc.perform(get("/api/v1/vacancy/_report/jobs/{jobId}/file", jobId))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, startsWith("attachment; filename=vacancies_")))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, endsWith(".csv")))
+                .andExpect(content().string(startsWith("Vacancy ID,Position,Salary")));
+    }
+
+    @Test
+    void downloadReport_shouldReturnConflict_whenReportIsNotReady() throws Exception {
+        generationAllowed = new CountDownLatch(1);
+        String jobId = submit("NDJSON");
+
+        mockMvc.perform(get("/api/v1/vacancy/_report/jobs/{jobId}", jobId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value(oneOf("PENDING", "RUNNING")))
+                .andExpect(jsonPath("$.download_url").doesNotExist());
+
+        mockMvc.perform(get("/api/v1/vacancy/_report/jobs/{jobId}/file", jobId))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.errors[0]").value("Report job with id %s is not finished yet".formatted(jobId)));
+
+        generationAllowed.countDown();
+        await().atMost(10, TimeUnit.SECONDS).until(() -> "DONE".equals(getStatus(jobId)));
+
+        mockMvc.perform(get("/api/v1/vacancy/_report/jobs/{jobId}/file", jobId))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void getReportJob_shouldReturnNotFound_whenJobIsUnknown() throws Exception {
+        UUID jobId = UUID.randomUUID();
+
+        mockMvc.perform(get("/api/v1/vacancy/_report/jobs/{jobId}", jobId))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.errors[0]").value("Report job with id %s not found".formatted(jobId)));
+
+        mockMvc.perform(get("/api/v1/vacancy/_report/jobs/{jobId}/file", jobId))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.errors[0]").value("Report job with id %s not found".formatted(jobId)));
+    }
+
+    /**
+     * Submits a report job of all vacancies.
+     *
+     * @param format the format of the report
+     * @return the id of the job
+     */
+    private String submit(String format) throws Exception {
+        String response = mockMvc.perform(post("/api/v1/vacancy/_report")
+                        .param("async", "true")
+                        .param("format", format)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string(HttpHeaders.LOCATION, startsWith("/api/v1/vacancy/_report/jobs/")))
+                .andExpect(jsonPath("$.job_id").isNotEmpty())
+                .andExpect(jsonPath("$.format").value(format))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        return objectMapper.readTree(response).path("job_id").asText();
+    }
+
+    private String getStatus(String jobId) throws Exception {
+        String response = mockMvc.perform(get("/api/v1/vacancy/_report/jobs/{jobId}", jobId))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        JsonNode job = objectMapper.readTree(response);
+        return job.path("status").asText();
+    }
+}
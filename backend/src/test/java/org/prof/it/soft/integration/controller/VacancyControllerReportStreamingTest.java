@@ -0,0 +1,69 @@
+package org.prof.it.soft.integration.controller;
+
+import org.junit.ClassRule;
+import org.junit.jupiter.api.Test;
+import org.prof.it.soft.integration.container.ControllerPostgresqlContainer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.endsWith;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Streams a report with the async request processing of the application,
+ * unlike the other tests it does not use the synchronous executor of {@code TestApplicationRunner}.
+ * The report is written on another thread outside the test transaction, so the test is not transactional
+ * and only reads the data.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.MOCK)
+@ActiveProfiles("test")
+@Testcontainers
+@AutoConfigureMockMvc(addFilters = false)
+class VacancyControllerReportStreamingTest {
+
+    @ClassRule
+    public static ControllerPostgresqlContainer controllerPostgresqlContainer = ControllerPostgresqlContainer.getInstance();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Value("${spring.mvc.async.request-timeout}")
+    private Duration asyncRequestTimeout;
+
+    @Test
+    void generateReport_shouldStreamAsynchronouslyWithConfiguredTimeout() throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/v1/vacancy/_report")
+                        .param("format", "CSV")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // the default timeout of the container would cut a large report off after 30 seconds
+        assertThat(asyncRequestTimeout).isGreaterThan(Duration.ofSeconds(30));
+        assertThat(result.getRequest().getAsyncContext().getTimeout()).isEqualTo(asyncRequestTimeout.toMillis());
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, endsWith(".csv")))
+                .andExpect(content().string(startsWith("Vacancy ID,Position,Salary")));
+    }
+}
@@ -0,0 +1,151 @@
+package org.prof.it.soft.integration.controller;
+
+import jakarta.persistence.EntityManager;
+import org.junit.ClassRule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.prof.it.soft.entity.Recruiter;
+import org.prof.it.soft.entity.Vacancy;
+import org.prof.it.soft.integration.annotation.IT;
+import org.prof.it.soft.integration.container.ControllerPostgresqlContainer;
+import org.prof.it.soft.metrics.SqlStatementCounter;
+import org.prof.it.soft.repo.RecruiterRepository;
+import org.prof.it.soft.repo.VacancyRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Asserts the number of SQL statements of the vacancy endpoints.
+ * The persistence context is cleared before every request, so the statements are the ones of a fresh request.
+ */
+@IT
+@Testcontainers
+@AutoConfigureMockMvc(addFilters = false)
+class VacancyControllerSqlBudgetTest {
+
+    /**
+     * The ids of the page, the page with the recruiters and technology stacks.
+     * The total is not counted, the page is the last one.
+     */
+    private static final long LIST_BUDGET = 2;
+
+    /**
+     * The vacancy, its recruiter and its technology stack.
+     * The permissions of the recruiter may be selected separately.
+     */
+    private static final long VACANCY_BUDGET = 4;
+
+    @ClassRule
+    public static ControllerPostgresqlContainer controllerPostgresqlContainer = ControllerPostgresqlContainer.getInstance();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private RecruiterRepository recruiterRepository;
+
+    @Autowired
+    private VacancyRepository vacancyRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Recruiter recruiter;
+
+    @BeforeEach
+    void setUp() {
+        vacancyRepository.deleteAll();
+        recruiterRepository.deleteAll();
+        recruiter = recruiterRepository.saveAndFlush(
+                Recruiter.builder()
+                        .username("anna")
+                        .password("password")
+                        .companyName("Google")
+                        .firstName("Anna")
+                        .lastName("Petrov")
+                        .build()
+        );
+    }
+
+    @Test
+    void getFilteredVacancies_shouldStayWithinBudget_whateverNumberOfVacancies() throws Exception {
+        String request = """
+                {
+                    "page": 0,
+                    "size": 50
+                }
+                """;
+
+        saveVacancies(5);
+        long statementsForFewVacancies = countStatements(post("/api/v1/vacancy/_list")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(request), 5);
+
+        saveVacancies(40);
+        long statementsForManyVacancies = countStatements(post("/api/v1/vacancy/_list")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(request), 45);
+
+        assertThat(statementsForFewVacancies).isLessThanOrEqualTo(LIST_BUDGET);
+        assertThat(statementsForManyVacancies).isEqualTo(statementsForFewVacancies);
+    }
+
+    @Test
+    void getVacancyById_shouldStayWithinBudget() throws Exception {
+        Long vacancyId = saveVacancies(1).get(0).getId();
+
+        long statements = countStatements(get("/api/v1/vacancy/{id}", vacancyId), 0);
+
+        assertThat(statements).isLessThanOrEqualTo(VACANCY_BUDGET);
+    }
+
+    private List<Vacancy> saveVacancies(int count) {
+        return vacancyRepository.saveAllAndFlush(IntStream.range(0, count)
+                .mapToObj(i -> Vacancy.builder()
+                        .position("Java Developer " + i)
+                        .salary(1000f + i)
+                        .technologyStack(List.of("Java", "Spring", "PostgreSQL"))
+                        .recruiter(recruiter)
+                        .build())
+                .toList());
+    }
+
+    /**
+     * Performs the request with an empty persistence context and counts the SQL statements it executed.
+     *
+     * @param request           the request
+     * @param expectedVacancies the number of vacancies expected in the page, 0 for a single vacancy
+     * @return the number of statements
+     */
+    private long countStatements(RequestBuilder request, int expectedVacancies) throws Exception {
+        entityManager.clear();
+
+        SqlStatementCounter.Measurement measurement = SqlStatementCounter.start();
+        if (expectedVacancies > 0) {
+            mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content", hasSize(expectedVacancies)))
+                    .andExpect(jsonPath("$.content[0].technology_stack", hasSize(3)))
+                    .andExpect(jsonPath("$.content[0].recruiter.company_name").value("Google"));
+        } else {
+            mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.technology_stack", hasSize(3)));
+        }
+        return measurement.statements();
+    }
+}
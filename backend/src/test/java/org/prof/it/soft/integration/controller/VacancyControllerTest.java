@@ -1,5 +1,6 @@
 package org.prof.it.soft.integration.controller;
 
+import com.jayway.jsonpath.JsonPath;
 import org.apache.poi.xssf.usermodel.XSSFSheet;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.junit.ClassRule;
@@ -1292,6 +1293,510 @@ class VacancyControllerTest {
                 .andExpect(jsonPath("$.content[0].recruiter.last_name").value("Smith"));
     }
 
+    @Test
+    void getFilteredVacancies_shouldReturnOk_whenTechnologyStackWasUpdated() throws Exception {
+        // Given
+        Recruiter savedRecruiter = recruiterRepository.saveAndFlush(
+                Recruiter.builder()
+                        .username("anna")
+                        .password("password")
+                        .companyName("Google")
+                        .firstName("Anna")
+                        .lastName("Petrov")
+                        .build()
+        );
+
+        Vacancy savedVacancy = vacancyRepository.saveAndFlush(
+                Vacancy.builder()
+                        .position("Java Developer")
+                        .salary(1000.0f)
+                        .technologyStack(List.of("Java", "Spring"))
+                        .recruiter(savedRecruiter)
+                        .build()
+        );
+
+        String updateRequest = """
+                {
+                    "position": "Java Developer",
+                    "salary": 1000.0,
+                    "technology_stack": ["Java", "Hibernate"],
+                    "recruiter_id": %d
+                }
+                """.formatted(savedRecruiter.getId());
+
+        mockMvc.perform(put("/api/v1/vacancy/{id}", savedVacancy.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(updateRequest))
+                .andExpect(status().isOk());
+
+        // When and then
+        mockMvc.perform(post("/api/v1/vacancy/_list")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {
+                                    "technology_stack": ["Hibernate", "Java"],
+                                    "page": 0,
+                                    "size": 10
+                                }
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].vacancy_id").value(savedVacancy.getId()));
+
+        mockMvc.perform(post("/api/v1/vacancy/_list")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {
+                                    "technology_stack": ["Spring"],
+                                    "page": 0,
+                                    "size": 10
+                                }
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(0)));
+    }
+
+    @Test
+    void getFilteredVacancies_shouldReturnFacets_whenFacetsAreRequested() throws Exception {
+        // Given
+        Recruiter google = recruiterRepository.saveAndFlush(
+                Recruiter.builder()
+                        .username("anna")
+                        .password("password")
+                        .companyName("Google")
+                        .firstName("Anna")
+                        .lastName("Petrov")
+                        .build()
+        );
+        Recruiter amazon = recruiterRepository.saveAndFlush(
+                Recruiter.builder()
+                        .username("oleh")
+                        .password("password")
+                        .companyName("Amazon")
+                        .firstName("Oleh")
+                        .lastName("Ivanov")
+                        .build()
+        );
+
+        vacancyRepository.saveAllAndFlush(List.of(
+                Vacancy.builder()
+                        .position("Java Developer")
+                        .salary(1200.0f)
+                        .technologyStack(List.of("Java", "Spring"))
+                        .recruiter(google)
+                        .build(),
+                Vacancy.builder()
+                        .position("Java Developer")
+                        .salary(1800.0f)
+                        .technologyStack(List.of("Java", "Kafka"))
+                        .recruiter(amazon)
+                        .build(),
+                Vacancy.builder()
+                        .position("Java Developer")
+                        .technologyStack(List.of("Java"))
+                        .recruiter(amazon)
+                        .build(),
+                Vacancy.builder()
+                        .position("Python Developer")
+                        .salary(2500.0f)
+                        .technologyStack(List.of("Python"))
+                        .recruiter(google)
+                        .build()
+        ));
+
+        // When and then
+        mockMvc.perform(post("/api/v1/vacancy/_list")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {
+                                    "position": "Java Developer",
+                                    "facets": true,
+                                    "page": 0,
+                                    "size": 1
+                                }
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.facets.technology_stack.Java").value(3))
+                .andExpect(jsonPath("$.facets.technology_stack.Spring").value(1))
+                .andExpect(jsonPath("$.facets.technology_stack.Kafka").value(1))
+                .andExpect(jsonPath("$.facets.technology_stack.Python").doesNotExist())
+                .andExpect(jsonPath("$.facets.company_name.Amazon").value(2))
+                .andExpect(jsonPath("$.facets.company_name.Google").value(1))
+                .andExpect(jsonPath("$.facets.salary", hasSize(1)))
+                .andExpect(jsonPath("$.facets.salary[0].from").value(1000.0))
+                .andExpect(jsonPath("$.facets.salary[0].to").value(2000.0))
+                .andExpect(jsonPath("$.facets.salary[0].count").value(2))
+                .andExpect(jsonPath("$.facets.created_at", hasSize(1)))
+                .andExpect(jsonPath("$.facets.created_at[0].count").value(3));
+
+        mockMvc.perform(post("/api/v1/vacancy/_list")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {
+                                    "page": 0,
+                                    "size": 10
+                                }
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.facets").doesNotExist());
+    }
+
+    @Test
+    void getFilteredVacancies_shouldRankByRelevance_whenFilterContainsQuery() throws Exception {
+        // Given
+        Recruiter savedRecruiter = recruiterRepository.saveAndFlush(
+                Recruiter.builder()
+                        .username("anna")
+                        .password("password")
+                        .companyName("Google")
+                        .firstName("Anna")
+                        .lastName("Petrov")
+                        .build()
+        );
+
+        Vacancy backendVacancy = vacancyRepository.saveAndFlush(
+                Vacancy.builder()
+                        .position("Backend Developer")
+                        .salary(1000.0f)
+                        .technologyStack(List.of("Java", "Spring"))
+                        .recruiter(savedRecruiter)
+                        .build()
+        );
+
+        Vacancy javaVacancy = vacancyRepository.saveAndFlush(
+                Vacancy.builder()
+                        .position("Java Developer")
+                        .salary(2000.0f)
+                        .technologyStack(List.of("Java", "Hibernate"))
+                        .recruiter(savedRecruiter)
+                        .build()
+        );
+
+        vacancyRepository.saveAndFlush(
+                Vacancy.builder()
+                        .position("Python Developer")
+                        .salary(3000.0f)
+                        .technologyStack(List.of("Python", "Django"))
+                        .recruiter(savedRecruiter)
+                        .build()
+        );
+
+        // When and then
+        mockMvc.perform(post("/api/v1/vacancy/_list")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {
+                                    "query": "java",
+                                    "page": 0,
+                                    "size": 10
+                                }
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(2)))
+                .andExpect(jsonPath("$.content[0].vacancy_id").value(javaVacancy.getId()))
+                .andExpect(jsonPath("$.content[1].vacancy_id").value(backendVacancy.getId()));
+    }
+
+    @Test
+    void getFilteredVacancies_shouldTolerateTypos_whenFilterContainsQuery() throws Exception {
+        // Given
+        Recruiter savedRecruiter1 = recruiterRepository.saveAndFlush(
+                Recruiter.builder()
+                        .username("anna")
+                        .password("password")
+                        .companyName("Google")
+                        .firstName("Anna")
+                        .lastName("Petrov")
+                        .build()
+        );
+
+        Recruiter savedRecruiter2 = recruiterRepository.saveAndFlush(
+                Recruiter.builder()
+                        .username("john")
+                        .password("password")
+                        .companyName("Microsoft")
+                        .firstName("John")
+                        .lastName("Smith")
+                        .build()
+        );
+
+        Vacancy javaVacancy = vacancyRepository.saveAndFlush(
+                Vacancy.builder()
+                        .position("Java Developer")
+                        .salary(1000.0f)
+                        .technologyStack(List.of("Java", "Spring"))
+                        .recruiter(savedRecruiter1)
+                        .build()
+        );
+
+        Vacancy pythonVacancy = vacancyRepository.saveAndFlush(
+                Vacancy.builder()
+                        .position("Python Developer")
+                        .salary(2000.0f)
+                        .technologyStack(List.of("Python", "Django"))
+                        .recruiter(savedRecruiter2)
+                        .build()
+        );
+
+        // When and then
+        mockMvc.perform(post("/api/v1/vacancy/_list")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {
+                                    "query": "Djngo",
+                                    "page": 0,
+                                    "size": 10
+                                }
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].vacancy_id").value(pythonVacancy.getId()));
+
+        mockMvc.perform(post("/api/v1/vacancy/_list")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {
+                                    "query": "Gogle",
+                                    "min_salary": 500.0,
+                                    "page": 0,
+                                    "size": 10
+                                }
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].vacancy_id").value(javaVacancy.getId()));
+    }
+
+    @Test
+    void getFilteredVacancies_shouldReturnWholeTechnologyStack_whenPageIsNotFirst() throws Exception {
+        // Given
+        Recruiter savedRecruiter = recruiterRepository.saveAndFlush(
+                Recruiter.builder()
+                        .username("anna")
+                        .password("password")
+                        .companyName("Google")
+                        .firstName("Anna")
+                        .lastName("Petrov")
+                        .build()
+        );
+
+        vacancyRepository.saveAndFlush(
+                Vacancy.builder()
+                        .position("Java Developer")
+                        .salary(1000.0f)
+                        .technologyStack(List.of("Java", "Spring", "Hibernate"))
+                        .recruiter(savedRecruiter)
+                        .build()
+        );
+
+        vacancyRepository.saveAndFlush(
+                Vacancy.builder()
+                        .position("Python Developer")
+                        .salary(2000.0f)
+                        .technologyStack(List.of("Python", "Django"))
+                        .recruiter(savedRecruiter)
+                        .build()
+        );
+
+        Vacancy savedVacancy3 = vacancyRepository.saveAndFlush(
+                Vacancy.builder()
+                        .position("Sql Developer")
+                        .salary(3000.0f)
+                        .technologyStack(List.of("SQL", "PostgreSQL", "MySQL"))
+                        .recruiter(savedRecruiter)
+                        .build()
+        );
+
+        String request = """
+                {
+                    "page": 1,
+                    "size": 2
+                }
+                """;
+
+        // When and then
+        mockMvc.perform(post("/api/v1/vacancy/_list")
+                        .content(request)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.pageable.pageNumber").value(1))
+                .andExpect(jsonPath("$.pageable.pageSize").value(2))
+                .andExpect(jsonPath("$.totalElements").value(3))
+                .andExpect(jsonPath("$.totalPages").value(2))
+                .andExpect(jsonPath("$.total_exact").value(true))
+                .andExpect(jsonPath("$.numberOfElements").value(1))
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].vacancy_id").value(savedVacancy3.getId()))
+                .andExpect(jsonPath("$.content[0].technology_stack", hasSize(3)))
+                .andExpect(jsonPath("$.content[0].technology_stack", hasItem("SQL")))
+                .andExpect(jsonPath("$.content[0].technology_stack", hasItem("PostgreSQL")))
+                .andExpect(jsonPath("$.content[0].technology_stack", hasItem("MySQL")))
+                .andExpect(jsonPath("$.content[0].recruiter.company_name").value("Google"));
+    }
+
+    @Test
+    void getFilteredVacancies_shouldReturnExactTotal_whenEstimateIsBelowThreshold() throws Exception {
+        // Given
+        Recruiter savedRecruiter = recruiterRepository.saveAndFlush(
+                Recruiter.builder()
+                        .username("anna")
+                        .password("password")
+                        .companyName("Google")
+                        .firstName("Anna")
+                        .lastName("Petrov")
+                        .build()
+        );
+
+        for (String position : List.of("Java Developer", "Java Developer", "Java Developer", "Sql Developer")) {
+            vacancyRepository.saveAndFlush(
+                    Vacancy.builder()
+                            .position(position)
+                            .salary(1000.0f)
+                            .technologyStack(List.of("Java", "SQL"))
+                            .recruiter(savedRecruiter)
+                            .build()
+            );
+        }
+
+        String request = """
+                {
+                    "position": "Java Developer",
+                    "company_name": "Google",
+                    "technology_stack": ["Java"],
+                    "count_mode": "ESTIMATE",
+                    "page": 0,
+                    "size": 2
+                }
+                """;
+
+        // When and then
+        mockMvc.perform(post("/api/v1/vacancy/_list")
+                        .content(request)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.numberOfElements").value(2))
+                .andExpect(jsonPath("$.totalElements").value(3))
+                .andExpect(jsonPath("$.total_exact").value(true));
+    }
+
+    @Test
+    void getFilteredVacancies_shouldReturnSlicesByCursor_whenPaginationIsCursor() throws Exception {
+        // Given
+        Recruiter savedRecruiter = recruiterRepository.saveAndFlush(
+                Recruiter.builder()
+                        .username("anna")
+                        .password("password")
+                        .companyName("Google")
+                        .firstName("Anna")
+                        .lastName("Petrov")
+                        .build()
+        );
+
+        Vacancy savedVacancy1 = vacancyRepository.saveAndFlush(
+                Vacancy.builder()
+                        .position("Java Developer")
+                        .salary(1000.0f)
+                        .technologyStack(List.of("Java", "Spring"))
+                        .recruiter(savedRecruiter)
+                        .build()
+        );
+
+        Vacancy savedVacancy2 = vacancyRepository.saveAndFlush(
+                Vacancy.builder()
+                        .position("Python Developer")
+                        .salary(2000.0f)
+                        .technologyStack(List.of("Python", "Django"))
+                        .recruiter(savedRecruiter)
+                        .build()
+        );
+
+        Vacancy savedVacancy3 = vacancyRepository.saveAndFlush(
+                Vacancy.builder()
+                        .position("Java Developer")
+                        .salary(3000.0f)
+                        .technologyStack(List.of("Java", "Spring", "Hibernate"))
+                        .recruiter(savedRecruiter)
+                        .build()
+        );
+
+        String firstRequest = """
+                {
+                    "pagination": "CURSOR",
+                    "size": 2
+                }
+                """;
+
+        // When
+        String firstResponse = mockMvc.perform(post("/api/v1/vacancy/_list")
+                        .content(firstRequest)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.size").value(2))
+                .andExpect(jsonPath("$.has_next").value(true))
+                .andExpect(jsonPath("$.next_cursor").isString())
+                .andExpect(jsonPath("$.totalElements").doesNotExist())
+                .andExpect(jsonPath("$.content", hasSize(2)))
+                .andExpect(jsonPath("$.content[0].vacancy_id").value(savedVacancy1.getId()))
+                .andExpect(jsonPath("$.content[1].vacancy_id").value(savedVacancy2.getId()))
+                .andReturn().getResponse().getContentAsString();
+
+        String nextCursor = JsonPath.read(firstResponse, "$.next_cursor");
+
+        String secondRequest = """
+                {
+                    "after": "%s",
+                    "size": 2
+                }
+                """.formatted(nextCursor);
+
+        // Then
+        mockMvc.perform(post("/api/v1/vacancy/_list")
+                        .content(secondRequest)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.has_next").value(false))
+                .andExpect(jsonPath("$.next_cursor").doesNotExist())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].vacancy_id").value(savedVacancy3.getId()))
+                .andExpect(jsonPath("$.content[0].technology_stack", hasSize(3)));
+    }
+
+    @Test
+    void getFilteredVacancies_shouldReturnBadRequest_whenCursorIsInvalid() throws Exception {
+        // Given
+        String request = """
+                {
+                    "after": "not a cursor",
+                    "size": 2
+                }
+                """;
+
+        // When and then
+        mockMvc.perform(post("/api/v1/vacancy/_list")
+                        .content(request)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors", hasItem("Cursor is invalid")));
+    }
+
+    @Test
+    void getFilteredVacancies_shouldReturnBadRequest_whenPageIsNullInOffsetPagination() throws Exception {
+        // Given
+        String request = """
+                {
+                    "size": 2
+                }
+                """;
+
+        // When and then
+        mockMvc.perform(post("/api/v1/vacancy/_list")
+                        .content(request)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors", hasItem("Page number is required")));
+    }
+
     @Test
     void generateReportExcel_shouldReturnOk_whenFilterContainsRecruiterIdAndTechnologyStack() throws Exception {
         // Given
@@ -1863,4 +2368,43 @@ class VacancyControllerTest {
         assertThat(vacancySheet.getRow(4).getCell(8).getStringCellValue()).isEqualTo(savedRecruiter2.getLastName());
         assertThat(vacancySheet.getRow(4).getCell(9).getStringCellValue()).isEqualTo(savedRecruiter2.getCompanyName());
     }
-}
\ No newline at end of file
+
+    @Test
+    void generateReport_shouldReturnCsv_whenAcceptIsTextCsv() throws Exception {
+        // Given
+        Recruiter savedRecruiter = recruiterRepository.saveAndFlush(
+                Recruiter.builder()
+                        .username("anna")
+                        .password("password")
+                        .companyName("Google")
+                        .firstName("Anna")
+                        .lastName("Petrov")
+                        .build()
+        );
+
+        Vacancy savedVacancy = vacancyRepository.saveAndFlush(
+                Vacancy.builder()
+                        .position("Java Developer")
+                        .salary(1000.0f)
+                        .technologyStack(List.of("Java", "Spring"))
+                        .recruiter(savedRecruiter)
+                        .build()
+        );
+
+        // When and then
+        MockHttpServletResponse response = mockMvc.perform(post("/api/v1/vacancy/_report")
+                        .content("{}")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept("text/csv"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, startsWith("text/csv")))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, endsWith(".csv")))
+                .andReturn()
+                .getResponse();
+
+        String[] lines = response.getContentAsString().split("\r\n");
+        assertThat(lines).hasSize(2);
+        assertThat(lines[0]).startsWith("Vacancy ID,Position,Salary,Technology Stack");
+        assertThat(lines[1]).startsWith(savedVacancy.getId() + ",Java Developer,1000.0,\"Java, Spring\",Google,");
+    }
+}
@@ -0,0 +1,89 @@
+package org.prof.it.soft.integration.repo;
+
+import org.junit.ClassRule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.prof.it.soft.entity.Recruiter;
+import org.prof.it.soft.entity.Vacancy;
+import org.prof.it.soft.integration.annotation.IT;
+import org.prof.it.soft.integration.container.ControllerPostgresqlContainer;
+import org.prof.it.soft.metrics.SqlStatementCounter;
+import org.prof.it.soft.repo.RecruiterRepository;
+import org.prof.it.soft.repo.VacancyRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifies that the ids are allocated in blocks and that the vacancies and their technology stacks
+ * are inserted in JDBC batches, see the {@code hibernate.jdbc} properties.
+ */
+@IT
+@Testcontainers
+class VacancyBatchInsertTest {
+
+    @ClassRule
+    public static ControllerPostgresqlContainer controllerPostgresqlContainer = ControllerPostgresqlContainer.getInstance();
+
+    private static final int VACANCIES = 20;
+    private static final List<String> TECHNOLOGIES = IntStream.range(0, 10)
+            .mapToObj(i -> "Technology " + i)
+            .toList();
+
+    @Autowired
+    private RecruiterRepository recruiterRepository;
+
+    @Autowired
+    private VacancyRepository vacancyRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Recruiter recruiter;
+
+    @BeforeEach
+    void setUp() {
+        vacancyRepository.deleteAll();
+        recruiterRepository.deleteAll();
+        recruiter = recruiterRepository.saveAndFlush(
+                Recruiter.builder()
+                        .username("anna")
+                        .password("password")
+                        .companyName("Google")
+                        .firstName("Anna")
+                        .lastName("Petrov")
+                        .build()
+        );
+    }
+
+    @Test
+    void saveAll_shouldInsertVacanciesAndTechnologyStacksInBatches() {
+        List<Vacancy> vacancies = IntStream.range(0, VACANCIES)
+                .mapToObj(i -> Vacancy.builder()
+                        .position("Java Developer " + i)
+                        .salary(1000f + i)
+                        .technologyStack(new ArrayList<>(TECHNOLOGIES))
+                        .recruiter(recruiter)
+                        .build())
+                .toList();
+
+        SqlStatementCounter.Measurement measurement = SqlStatementCounter.start();
+        List<Vacancy> savedVacancies = vacancyRepository.saveAllAndFlush(vacancies);
+
+        // at most two nextval calls, one batch of vacancies and four batches of 50 technologies,
+        // one statement per row would be 20 nextval calls, 20 vacancy inserts and 200 technology inserts
+        assertThat(measurement.statements()).isLessThanOrEqualTo(7);
+
+        for (Vacancy vacancy : savedVacancies) {
+            String technologies = jdbcTemplate.queryForObject(
+                    "SELECT array_to_string(technologies, ',') FROM vacancies WHERE id = ?", String.class, vacancy.getId());
+            assertThat(technologies).isEqualTo(String.join(",", TECHNOLOGIES));
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package org.prof.it.soft.integration.repo;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.ClassRule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.prof.it.soft.dto.filter.VacancyFilterDto;
+import org.prof.it.soft.entity.Recruiter;
+import org.prof.it.soft.integration.annotation.IT;
+import org.prof.it.soft.integration.container.ControllerPostgresqlContainer;
+import org.prof.it.soft.repo.RecruiterRepository;
+import org.prof.it.soft.spec.VacancyFilterSql;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs {@code EXPLAIN (ANALYZE, BUFFERS)} for every vacancy filter dimension and their combinations,
+ * and for the candidate application queries, against a seeded database.
+ * A sequential scan of a table that grows with the vacancies means an index is missing
+ * or is not usable by the predicate. The recruiters are few, so the planner may scan them sequentially.
+ */
+@IT
+@Testcontainers
+class VacancyFilterIndexTest {
+
+    @ClassRule
+    public static ControllerPostgresqlContainer controllerPostgresqlContainer = ControllerPostgresqlContainer.getInstance();
+
+    private static final int RECRUITERS = 200;
+    private static final int VACANCIES = 20_000;
+    private static final Set<String> LARGE_TABLES = Set.of("vacancies", "technology_stacks", "candidate_applications");
+
+    @Autowired
+    private RecruiterRepository recruiterRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Recruiter recruiter;
+
+    @BeforeEach
+    void setUp() {
+        List<Recruiter> recruiters = recruiterRepository.saveAllAndFlush(IntStream.range(0, RECRUITERS)
+                .<Recruiter>mapToObj(i -> Recruiter.builder()
+                        .username("recruiter" + i)
+                        .password("password")
+                        .companyName("Company " + i)
+                        .firstName("Anna")
+                        .lastName("Petrov")
+                        .build())
+                .toList());
+        recruiter = recruiters.get(0);
+
+        jdbcTemplate.update("""
+                INSERT INTO vacancies (position, salary, created_at, updated_at, recruiter_id)
+                SELECT 'Position ' || (i % 1000),
+                       CASE WHEN i % 10 = 0 THEN NULL ELSE 500 + (i % 5000) END,
+                       now() - i * interval '1 minute',
+                       now(),
+                       (SELECT array_agg(id ORDER BY id) FROM recruiters)[i % ? + 1]
+                FROM generate_series(1, ?) i
+                """, RECRUITERS, VACANCIES);
+        jdbcTemplate.update("""
+                INSERT INTO technology_stacks (name, vacancy_id)
+                SELECT 'Tech ' || (id % 500), id FROM vacancies
+                UNION ALL
+                SELECT 'Common ' || (id % 3), id FROM vacancies
+                """);
+        jdbcTemplate.update("""
+                INSERT INTO candidate_applications (vacancy_id, person_id, created_at)
+                SELECT v.id, v.recruiter_id, now() FROM vacancies v
+                """);
+        jdbcTemplate.execute("ANALYZE vacancies, recruiters, technology_stacks, candidate_applications");
+    }
+
+    @Test
+    void vacancyFilters_shouldNotScanSequentially() throws Exception {
+        LocalDateTime now = LocalDateTime.now();
+
+        Map<String, VacancyFilterDto> filters = new LinkedHashMap<>();
+        filters.put("recruiter", filter(recruiter.getId(), null, null, null, null, null, null, null));
+        filters.put("position", filter(null, "Position 42", null, null, null, null, null, null));
+        filters.put("salary", filter(null, null, 1000f, 1010f, null, null, null, null));
+        filters.put("company", filter(null, null, null, null, "Company 7", null, null, null));
+        filters.put("technology stack", filter(null, null, null, null, null, List.of("Tech 7"), null, null));
+        filters.put("created at", filter(null, null, null, null, null, null, now.minusMinutes(30), now));
+        filters.put("salary and technology stack", filter(null, null, 1000f, null, null, List.of("Tech 7", "Common 1"), null, null));
+        filters.put("company and technology stack", filter(null, null, null, null, "Company 7", List.of("Common 1"), null, null));
+        filters.put("recruiter and technology stack", filter(recruiter.getId(), null, null, null, null, List.of("Common 2"), null, null));
+        filters.put("position, salary, recruiter and technology stack",
+                filter(recruiter.getId(), "Position 200", 600f, null, null, List.of("Common 2"), null, null));
+
+        List<String> sequentialScans = new ArrayList<>();
+        for (Map.Entry<String, VacancyFilterDto> filter : filters.entrySet()) {
+            VacancyFilterSql filterSql = VacancyFilterSql.of(filter.getValue());
+            sequentialScans.addAll(findSequentialScans(filter.getKey(), filterSql.selectIds(), filterSql.getParameters().toArray()));
+        }
+
+        assertThat(sequentialScans).isEmpty();
+    }
+
+    @Test
+    void candidateApplicationQueries_shouldNotScanSequentially() throws Exception {
+        Long vacancyId = jdbcTemplate.queryForObject(
+                "SELECT min(id) FROM vacancies WHERE recruiter_id = ?", Long.class, recruiter.getId());
+
+        List<String> sequentialScans = new ArrayList<>();
+        sequentialScans.addAll(findSequentialScans("by person",
+                "SELECT ca.id FROM candidate_applications ca WHERE ca.person_id = ?", recruiter.getId()));
+        sequentialScans.addAll(findSequentialScans("by vacancy",
+                "SELECT ca.id FROM candidate_applications ca WHERE ca.vacancy_id = ?", vacancyId));
+        sequentialScans.addAll(findSequentialScans("by person and vacancy",
+                "SELECT count(ca.id) FROM candidate_applications ca WHERE ca.person_id = ? AND ca.vacancy_id = ?",
+                recruiter.getId(), vacancyId));
+        sequentialScans.addAll(findSequentialScans("by recruiter",
+                "SELECT ca.id FROM candidate_applications ca JOIN vacancies v ON v.id = ca.vacancy_id WHERE v.recruiter_id = ?",
+                recruiter.getId()));
+
+        assertThat(sequentialScans).isEmpty();
+    }
+
+    /**
+     * Executes the query with {@code EXPLAIN (ANALYZE, BUFFERS)} and finds the sequential scans in its plan.
+     *
+     * @param name       the name of the query used in the failure message
+     * @param sql        the query
+     * @param parameters the parameters of the query
+     * @return the descriptions of the sequential scans, empty if there are none
+     */
+    private List<String> findSequentialScans(String name, String sql, Object... parameters) throws Exception {
+        String plan = jdbcTemplate.queryForObject("EXPLAIN (ANALYZE, BUFFERS, FORMAT JSON) " + sql, String.class, parameters);
+        JsonNode root = objectMapper.readTree(plan).path(0).path("Plan");
+
+        List<String> sequentialScans = new ArrayList<>();
+        collectSequentialScans(root, name, sequentialScans);
+        return sequentialScans;
+    }
+
+    private static void collectSequentialScans(JsonNode node, String name, List<String> sequentialScans) {
+        if ("Seq Scan".equals(node.path("Node Type").asText())
+                && LARGE_TABLES.contains(node.path("Relation Name").asText())) {
+            sequentialScans.add(name + ": sequential scan on " + node.path("Relation Name").asText());
+        }
+        for (JsonNode child : node.path("Plans")) {
+            collectSequentialScans(child, name, sequentialScans);
+        }
+    }
+
+    private static VacancyFilterDto filter(Long recruiterId, String position, Float minSalary, Float maxSalary,
+                                           String companyName, List<String> technologyStack,
+                                           LocalDateTime createdAtMin, LocalDateTime createdAtMax) {
+        return new VacancyFilterDto(recruiterId, position, minSalary, maxSalary, companyName, technologyStack,
+                createdAtMin, createdAtMax, null);
+    }
+}
@@ -0,0 +1,205 @@
+package org.prof.it.soft.integration.repo;
+
+import jakarta.persistence.EntityManager;
+import org.junit.ClassRule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.prof.it.soft.dto.filter.VacancyFilterDto;
+import org.prof.it.soft.dto.response.VacancyResponseDto;
+import org.prof.it.soft.entity.Recruiter;
+import org.prof.it.soft.entity.Vacancy;
+import org.prof.it.soft.integration.annotation.IT;
+import org.prof.it.soft.integration.container.ControllerPostgresqlContainer;
+import org.prof.it.soft.mapper.VacancyMapper;
+import org.prof.it.soft.repo.RecruiterRepository;
+import org.prof.it.soft.repo.VacancyRepository;
+import org.prof.it.soft.service.search.VacancySearchIndex;
+import org.prof.it.soft.spec.VacancyFilterSql;
+import org.prof.it.soft.spec.VacancySpecification;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs every combination of the filter conditions through {@link VacancySpecification},
+ * {@link VacancyFilterSql} and {@link VacancySearchIndex}, which implement the same conditions separately,
+ * and verifies that they match the same vacancies. The search query is not supported by the index,
+ * so it is compared between the specification and the native SQL only.
+ * The database may hold the vacancies of other tests, so only the vacancies seeded here are compared.
+ */
+@IT
+@Testcontainers
+class VacancyFilterParityTest {
+
+    @ClassRule
+    public static ControllerPostgresqlContainer controllerPostgresqlContainer = ControllerPostgresqlContainer.getInstance();
+
+    private static final int VACANCIES = 24;
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 1, 1, 9, 0);
+    private static final List<String> COMPANIES = List.of("Google", "Microsoft", "Apple");
+    private static final List<String> POSITIONS = List.of("Java Developer", "Kotlin Developer", "QA Engineer");
+    private static final List<List<String>> TECHNOLOGY_STACKS = List.of(
+            List.of("Java", "Spring"),
+            List.of("Kotlin", "Spring", "Docker"),
+            List.of("Java", "Docker"),
+            List.of());
+
+    /**
+     * The number of the filter conditions, the n-th bit of a combination sets the n-th condition, see {@link #filter}.
+     */
+    private static final int CONDITIONS = 8;
+
+    @Autowired
+    private RecruiterRepository recruiterRepository;
+
+    @Autowired
+    private VacancyRepository vacancyRepository;
+
+    @Autowired
+    private VacancyMapper vacancyMapper;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private List<Recruiter> recruiters;
+    private Set<Long> vacancyIds;
+
+    @BeforeEach
+    void setUp() {
+        recruiters = recruiterRepository.saveAllAndFlush(IntStream.range(0, COMPANIES.size())
+                .<Recruiter>mapToObj(i -> Recruiter.builder()
+                        .username("parity" + i)
+                        .password("password")
+                        .companyName(COMPANIES.get(i))
+                        .firstName("Anna")
+                        .lastName("Petrov")
+                        .build())
+                .toList());
+
+        // the salaries are exact in both numeric(10, 2) and float, every fourth vacancy has none
+        List<Vacancy> vacancies = vacancyRepository.saveAllAndFlush(IntStream.range(0, VACANCIES)
+                .mapToObj(i -> Vacancy.builder()
+                        .position(POSITIONS.get(i % POSITIONS.size()))
+                        .salary(i % 4 == 3 ? null : 1000f + 500f * (i % 4))
+                        .technologyStack(new ArrayList<>(TECHNOLOGY_STACKS.get(i % TECHNOLOGY_STACKS.size())))
+                        .recruiter(recruiters.get(i / 2 % recruiters.size()))
+                        .build())
+                .toList());
+        vacancyIds = vacancies.stream().map(Vacancy::getId).collect(Collectors.toSet());
+
+        // the creation dates are set by the entity, they are spread over days to be filtered
+        jdbcTemplate.batchUpdate("UPDATE vacancies SET created_at = ? WHERE id = ?",
+                IntStream.range(0, VACANCIES)
+                        .mapToObj(i -> new Object[]{CREATED_AT.plusDays(i), vacancies.get(i).getId()})
+                        .toList());
+        entityManager.clear();
+    }
+
+    @ParameterizedTest(name = "filter combination {0}")
+    @MethodSource("filterCombinations")
+    void filter_shouldMatchSameVacancies_bySpecificationNativeSqlAndSearchIndex(int combination) {
+        VacancyFilterDto filter = filter(combination, null);
+
+        List<Long> specificationIds = findBySpecification(filter);
+
+        // a single condition matches some of the vacancies, so the comparison is not made between empty results
+        if (Integer.bitCount(combination) <= 1) {
+            assertThat(specificationIds).isNotEmpty();
+        }
+        assertThat(findByNativeSql(filter)).as("native SQL of %s", filter).isEqualTo(specificationIds);
+        assertThat(findBySearchIndex(filter)).as("search index of %s", filter).isEqualTo(specificationIds);
+    }
+
+    @ParameterizedTest(name = "query \"{0}\" with filter combination {1}")
+    @CsvSource({
+            "java, 0",
+            "spring docker, 0",
+            "'Kotlin -Docker', 0",
+            "Javs Developer, 0",
+            "Gogle, 0",
+            "Microsoft, 0",
+            "nothing, 0",
+            "java, 3",
+            "spring, 16",
+            "developer, 96",
+            "docker, 255"
+    })
+    void query_shouldMatchSameVacancies_bySpecificationAndNativeSql(String query, int combination) {
+        VacancyFilterDto filter = filter(combination, query);
+
+        assertThat(findByNativeSql(filter)).as("native SQL of %s", filter).isEqualTo(findBySpecification(filter));
+    }
+
+    static IntStream filterCombinations() {
+        return IntStream.range(0, 1 << CONDITIONS);
+    }
+
+    /**
+     * Builds the filter with the conditions set in the combination.
+     * Every condition matches some of the vacancies and the range bounds are equal to seeded values,
+     * so the inclusiveness of the bounds is compared as well.
+     *
+     * @param combination the bits of the conditions to set
+     * @param query       the search query, may be null
+     * @return the filter
+     */
+    private VacancyFilterDto filter(int combination, String query) {
+        return new VacancyFilterDto(
+                (combination & 1) != 0 ? recruiters.get(1).getId() : null,
+                (combination & 1 << 1) != 0 ? "Java Developer" : null,
+                (combination & 1 << 2) != 0 ? 1500f : null,
+                (combination & 1 << 3) != 0 ? 2000f : null,
+                (combination & 1 << 4) != 0 ? "Google" : null,
+                (combination & 1 << 5) != 0 ? List.of("Java", "Docker") : null,
+                (combination & 1 << 6) != 0 ? CREATED_AT.plusDays(4) : null,
+                (combination & 1 << 7) != 0 ? CREATED_AT.plusDays(18) : null,
+                query);
+    }
+
+    private List<Long> findBySpecification(VacancyFilterDto filter) {
+        return seeded(vacancyRepository.findIds(VacancySpecification.of(filter), Pageable.unpaged(Sort.by("id"))));
+    }
+
+    private List<Long> findByNativeSql(VacancyFilterDto filter) {
+        VacancyFilterSql filterSql = VacancyFilterSql.of(filter);
+        return seeded(jdbcTemplate.queryForList(filterSql.selectIds(), Long.class, filterSql.getParameters().toArray()));
+    }
+
+    private List<Long> findBySearchIndex(VacancyFilterDto filter) {
+        VacancySearchIndex index = VacancySearchIndex.of(vacancyRepository.findAllWithRecruiterAndTechnologyStackByIdIn(vacancyIds).stream()
+                .map(vacancyMapper::toResponseDto)
+                .toList());
+        BitSet matches = index.match(filter, null);
+        return index.get(matches, 0, index.size()).stream()
+                .map(VacancyResponseDto::getId)
+                .toList();
+    }
+
+    /**
+     * Keeps the seeded vacancies in the order of their ids, the results are compared regardless of the order
+     * of the search relevance.
+     */
+    private List<Long> seeded(List<Long> ids) {
+        return ids.stream()
+                .filter(vacancyIds::contains)
+                .sorted()
+                .toList();
+    }
+}
@@ -0,0 +1,179 @@
+package org.prof.it.soft.integration.service;
+
+import org.junit.ClassRule;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.prof.it.soft.TestApplicationRunner;
+import org.prof.it.soft.dto.response.CreatingCandidateApplicationResponseDto;
+import org.prof.it.soft.entity.CandidateApplication;
+import org.prof.it.soft.entity.Person;
+import org.prof.it.soft.entity.Recruiter;
+import org.prof.it.soft.entity.Vacancy;
+import org.prof.it.soft.entity.security.Permission;
+import org.prof.it.soft.entity.security.User;
+import org.prof.it.soft.integration.container.ControllerPostgresqlContainer;
+import org.prof.it.soft.repo.CandidateApplicationRepository;
+import org.prof.it.soft.repo.PersonRepository;
+import org.prof.it.soft.repo.RecruiterRepository;
+import org.prof.it.soft.repo.VacancyRepository;
+import org.prof.it.soft.service.CandidateApplicationService;
+import org.prof.it.soft.service.UserService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Applies for the same vacancy as the same candidate from many threads at once.
+ * The test is not transactional, every application is committed as it is in a request,
+ * so the data created by the test is deleted by its ids after every test.
+ */
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.MOCK,
+        classes = TestApplicationRunner.class
+)
+@ActiveProfiles("test")
+@Testcontainers
+class CandidateApplicationConcurrencyTest {
+
+    private static final int THREADS = 16;
+
+    @ClassRule
+    public static ControllerPostgresqlContainer controllerPostgresqlContainer = ControllerPostgresqlContainer.getInstance();
+
+    @Autowired
+    private CandidateApplicationService candidateApplicationService;
+
+    @Autowired
+    private CandidateApplicationRepository candidateApplicationRepository;
+
+    @Autowired
+    private VacancyRepository vacancyRepository;
+
+    @Autowired
+    private RecruiterRepository recruiterRepository;
+
+    @Autowired
+    private PersonRepository personRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Recruiter recruiter;
+    private Vacancy vacancy;
+    private User candidate;
+
+    @BeforeEach
+    void setUp() {
+        recruiter = recruiterRepository.saveAndFlush(
+                Recruiter.builder()
+                        .username("concurrent-recruiter")
+                        .password("recruiter")
+                        .companyName("Google")
+                        .firstName("Anna")
+                        .lastName("Petrov")
+                        .build()
+        );
+
+        vacancy = vacancyRepository.saveAndFlush(
+                Vacancy.builder()
+                        .position("Java Developer")
+                        .salary(1000.0f)
+                        .technologyStack(new ArrayList<>(List.of("Java", "Spring")))
+                        .recruiter(recruiter)
+                        .build()
+        );
+
+        candidate = userService.save(Person.builder()
+                .username("concurrent-candidate")
+                .password("candidate")
+                .accountNonExpired(true)
+                .accountNonLocked(true)
+                .credentialsNonExpired(true)
+                .enabled(true)
+                .permissions(Set.of(Permission.APPLY_VACANCY))
+                .firstName("John")
+                .lastName("Doe")
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            candidateApplicationRepository.deleteAllByVacancyId(vacancy.getId());
+            vacancyRepository.deleteById(vacancy.getId());
+            recruiterRepository.deleteById(recruiter.getId());
+            personRepository.deleteById(candidate.getId());
+        });
+    }
+
+    @Test
+    void createCandidateApplication_shouldCreateOneApplication_whenSameCandidateAppliesConcurrently() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<CreatingCandidateApplicationResponseDto>> responses = new ArrayList<>();
+        try {
+            for (int i = 0; i < THREADS; i++) {
+                responses.add(executor.submit(() -> {
+                    start.await();
+                    return candidateApplicationService.createCandidateApplication(vacancy.getId(), candidate);
+                }));
+            }
+            start.countDown();
+
+            int created = 0;
+            for (Future<CreatingCandidateApplicationResponseDto> response : responses) {
+                CreatingCandidateApplicationResponseDto responseDto = response.get(30, TimeUnit.SECONDS);
+                if (responseDto.getCandidateApplicationId() != null) {
+                    assertThat(responseDto.getMessage()).isEqualTo("Application created successfully");
+                    created++;
+                } else {
+                    assertThat(responseDto.getMessage()).isEqualTo("Application has been already created");
+                }
+            }
+            assertThat(created).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Long applications = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM candidate_applications WHERE person_id = ? AND vacancy_id = ?",
+                Long.class, candidate.getId(), vacancy.getId());
+        assertThat(applications).isEqualTo(1);
+    }
+
+    @Test
+    void saveAndFlush_shouldViolateUniqueConstraint_whenApplicationIsDuplicated() {
+        candidateApplicationService.createCandidateApplication(vacancy.getId(), candidate);
+
+        CandidateApplication duplicate = new CandidateApplication();
+        duplicate.setVacancy(vacancyRepository.getReferenceById(vacancy.getId()));
+        duplicate.setPerson(personRepository.getReferenceById(candidate.getId()));
+
+        assertThatThrownBy(() -> candidateApplicationRepository.saveAndFlush(duplicate))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+}
@@ -0,0 +1,157 @@
+package org.prof.it.soft.integration.service;
+
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Hibernate;
+import org.junit.ClassRule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.prof.it.soft.dto.request.VacancyRequestDto;
+import org.prof.it.soft.dto.response.VacancyResponseDto;
+import org.prof.it.soft.entity.Recruiter;
+import org.prof.it.soft.integration.annotation.IT;
+import org.prof.it.soft.integration.container.ControllerPostgresqlContainer;
+import org.prof.it.soft.metrics.SqlStatementCounter;
+import org.prof.it.soft.repo.RecruiterRepository;
+import org.prof.it.soft.repo.VacancyRepository;
+import org.prof.it.soft.service.VacancyService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Creates and deletes vacancies of a recruiter with many vacancies and of a recruiter without vacancies.
+ * The vacancies of the recruiter are not loaded by the write paths, so both recruiters take the same
+ * statements, whatever the number of their vacancies.
+ */
+@Slf4j
+@IT
+@Testcontainers
+class VacancyCreationLoadTest {
+
+    @ClassRule
+    public static ControllerPostgresqlContainer controllerPostgresqlContainer = ControllerPostgresqlContainer.getInstance();
+
+    private static final int EXISTING_VACANCIES = 50_000;
+    private static final int CREATED_VACANCIES = 20;
+
+    @Autowired
+    private VacancyService vacancyService;
+
+    @Autowired
+    private RecruiterRepository recruiterRepository;
+
+    @Autowired
+    private VacancyRepository vacancyRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Recruiter largeRecruiter;
+    private Recruiter newRecruiter;
+
+    @BeforeEach
+    void setUp() {
+        largeRecruiter = saveRecruiter("large");
+        newRecruiter = saveRecruiter("new");
+
+        jdbcTemplate.update("""
+                INSERT INTO vacancies (position, salary, created_at, updated_at, recruiter_id)
+                SELECT 'Position ' || i, 1000 + i % 1000, now(), now(), ?
+                FROM generate_series(1, ?) i
+                """, largeRecruiter.getId(), EXISTING_VACANCIES);
+    }
+
+    @Test
+    void saveVacancy_shouldNotDependOnNumberOfVacanciesOfRecruiter() {
+        Measurement large = saveVacancies(largeRecruiter);
+        Measurement none = saveVacancies(newRecruiter);
+
+        log.info("{} vacancies saved in {} ms for a recruiter with {} vacancies and in {} ms for a recruiter without vacancies",
+                CREATED_VACANCIES, large.millis(), EXISTING_VACANCIES, none.millis());
+
+        // the ids are allocated in blocks, so one of the recruiters may take one more nextval call
+        assertThat(large.statements()).isLessThanOrEqualTo(none.statements() + 1);
+        assertThat(countVacancies(largeRecruiter) + countVacancies(newRecruiter))
+                .isEqualTo(EXISTING_VACANCIES + 2L * CREATED_VACANCIES);
+    }
+
+    @Test
+    void deleteVacancy_shouldNotLoadVacanciesOfRecruiter() {
+        VacancyResponseDto vacancy = vacancyService.saveVacancy(request(largeRecruiter, 0));
+        entityManager.flush();
+        entityManager.clear();
+
+        SqlStatementCounter.Measurement measurement = SqlStatementCounter.start();
+        vacancyService.deleteVacancy(vacancy.getId());
+        entityManager.flush();
+
+        // the vacancy, its applications and its technology stack, the recruiter is neither loaded nor deleted
+        assertThat(measurement.statements()).isLessThanOrEqualTo(5);
+        assertThat(vacancyRepository.existsById(vacancy.getId())).isFalse();
+        assertThat(recruiterRepository.existsById(largeRecruiter.getId())).isTrue();
+        assertThat(countVacancies(largeRecruiter)).isEqualTo(EXISTING_VACANCIES);
+    }
+
+    /**
+     * Saves vacancies of the recruiter, every one with an empty persistence context as in a request.
+     *
+     * @param recruiter the recruiter of the vacancies
+     * @return the statements and the time taken by the saves
+     */
+    private Measurement saveVacancies(Recruiter recruiter) {
+        long statements = 0;
+        long nanos = 0;
+        for (int i = 0; i < CREATED_VACANCIES; i++) {
+            entityManager.clear();
+
+            long start = System.nanoTime();
+            SqlStatementCounter.Measurement measurement = SqlStatementCounter.start();
+            vacancyService.saveVacancy(request(recruiter, i));
+            statements += measurement.statements();
+            nanos += System.nanoTime() - start;
+
+            // the save only references the recruiter, neither the recruiter nor its vacancies are loaded
+            assertThat(Hibernate.isInitialized(entityManager.getReference(Recruiter.class, recruiter.getId())))
+                    .isFalse();
+        }
+        return new Measurement(statements, nanos / 1_000_000);
+    }
+
+    /**
+     * Counts the vacancies of the recruiter, the test database may hold the vacancies of other tests.
+     */
+    private long countVacancies(Recruiter recruiter) {
+        entityManager.flush();
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM vacancies WHERE recruiter_id = ?",
+                Long.class, recruiter.getId());
+    }
+
+    private VacancyRequestDto request(Recruiter recruiter, int i) {
+        return new VacancyRequestDto("Java Developer " + i, 1000f + i,
+                new ArrayList<>(List.of("Java", "Spring")), recruiter.getId());
+    }
+
+    private Recruiter saveRecruiter(String username) {
+        return recruiterRepository.saveAndFlush(
+                Recruiter.builder()
+                        .username(username)
+                        .password("password")
+                        .companyName("Google")
+                        .firstName("Anna")
+                        .lastName("Petrov")
+                        .build()
+        );
+    }
+
+    private record Measurement(long statements, long millis) {
+    }
+}
@@ -0,0 +1,108 @@
+package org.prof.it.soft.integration.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.ClassRule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.prof.it.soft.entity.Recruiter;
+import org.prof.it.soft.entity.Vacancy;
+import org.prof.it.soft.integration.annotation.IT;
+import org.prof.it.soft.integration.container.ControllerPostgresqlContainer;
+import org.prof.it.soft.repo.RecruiterRepository;
+import org.prof.it.soft.repo.VacancyRepository;
+import org.prof.it.soft.service.VacancyService;
+import org.prof.it.soft.service.report.ReportFormat;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@IT
+@Testcontainers
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class VacancyReportQueryCountTest {
+
+    @ClassRule
+    public static ControllerPostgresqlContainer controllerPostgresqlContainer = ControllerPostgresqlContainer.getInstance();
+
+    @Autowired
+    private VacancyService vacancyService;
+
+    @Autowired
+    private RecruiterRepository recruiterRepository;
+
+    @Autowired
+    private VacancyRepository vacancyRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        vacancyRepository.deleteAll();
+        recruiterRepository.deleteAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void generateReport_shouldExecuteSameNumberOfStatements_whateverNumberOfVacancies() {
+        Recruiter recruiter = recruiterRepository.saveAndFlush(
+                Recruiter.builder()
+                        .username("anna")
+                        .password("password")
+                        .companyName("Google")
+                        .firstName("Anna")
+                        .lastName("Petrov")
+                        .build()
+        );
+
+        saveVacancies(recruiter, 3);
+        long statementsForFewVacancies = countReportStatements(3);
+
+        saveVacancies(recruiter, 47);
+        long statementsForManyVacancies = countReportStatements(50);
+
+        assertThat(statementsForFewVacancies).isEqualTo(1);
+        assertThat(statementsForManyVacancies).isEqualTo(statementsForFewVacancies);
+    }
+
+    private void saveVacancies(Recruiter recruiter, int count) {
+        vacancyRepository.saveAllAndFlush(IntStream.range(0, count)
+                .mapToObj(i -> Vacancy.builder()
+                        .position("Java Developer " + i)
+                        .salary(1000f + i)
+                        .technologyStack(List.of("Java", "Spring"))
+                        .recruiter(recruiter)
+                        .build())
+                .toList());
+    }
+
+    /**
+     * Generates the CSV report and counts the SQL statements executed while generating it.
+     *
+     * @param expectedRows the number of vacancies expected in the report
+     * @return the number of prepared SQL statements
+     */
+    private long countReportStatements(int expectedRows) {
+        statistics.clear();
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        vacancyService.generateReport(null, ReportFormat.CSV, outputStream);
+
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertThat(lines).hasSize(expectedRows + 1);
+        assertThat(lines[1]).contains("\"Java, Spring\"", "Google", "Anna", "Petrov");
+
+        return statistics.getPrepareStatementCount();
+    }
+}
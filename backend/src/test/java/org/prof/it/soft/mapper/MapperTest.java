@@ -0,0 +1,134 @@
+package org.prof.it.soft.mapper;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+import org.prof.it.soft.config.MapperConfig;
+import org.prof.it.soft.dto.request.VacancyRequestDto;
+import org.prof.it.soft.dto.response.CandidateApplicationResponseDto;
+import org.prof.it.soft.dto.response.RecruiterResponseDto;
+import org.prof.it.soft.dto.response.VacancyResponseDto;
+import org.prof.it.soft.entity.CandidateApplication;
+import org.prof.it.soft.entity.Person;
+import org.prof.it.soft.entity.Recruiter;
+import org.prof.it.soft.entity.Vacancy;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that the hand-written mappers produce the same DTOs as the model mapper they replace.
+ */
+class MapperTest {
+
+    private final ModelMapper modelMapper = new MapperConfig().getModelMapper();
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    private final PersonMapper personMapper = new PersonMapper();
+    private final RecruiterMapper recruiterMapper = new RecruiterMapper(personMapper);
+    private final VacancyMapper vacancyMapper = new VacancyMapper(recruiterMapper);
+    private final CandidateApplicationMapper candidateApplicationMapper = new CandidateApplicationMapper(personMapper);
+
+    @Test
+    void toResponseDto_shouldMapVacancyAsModelMapper() {
+        Vacancy vacancy = vacancy(recruiter());
+
+        VacancyResponseDto vacancyResponseDto = vacancyMapper.toResponseDto(vacancy);
+
+        assertThat(vacancyResponseDto).isEqualTo(modelMapper.map(vacancy, VacancyResponseDto.class));
+        assertThat(vacancyResponseDto.getTechnologyStack()).isNotSameAs(vacancy.getTechnologyStack());
+    }
+
+    @Test
+    void toResponseDto_shouldMapVacancyAsModelMapper_whenOptionalFieldsAreNull() {
+        Vacancy vacancy = Vacancy.builder()
+                .id(4L)
+                .position("Go Developer")
+                .technologyStack(new ArrayList<>())
+                .build();
+
+        assertThat(vacancyMapper.toResponseDto(vacancy)).isEqualTo(modelMapper.map(vacancy, VacancyResponseDto.class));
+    }
+
+    @Test
+    void toResponseDto_shouldMapRecruiterAsModelMapper() {
+        Recruiter recruiter = recruiter();
+
+        assertThat(recruiterMapper.toResponseDto(recruiter))
+                .isEqualTo(modelMapper.map(recruiter, RecruiterResponseDto.class));
+    }
+
+    @Test
+    void toResponseDto_shouldSerializeCandidateApplicationAsModelMapper() throws Exception {
+        Person candidate = Person.builder()
+                .username("bob")
+                .password("password")
+                .firstName("Bob")
+                .lastName("Ivanov")
+                .build();
+        candidate.setId(9L);
+
+        CandidateApplication candidateApplication = new CandidateApplication();
+        candidateApplication.setId(11L);
+        candidateApplication.setVacancy(vacancy(recruiter()));
+        candidateApplication.setPerson(candidate);
+        candidateApplication.setCreatedAt(LocalDateTime.of(2024, 4, 1, 10, 0));
+
+        // the recruiter of the vacancy is not mapped, it is excluded from the response anyway
+        assertThat(objectMapper.writeValueAsString(candidateApplicationMapper.toResponseDto(candidateApplication)))
+                .isEqualTo(objectMapper.writeValueAsString(
+                        modelMapper.map(candidateApplication, CandidateApplicationResponseDto.class)));
+    }
+
+    @Test
+    void toEntity_shouldMapVacancyRequestAsModelMapper() {
+        VacancyRequestDto vacancyRequestDto = new VacancyRequestDto("Java Developer", 1000F,
+                List.of("Java", "Spring"), 100L);
+
+        Vacancy vacancy = vacancyMapper.toEntity(vacancyRequestDto);
+        Vacancy expected = modelMapper.map(vacancyRequestDto, Vacancy.class);
+
+        assertThat(vacancy.getId()).isNull();
+        assertThat(vacancy.getPosition()).isEqualTo(expected.getPosition());
+        assertThat(vacancy.getSalary()).isEqualTo(expected.getSalary());
+        assertThat(vacancy.getTechnologyStack()).isEqualTo(expected.getTechnologyStack());
+        assertThat(vacancy.getRecruiter().getId()).isEqualTo(expected.getRecruiter().getId());
+    }
+
+    @Test
+    void toEntity_shouldCreateEmptyTechnologyStack_whenRequestHasNone() {
+        VacancyRequestDto vacancyRequestDto = new VacancyRequestDto("Java Developer", 1000F, null, 100L);
+
+        assertThat(vacancyMapper.toEntity(vacancyRequestDto).getTechnologyStack()).isEmpty();
+    }
+
+    private static Recruiter recruiter() {
+        Recruiter recruiter = Recruiter.builder()
+                .username("anna")
+                .password("password")
+                .companyName("Google")
+                .firstName("Anna")
+                .lastName("Petrov")
+                .createdAt(LocalDateTime.of(2024, 1, 1, 10, 0))
+                .updatedAt(LocalDateTime.of(2024, 1, 2, 10, 0))
+                .build();
+        recruiter.setId(7L);
+        return recruiter;
+    }
+
+    private static Vacancy vacancy(Recruiter recruiter) {
+        return Vacancy.builder()
+                .id(3L)
+                .position("Java Developer")
+                .salary(1000F)
+                .technologyStack(new ArrayList<>(List.of("Java", "Spring")))
+                .createdAt(LocalDateTime.of(2024, 2, 1, 10, 0))
+                .updatedAt(LocalDateTime.of(2024, 2, 2, 10, 0))
+                .recruiter(recruiter)
+                .build();
+    }
+}
@@ -0,0 +1,79 @@
+package org.prof.it.soft.service.count;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.prof.it.soft.dto.filter.VacancyFilterDto;
+import org.prof.it.soft.entity.Vacancy;
+import org.prof.it.soft.repo.VacancyRepository;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class VacancyCountStrategyTest {
+
+    private VacancyRepository vacancyRepository;
+    private ExactVacancyCountStrategy exactVacancyCountStrategy;
+    private final Specification<Vacancy> specification = (root, query, criteriaBuilder) -> null;
+
+    @BeforeEach
+    void setUp() {
+        vacancyRepository = mock(VacancyRepository.class);
+        exactVacancyCountStrategy = new ExactVacancyCountStrategy(vacancyRepository);
+    }
+
+    @Test
+    void cappedCount_shouldReturnLimitAsNotExact_whenTotalExceedsLimit() {
+        when(vacancyRepository.countUpTo(any(), eq(11L))).thenReturn(11L);
+        CappedVacancyCountStrategy strategy = new CappedVacancyCountStrategy(vacancyRepository);
+        ReflectionTestUtils.setField(strategy, "limit", 10);
+
+        VacancyCount count = strategy.count(filter(List.of("Java")), specification);
+
+        assertThat(count).isEqualTo(VacancyCount.approximate(10));
+        verify(vacancyRepository, never()).count(any(Specification.class));
+    }
+
+    @Test
+    void cappedCount_shouldReturnExactTotal_whenTotalIsBelowLimit() {
+        when(vacancyRepository.countUpTo(any(), eq(11L))).thenReturn(3L);
+        CappedVacancyCountStrategy strategy = new CappedVacancyCountStrategy(vacancyRepository);
+        ReflectionTestUtils.setField(strategy, "limit", 10);
+
+        assertThat(strategy.count(filter(List.of("Java")), specification)).isEqualTo(VacancyCount.exact(3));
+    }
+
+    @Test
+    void cachedCount_shouldCountOnce_whenFiltersDifferOnlyInTechnologyOrder() {
+        when(vacancyRepository.count(any(Specification.class))).thenReturn(42L);
+        CachedVacancyCountStrategy strategy = new CachedVacancyCountStrategy(exactVacancyCountStrategy);
+        ReflectionTestUtils.setField(strategy, "maxSize", 100L);
+        ReflectionTestUtils.setField(strategy, "ttl", Duration.ofSeconds(30));
+        strategy.init();
+
+        VacancyCount first = strategy.count(filter(List.of("Java", "Spring")), specification);
+        VacancyCount second = strategy.count(filter(List.of("Spring", "Java", "Java")), specification);
+
+        assertThat(first).isEqualTo(VacancyCount.exact(42));
+        assertThat(second).isEqualTo(VacancyCount.approximate(42));
+        verify(vacancyRepository, times(1)).count(any(Specification.class));
+    }
+
+    @Test
+    void counter_shouldUseExactCount_whenCountModeIsNull() {
+        when(vacancyRepository.count(any(Specification.class))).thenReturn(7L);
+        VacancyCounter counter = new VacancyCounter(List.of(exactVacancyCountStrategy));
+
+        assertThat(counter.count(filter(null), specification)).isEqualTo(VacancyCount.exact(7));
+    }
+
+    private static VacancyFilterDto filter(List<String> technologyStack) {
+        return new VacancyFilterDto(null, "Java Developer", null, null, null, technologyStack, null, null, null);
+    }
+}
@@ -0,0 +1,86 @@
+package org.prof.it.soft.service.impl;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.prof.it.soft.entity.security.Permission;
+import org.prof.it.soft.entity.security.User;
+import org.prof.it.soft.repo.UserRepository;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+class CachedUserDetailsServiceImplTest {
+
+    private UserRepository userRepository;
+    private CachedUserDetailsServiceImpl cachedUserDetailsService;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        when(userRepository.findByUsername("john")).thenAnswer(invocation -> Optional.of(User.builder()
+                .id(1L)
+                .username("john")
+                .password("hashed")
+                .accountNonLocked(true)
+                .enabled(true)
+                .permissions(new HashSet<>(Set.of(Permission.VIEW_VACANCY, Permission.APPLY_VACANCY)))
+                .build()));
+
+        cachedUserDetailsService = new CachedUserDetailsServiceImpl(userRepository);
+        ReflectionTestUtils.setField(cachedUserDetailsService, "enabled", true);
+        ReflectionTestUtils.setField(cachedUserDetailsService, "maxSize", 100L);
+        ReflectionTestUtils.setField(cachedUserDetailsService, "expireAfterWrite", Duration.ofMinutes(5));
+        cachedUserDetailsService.init();
+    }
+
+    @Test
+    void loadUserByUsername_shouldLoadUserOnlyOnce() {
+        cachedUserDetailsService.loadUserByUsername("john");
+        cachedUserDetailsService.loadUserByUsername("john");
+
+        verify(userRepository, times(1)).findByUsername("john");
+        assertThat(cachedUserDetailsService.getStats().hitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void loadUserByUsername_shouldReturnDetachedCopies() {
+        User first = cachedUserDetailsService.loadUserByUsername("john");
+        first.setUsername("changed");
+        first.setAccountNonLocked(false);
+        assertThatThrownBy(() -> first.getPermissions().add(Permission.CREATE_VACANCY))
+                .isInstanceOf(UnsupportedOperationException.class);
+
+        User second = cachedUserDetailsService.loadUserByUsername("john");
+
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.getUsername()).isEqualTo("john");
+        assertThat(second.getPassword()).isNull();
+        assertThat(second.isAccountNonLocked()).isTrue();
+        assertThat(second.getAuthorities()).containsExactlyInAnyOrder(Permission.VIEW_VACANCY, Permission.APPLY_VACANCY);
+    }
+
+    @Test
+    void evict_shouldReloadUserFromDatabase() {
+        cachedUserDetailsService.loadUserByUsername("john");
+        cachedUserDetailsService.evict("john");
+        cachedUserDetailsService.loadUserByUsername("john");
+
+        verify(userRepository, times(2)).findByUsername("john");
+    }
+
+    @Test
+    void loadUserByUsername_shouldThrow_whenUserDoesNotExist() {
+        when(userRepository.findByUsername("unknown")).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> cachedUserDetailsService.loadUserByUsername("unknown"))
+                .isInstanceOf(UsernameNotFoundException.class);
+    }
+}
@@ -65,4 +65,74 @@ class JwtServiceImplTest {
         // Check if the token is invalid because it has expired
         assertFalse(jwtService.isTokenValid(token, user));
     }
-}
\ No newline at end of file
+
+    @Test
+    void isTokenValid_verifiesSignatureOnlyOnce() {
+        JwtServiceImpl cachingJwtService = JwtServiceImpl.builder()
+                .jwtSigningKey("VERYSTRONGANDPOWERFULKEY11111APIKEY1111GLHLDDHJLGDLGHJKSW")
+                .jwtExpirationInMs(60000)
+                .build();
+
+        User user = User.builder()
+                .id(1L)
+                .username("username")
+                .password("12345")
+                .permissions(Set.of(Permission.CREATE_RECRUITER, Permission.CREATE_VACANCY))
+                .build();
+
+        String token = cachingJwtService.generateToken(user);
+
+        // The same calls as JwtAuthenticationFilter does for every request
+        assertThat(cachingJwtService.extractUserName(token)).isEqualTo("username");
+        assertTrue(cachingJwtService.isTokenValid(token, user));
+        assertTrue(cachingJwtService.isTokenValid(token, user));
+
+        assertThat(cachingJwtService.getClaimsCacheStats().missCount()).isEqualTo(1);
+        assertThat(cachingJwtService.getClaimsCacheStats().hitCount()).isEqualTo(4);
+        assertThat(cachingJwtService.getClaimsCacheSize()).isEqualTo(1);
+    }
+
+    @Test
+    void extractUserName_shouldNotShareClaimsBetweenTokens() {
+        User first = User.builder()
+                .id(1L)
+                .username("first")
+                .password("12345")
+                .permissions(Set.of(Permission.CREATE_VACANCY))
+                .build();
+        User second = User.builder()
+                .id(2L)
+                .username("second")
+                .password("12345")
+                .permissions(Set.of(Permission.CREATE_VACANCY))
+                .build();
+
+        String firstToken = jwtService.generateToken(first);
+        String secondToken = jwtService.generateToken(second);
+
+        assertThat(jwtService.extractUserName(firstToken)).isEqualTo("first");
+        assertThat(jwtService.extractUserName(secondToken)).isEqualTo("second");
+        assertFalse(jwtService.isTokenValid(firstToken, second));
+    }
+
+    @Test
+    void extractUser_shouldRebuildPrincipalFromClaims() {
+        User user = User.builder()
+                .id(42L)
+                .username("username")
+                .password("12345")
+                .permissions(Set.of(Permission.CREATE_RECRUITER, Permission.CREATE_VACANCY))
+                .build();
+
+        String token = jwtService.generateToken(user);
+        User principal = jwtService.extractUser(token);
+
+        assertThat(principal.getId()).isEqualTo(42L);
+        assertThat(principal.getUsername()).isEqualTo("username");
+        assertThat(principal.getPassword()).isNull();
+        assertThat(principal.getAuthorities())
+                .containsExactlyInAnyOrder(Permission.CREATE_RECRUITER, Permission.CREATE_VACANCY);
+        assertTrue(principal.isAccountNonLocked());
+        assertTrue(jwtService.isTokenValid(token, principal));
+    }
+}
@@ -0,0 +1,125 @@
+package org.prof.it.soft.service.impl;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.prof.it.soft.dto.filter.VacancyFilterDto;
+import org.prof.it.soft.dto.response.ReportJobResponseDto;
+import org.prof.it.soft.exception.NotFoundException;
+import org.prof.it.soft.service.VacancyService;
+import org.prof.it.soft.service.report.ReportFile;
+import org.prof.it.soft.service.report.ReportFormat;
+import org.prof.it.soft.service.report.ReportJobStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ReportJobServiceImplTest {
+
+    @TempDir
+    private Path spoolDir;
+
+    private VacancyService vacancyService;
+    private ReportJobServiceImpl reportJobService;
+    private final CountDownLatch generationAllowed = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() throws Exception {
+        vacancyService = mock(VacancyService.class);
+        doAnswer(invocation -> {
+            generationAllowed.await(5, TimeUnit.SECONDS);
+            invocation.getArgument(2, OutputStream.class).write("report".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(vacancyService).generateReport(any(), any(), any());
+
+        reportJobService = new ReportJobServiceImpl(vacancyService);
+        ReflectionTestUtils.setField(reportJobService, "spoolDir", spoolDir);
+        ReflectionTestUtils.setField(reportJobService, "concurrency", 1);
+        ReflectionTestUtils.setField(reportJobService, "queueCapacity", 1);
+        ReflectionTestUtils.setField(reportJobService, "ttl", Duration.ofHours(1));
+        reportJobService.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        generationAllowed.countDown();
+        reportJobService.shutdown();
+    }
+
+    @Test
+    void submit_shouldReuseJob_whenFilterIsIdentical() {
+        ReportJobResponseDto first = reportJobService.submit(filter(List.of("Java", "Spring")), ReportFormat.XLSX);
+        ReportJobResponseDto second = reportJobService.submit(filter(List.of("Spring", "Java")), ReportFormat.XLSX);
+
+        assertThat(second.getJobId()).isEqualTo(first.getJobId());
+
+        generationAllowed.countDown();
+        await().atMost(5, TimeUnit.SECONDS)
+                .until(() -> reportJobService.getJob(first.getJobId()).getStatus() == ReportJobStatus.DONE);
+        verify(vacancyService, times(1)).generateReport(any(), any(), any());
+    }
+
+    @Test
+    void submit_shouldStartNewJob_whenIdenticalReportIsDone() {
+        ReportJobResponseDto first = reportJobService.submit(filter(List.of("Java")), ReportFormat.XLSX);
+        generationAllowed.countDown();
+        await().atMost(5, TimeUnit.SECONDS)
+                .until(() -> reportJobService.getJob(first.getJobId()).getStatus() == ReportJobStatus.DONE);
+
+        ReportJobResponseDto second = reportJobService.submit(filter(List.of("Java")), ReportFormat.XLSX);
+
+        assertThat(second.getJobId()).isNotEqualTo(first.getJobId());
+        await().atMost(5, TimeUnit.SECONDS)
+                .until(() -> reportJobService.getJob(second.getJobId()).getStatus() == ReportJobStatus.DONE);
+        verify(vacancyService, times(2)).generateReport(any(), any(), any());
+        assertThat(reportJobService.getJob(first.getJobId()).getStatus()).isEqualTo(ReportJobStatus.DONE);
+    }
+
+    @Test
+    void getReportFile_shouldReturnReport_whenJobIsDone() throws Exception {
+        ReportJobResponseDto job = reportJobService.submit(filter(List.of("Java")), ReportFormat.XLSX);
+        generationAllowed.countDown();
+        await().atMost(5, TimeUnit.SECONDS)
+                .until(() -> reportJobService.getJob(job.getJobId()).getStatus() == ReportJobStatus.DONE);
+
+        ReportFile reportFile = reportJobService.getReportFile(job.getJobId());
+
+        assertThat(reportFile.fileName()).endsWith(".xlsx");
+        assertThat(reportFile.resource().getContentAsString(StandardCharsets.UTF_8)).isEqualTo("report");
+        assertThat(reportJobService.getJob(job.getJobId()).getDownloadUrl()).endsWith(job.getJobId() + "/file");
+    }
+
+    @Test
+    void removeExpiredJobs_shouldDeleteJobAndReport_whenTtlHasPassed() throws Exception {
+        ReflectionTestUtils.setField(reportJobService, "ttl", Duration.ZERO);
+        ReportJobResponseDto job = reportJobService.submit(filter(List.of("Java")), ReportFormat.XLSX);
+        generationAllowed.countDown();
+        await().atMost(5, TimeUnit.SECONDS)
+                .until(() -> reportJobService.getJob(job.getJobId()).getStatus() == ReportJobStatus.DONE);
+
+        reportJobService.removeExpiredJobs();
+
+        assertThatThrownBy(() -> reportJobService.getJob(job.getJobId())).isInstanceOf(NotFoundException.class);
+        try (var files = Files.list(spoolDir)) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    private static VacancyFilterDto filter(List<String> technologyStack) {
+        return new VacancyFilterDto(null, null, null, null, null, technologyStack, null, null, null);
+    }
+}
@@ -0,0 +1,67 @@
+package org.prof.it.soft.service.impl;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.prof.it.soft.repo.UserRepository;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class UserRevocationServiceImplTest {
+
+    private UserRevocationServiceImpl userRevocationService;
+
+    @BeforeEach
+    void setUp() {
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.findAllLockedUsernames()).thenReturn(Set.of("blocked"));
+
+        userRevocationService = new UserRevocationServiceImpl(userRepository);
+        ReflectionTestUtils.setField(userRevocationService, "jwtExpirationInMs", 60000);
+        userRevocationService.loadLockedUsers();
+    }
+
+    @Test
+    void isRevoked_shouldRejectUsersLockedInDatabase() {
+        assertTrue(userRevocationService.isRevoked("blocked", new Date()));
+        assertFalse(userRevocationService.isRevoked("active", new Date()));
+    }
+
+    @Test
+    void isRevoked_shouldFollowLockAndUnlock() {
+        userRevocationService.lock("active");
+        assertTrue(userRevocationService.isRevoked("active", new Date()));
+
+        userRevocationService.unlock("active");
+        assertFalse(userRevocationService.isRevoked("active", new Date()));
+    }
+
+    @Test
+    void isRevoked_shouldRejectOnlyTokensIssuedBeforeRevocation() {
+        Date issuedBefore = new Date(System.currentTimeMillis() - 5000);
+        userRevocationService.revokeIssuedTokens("active");
+        Date issuedAfter = new Date(System.currentTimeMillis() + 5000);
+
+        assertTrue(userRevocationService.isRevoked("active", issuedBefore));
+        assertFalse(userRevocationService.isRevoked("active", issuedAfter));
+    }
+
+    @Test
+    void isRevoked_shouldAcceptTokenIssuedInSecondOfRevocation() {
+        Date issuedInPreviousSecond = Date.from(Instant.now().truncatedTo(ChronoUnit.SECONDS).minusSeconds(1));
+        userRevocationService.revokeIssuedTokens("active");
+        // the issue date of a token is truncated to seconds, as it is in the claims
+        Date issuedAfterLogin = Date.from(Instant.now().truncatedTo(ChronoUnit.SECONDS));
+
+        assertTrue(userRevocationService.isRevoked("active", issuedInPreviousSecond));
+        assertFalse(userRevocationService.isRevoked("active", issuedAfterLogin));
+    }
+}
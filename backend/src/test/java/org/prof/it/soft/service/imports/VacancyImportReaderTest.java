@@ -0,0 +1,102 @@
+package org.prof.it.soft.service.imports;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.prof.it.soft.dto.report.VacancyReportRow;
+import org.prof.it.soft.exception.InvalidImportFileException;
+import org.prof.it.soft.service.report.CsvVacancyReportWriter;
+import org.prof.it.soft.service.report.VacancyReportWriter;
+import org.prof.it.soft.service.report.XlsxVacancyReportWriter;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class VacancyImportReaderTest {
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void csvReader_shouldReadReportWrittenByCsvWriter() throws Exception {
+        Path file = writeReport(new CsvVacancyReportWriter(), "report.csv");
+
+        List<VacancyImportRow> rows = read(new CsvVacancyImportReader(), file);
+
+        assertReportRows(rows);
+    }
+
+    @Test
+    void xlsxReader_shouldReadReportWrittenByXlsxWriter() throws Exception {
+        Path file = writeReport(new XlsxVacancyReportWriter(), "report.xlsx");
+
+        List<VacancyImportRow> rows = read(new XlsxVacancyImportReader(), file);
+
+        assertReportRows(rows);
+    }
+
+    @Test
+    void csvReader_shouldReadQuotedLineBreaksAndSkipEmptyLines() throws Exception {
+        Path file = directory.resolve("vacancies.csv");
+        Files.writeString(file, "\uFEFFrecruiter_id,position\n\n7,\"Senior\r\n\"\"Java\"\" Developer\"\n8,Tester",
+                StandardCharsets.UTF_8);
+
+        List<VacancyImportRow> rows = read(new CsvVacancyImportReader(), file);
+
+        assertThat(rows).containsExactly(
+                new VacancyImportRow(3, "Senior\r\n\"Java\" Developer", null, null, "7"),
+                new VacancyImportRow(4, "Tester", null, null, "8"));
+    }
+
+    @Test
+    void csvReader_shouldRejectFileWithoutRequiredColumns() throws Exception {
+        Path file = directory.resolve("vacancies.csv");
+        Files.writeString(file, "Position,Salary\nJava Developer,1000\n", StandardCharsets.UTF_8);
+
+        assertThatThrownBy(() -> read(new CsvVacancyImportReader(), file))
+                .isInstanceOf(InvalidImportFileException.class)
+                .hasMessageContaining("Recruiter_id");
+    }
+
+    @Test
+    void xlsxReader_shouldRejectFileWhichIsNotWorkbook() throws Exception {
+        Path file = directory.resolve("vacancies.xlsx");
+        Files.writeString(file, "Position,Recruiter_id\n", StandardCharsets.UTF_8);
+
+        assertThatThrownBy(() -> read(new XlsxVacancyImportReader(), file))
+                .isInstanceOf(InvalidImportFileException.class);
+    }
+
+    private Path writeReport(VacancyReportWriter writer, String fileName) throws Exception {
+        Path file = directory.resolve(fileName);
+        try (OutputStream outputStream = Files.newOutputStream(file)) {
+            writer.write(Stream.of(
+                    new VacancyReportRow(1L, "Java Developer", 1500.5f, List.of("Java", "Spring"),
+                            LocalDateTime.of(2024, 7, 1, 12, 0), 7L, "Google, Inc.", "Anna", "O\"Neil"),
+                    new VacancyReportRow(2L, "Tester", null, List.of(),
+                            LocalDateTime.of(2024, 7, 2, 12, 0), 8L, "Apple", "Ivan", "Petrov")
+            ), outputStream);
+        }
+        return file;
+    }
+
+    private void assertReportRows(List<VacancyImportRow> rows) {
+        assertThat(rows).containsExactly(
+                new VacancyImportRow(2, "Java Developer", "1500.5", "Java, Spring", "7"),
+                new VacancyImportRow(3, "Tester", null, null, "8"));
+    }
+
+    private List<VacancyImportRow> read(VacancyImportReader reader, Path file) throws Exception {
+        List<VacancyImportRow> rows = new ArrayList<>();
+        reader.read(file, rows::add);
+        return rows;
+    }
+}
@@ -0,0 +1,65 @@
+package org.prof.it.soft.service.report;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.prof.it.soft.dto.report.VacancyReportRow;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VacancyReportWriterTest {
+
+    @Test
+    void csvWriter_shouldQuoteFieldsWithSeparatorsAndQuotes() throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        new CsvVacancyReportWriter().write(Stream.of(row(1L, null), row(2L, 1500.5f)), outputStream);
+
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertThat(lines).hasSize(3);
+        assertThat(lines[0]).isEqualTo(String.join(",", VacancyReportWriter.COLUMNS));
+        assertThat(lines[1]).isEqualTo("1,Java Developer,,\"Java, Spring\",\"Google, Inc.\",2024-07-01T12:00,7,Anna,\"O\"\"Neil\",\"Google, Inc.\"");
+        assertThat(lines[2]).startsWith("2,Java Developer,1500.5,");
+    }
+
+    @Test
+    void ndjsonWriter_shouldWriteOneObjectPerLine() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        new NdjsonVacancyReportWriter(objectMapper).write(Stream.of(row(1L, 1000f), row(2L, null)), outputStream);
+
+        String content = outputStream.toString(StandardCharsets.UTF_8);
+        assertThat(content).endsWith("\n");
+        String[] lines = content.split("\n");
+        assertThat(lines).hasSize(2);
+
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertThat(first.get("vacancy_id").asLong()).isEqualTo(1L);
+        assertThat(first.get("salary").asDouble()).isEqualTo(1000.0);
+        assertThat(first.get("technology_stack")).hasSize(2);
+        assertThat(first.get("company_name").asText()).isEqualTo("Google, Inc.");
+        assertThat(first.get("recruiter_last_name").asText()).isEqualTo("O\"Neil");
+        assertThat(objectMapper.readTree(lines[1]).has("salary")).isFalse();
+    }
+
+    @Test
+    void fromAcceptHeader_shouldSelectFormatByQuality() {
+        assertThat(ReportFormat.fromAcceptHeader(null)).isEqualTo(ReportFormat.XLSX);
+        assertThat(ReportFormat.fromAcceptHeader("application/json, text/plain, */*")).isEqualTo(ReportFormat.XLSX);
+        assertThat(ReportFormat.fromAcceptHeader("text/csv")).isEqualTo(ReportFormat.CSV);
+        assertThat(ReportFormat.fromAcceptHeader("text/csv;q=0.5, application/x-ndjson")).isEqualTo(ReportFormat.NDJSON);
+        assertThat(ReportFormat.fromAcceptHeader("application/octet-stream")).isEqualTo(ReportFormat.XLSX);
+    }
+
+    private VacancyReportRow row(Long id, Float salary) {
+        return new VacancyReportRow(id, "Java Developer", salary, List.of("Java", "Spring"),
+                LocalDateTime.of(2024, 7, 1, 12, 0), 7L, "Google, Inc.", "Anna", "O\"Neil");
+    }
+}
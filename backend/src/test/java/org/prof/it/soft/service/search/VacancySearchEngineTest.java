@@ -0,0 +1,246 @@
+package org.prof.it.soft.service.search;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.prof.it.soft.dto.filter.VacancyFilterDto;
+import org.prof.it.soft.dto.response.VacancyFacetsDto;
+import org.prof.it.soft.dto.response.VacancyPageResponseDto;
+import org.prof.it.soft.dto.response.VacancyResponseDto;
+import org.prof.it.soft.entity.Recruiter;
+import org.prof.it.soft.entity.Vacancy;
+import org.prof.it.soft.mapper.PersonMapper;
+import org.prof.it.soft.mapper.RecruiterMapper;
+import org.prof.it.soft.mapper.VacancyMapper;
+import org.prof.it.soft.repo.VacancyRepository;
+import org.prof.it.soft.spec.VacancyCursor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+class VacancySearchEngineTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 5, 1, 12, 0);
+
+    private final Map<Long, Vacancy> database = new LinkedHashMap<>();
+    private VacancyRepository vacancyRepository;
+    private VacancySearchEngine vacancySearchEngine;
+
+    @BeforeEach
+    void setUp() {
+        Recruiter google = recruiter(1L, "Google");
+        Recruiter amazon = recruiter(2L, "Amazon");
+
+        store(vacancy(1L, "Java Developer", 1000f, List.of("Java", "Spring"), NOW.minusDays(3), google));
+        store(vacancy(2L, "Java Developer", null, List.of("Java"), NOW.minusDays(2), amazon));
+        store(vacancy(3L, "Python Developer", 2000f, List.of("Python", "Django"), NOW.minusDays(1), google));
+        store(vacancy(4L, "Java Developer", 3000f, List.of("Java", "Spring", "Kafka"), NOW, amazon));
+
+        vacancyRepository = mock(VacancyRepository.class);
+        when(vacancyRepository.findIds(any(), any(Pageable.class)))
+                .thenAnswer(invocation -> new ArrayList<>(database.keySet()));
+        when(vacancyRepository.findAllWithRecruiterAndTechnologyStackByIdIn(anyCollection()))
+                .thenAnswer(invocation -> invocation.<Collection<Long>>getArgument(0).stream()
+                        .map(database::get)
+                        .filter(vacancy -> vacancy != null)
+                        .toList());
+
+        VacancyFacetCounter vacancyFacetCounter = new VacancyFacetCounter(vacancyRepository);
+        ReflectionTestUtils.setField(vacancyFacetCounter, "salaryBucketWidth", 1000f);
+        ReflectionTestUtils.setField(vacancyFacetCounter, "maxValues", 2);
+
+        vacancySearchEngine = new VacancySearchEngine(vacancyRepository, vacancyFacetCounter,
+                new VacancyMapper(new RecruiterMapper(new PersonMapper())), mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(vacancySearchEngine, "enabled", true);
+        vacancySearchEngine.rebuild();
+    }
+
+    @AfterEach
+    void tearDown() {
+        vacancySearchEngine.shutdown();
+    }
+
+    @Test
+    void supports_shouldReturnFalse_whenFilterHasSearchQueryOrIndexIsDisabled() {
+        assertThat(vacancySearchEngine.supports(filter(null, null, null, null, null, null))).isTrue();
+        assertThat(vacancySearchEngine.supports(new VacancyFilterDto(null, null, null, null, null, null, null, null, "java")))
+                .isFalse();
+
+        ReflectionTestUtils.setField(vacancySearchEngine, "enabled", false);
+        assertThat(vacancySearchEngine.supports(filter(null, null, null, null, null, null))).isFalse();
+    }
+
+    @Test
+    void search_shouldIntersectPostingsAndColumns() {
+        assertThat(ids(filter("Java Developer", null, null, null, null, List.of("Java")))).containsExactly(1L, 2L, 4L);
+        assertThat(ids(filter(null, null, null, null, "Google", List.of("Spring")))).containsExactly(1L);
+        assertThat(ids(filter(null, 1500f, null, null, null, List.of("Java")))).containsExactly(4L);
+        assertThat(ids(filter(null, null, 2500f, null, null, null))).containsExactly(1L, 3L);
+        assertThat(ids(filter(null, null, null, 2L, null, null))).containsExactly(2L, 4L);
+        assertThat(ids(new VacancyFilterDto(null, null, null, null, null, null, NOW.minusDays(2), NOW.minusDays(1), null)))
+                .containsExactly(2L, 3L);
+        assertThat(ids(filter(null, null, null, null, null, List.of("Java", "Rust")))).isEmpty();
+        assertThat(ids(filter(null, null, null, null, "Microsoft", null))).isEmpty();
+    }
+
+    @Test
+    void search_shouldReturnPageWithExactTotal() {
+        VacancyPageResponseDto page = vacancySearchEngine.search(filter(null, null, null, null, null, null),
+                PageRequest.of(1, 3));
+
+        assertThat(page.getContent()).extracting(VacancyResponseDto::getId).containsExactly(4L);
+        assertThat(page.getContent().get(0).getRecruiter().getCompanyName()).isEqualTo("Amazon");
+        assertThat(page.getContent().get(0).getTechnologyStack()).containsExactly("Java", "Spring", "Kafka");
+        assertThat(page.getTotalElements()).isEqualTo(4);
+        assertThat(page.isTotalExact()).isTrue();
+    }
+
+    @Test
+    void search_shouldCountFacetsOfAllMatchingVacancies_whenFacetsAreRequested() {
+        VacancyFilterDto filter = filter(null, null, null, null, null, List.of("Java"));
+        filter.setFacets(true);
+
+        VacancyFacetsDto facets = vacancySearchEngine.search(filter, PageRequest.of(0, 1)).getFacets();
+
+        assertThat(facets.getTechnologyStack()).containsExactly(Map.entry("Java", 3L), Map.entry("Spring", 2L));
+        assertThat(facets.getCompanyName()).containsExactly(Map.entry("Amazon", 2L), Map.entry("Google", 1L));
+        assertThat(facets.getSalary()).containsExactly(
+                new VacancyFacetsDto.Bucket<>(1000f, 2000f, 1L),
+                new VacancyFacetsDto.Bucket<>(3000f, 4000f, 1L));
+        assertThat(facets.getCreatedAt()).containsExactly(
+                new VacancyFacetsDto.Bucket<>(LocalDate.of(2024, 4, 1), LocalDate.of(2024, 5, 1), 2L),
+                new VacancyFacetsDto.Bucket<>(LocalDate.of(2024, 5, 1), LocalDate.of(2024, 6, 1), 1L));
+    }
+
+    @Test
+    void search_shouldNotCountFacets_whenFacetsAreNotRequested() {
+        assertThat(vacancySearchEngine.search(filter(null, null, null, null, null, null), PageRequest.of(0, 10)).getFacets())
+                .isNull();
+    }
+
+    @Test
+    void search_shouldReturnCopies_whenVacanciesAreMarkedByCaller() {
+        VacancyFilterDto filter = filter(null, null, null, null, null, null);
+
+        vacancySearchEngine.search(filter, PageRequest.of(0, 10)).getContent()
+                .forEach(vacancy -> vacancy.setIsAppliedByCurrentUser(true));
+
+        assertThat(vacancySearchEngine.search(filter, PageRequest.of(0, 10)).getContent())
+                .extracting(VacancyResponseDto::getIsAppliedByCurrentUser)
+                .containsOnlyNulls();
+    }
+
+    @Test
+    void slice_shouldStartAfterCursor() {
+        VacancyFilterDto filter = filter("Java Developer", null, null, null, null, null);
+        filter.setAfter(VacancyCursor.encode(1L));
+
+        assertThat(vacancySearchEngine.slice(filter, 10)).extracting(VacancyResponseDto::getId).containsExactly(2L, 4L);
+    }
+
+    @Test
+    void vacancyChanged_shouldApplySavedUpdatedAndDeletedVacancies() {
+        VacancyFilterDto filter = filter(null, null, null, null, null, List.of("Kafka"));
+
+        store(vacancy(5L, "Data Engineer", 2500f, List.of("Kafka"), NOW, recruiter(2L, "Amazon")));
+        vacancySearchEngine.vacancyChanged(5L);
+        await().atMost(5, TimeUnit.SECONDS).untilAsserted(() -> assertThat(ids(filter)).containsExactly(4L, 5L));
+
+        store(vacancy(4L, "Java Developer", 3000f, List.of("Java"), NOW, recruiter(2L, "Amazon")));
+        vacancySearchEngine.vacancyChanged(4L);
+        await().atMost(5, TimeUnit.SECONDS).untilAsserted(() -> assertThat(ids(filter)).containsExactly(5L));
+
+        database.remove(5L);
+        vacancySearchEngine.vacancyDeleted(5L);
+        await().atMost(5, TimeUnit.SECONDS).untilAsserted(() -> assertThat(ids(filter)).isEmpty());
+        verify(vacancyRepository, times(1)).findIds(any(), any(Pageable.class));
+    }
+
+    @Test
+    void vacancyChanged_shouldNotWaitForIndexAndReadChangesMadeMeanwhileTogether() throws Exception {
+        VacancyFilterDto filter = filter(null, null, null, null, null, List.of("Kafka"));
+        CountDownLatch readStarted = new CountDownLatch(1);
+        CountDownLatch readAllowed = new CountDownLatch(1);
+        store(vacancy(5L, "Data Engineer", 2500f, List.of("Kafka"), NOW, recruiter(2L, "Amazon")));
+        when(vacancyRepository.findAllWithRecruiterAndTechnologyStackByIdIn(List.of(5L)))
+                .thenAnswer(invocation -> {
+                    Vacancy vacancy = database.get(5L);
+                    readStarted.countDown();
+                    readAllowed.await(5, TimeUnit.SECONDS);
+                    return List.of(vacancy);
+                });
+
+        vacancySearchEngine.vacancyChanged(5L);
+        assertThat(readStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // the worker is reading the vacancy, neither the writers nor the searches wait for it
+        database.remove(4L);
+        database.remove(5L);
+        vacancySearchEngine.vacancyDeleted(4L);
+        vacancySearchEngine.vacancyDeleted(5L);
+        assertThat(ids(filter)).containsExactly(4L);
+
+        // the vacancy read before its deletion is read again together with the other deletion
+        readAllowed.countDown();
+        await().atMost(5, TimeUnit.SECONDS).untilAsserted(() -> assertThat(ids(filter)).isEmpty());
+        verify(vacancyRepository).findAllWithRecruiterAndTechnologyStackByIdIn(
+                argThat((Collection<Long> ids) -> ids.size() == 2 && ids.containsAll(List.of(4L, 5L))));
+    }
+
+    private List<Long> ids(VacancyFilterDto filter) {
+        return vacancySearchEngine.search(filter, PageRequest.of(0, 10)).getContent().stream()
+                .map(VacancyResponseDto::getId)
+                .toList();
+    }
+
+    private void store(Vacancy vacancy) {
+        database.put(vacancy.getId(), vacancy);
+    }
+
+    private static VacancyFilterDto filter(String position, Float minSalary, Float maxSalary, Long recruiterId,
+                                           String companyName, List<String> technologyStack) {
+        return new VacancyFilterDto(recruiterId, position, minSalary, maxSalary, companyName, technologyStack,
+                null, null, null);
+    }
+
+    private static Recruiter recruiter(Long id, String companyName) {
+        Recruiter recruiter = Recruiter.builder()
+                .companyName(companyName)
+                .firstName("Anna")
+                .lastName("Petrov")
+                .build();
+        recruiter.setId(id);
+        return recruiter;
+    }
+
+    private static Vacancy vacancy(Long id, String position, Float salary, List<String> technologyStack,
+                                   LocalDateTime createdAt, Recruiter recruiter) {
+        return Vacancy.builder()
+                .id(id)
+                .position(position)
+                .salary(salary)
+                .technologyStack(new ArrayList<>(technologyStack))
+                .createdAt(createdAt)
+                .updatedAt(createdAt)
+                .recruiter(recruiter)
+                .build();
+    }
+}